@@ -0,0 +1,61 @@
+package depotlifecycle.benchmarks;
+
+import depotlifecycle.domain.Estimate;
+import depotlifecycle.domain.EstimateLineItem;
+import depotlifecycle.services.EstimateAllocationCalculator;
+import depotlifecycle.services.EstimateTotals;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EstimateTotalsBenchmark {
+    @Param({"10", "200"})
+    int lineItems;
+
+    private Estimate estimate;
+    private EstimateLineItem lineItem;
+    private EstimateAllocationCalculator calculator;
+
+    @Setup
+    public void setup() {
+        estimate = Fixtures.estimate(lineItems);
+        lineItem = estimate.getLineItems().get(0);
+        calculator = new EstimateAllocationCalculator(BigDecimal.ZERO);
+    }
+
+    @Benchmark
+    public BigDecimal lineItemTotal() {
+        return lineItem.getTotal();
+    }
+
+    @Benchmark
+    public BigDecimal partyTotal() {
+        return estimate.getPartyTotal("O");
+    }
+
+    //the three party totals the estimate controller computes for every allocation
+    @Benchmark
+    public void allocationTotals(Blackhole blackhole) {
+        blackhole.consume(estimate.getPartyTotal("O"));
+        blackhole.consume(estimate.getPartyTotal("I"));
+        blackhole.consume(estimate.getPartyTotal("U"));
+    }
+
+    //the same totals from a single walk of the line items
+    @Benchmark
+    public EstimateTotals calculatorTotals() {
+        return calculator.calculate(estimate);
+    }
+}
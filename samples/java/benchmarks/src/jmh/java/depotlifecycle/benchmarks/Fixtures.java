@@ -0,0 +1,197 @@
+package depotlifecycle.benchmarks;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import depotlifecycle.domain.Estimate;
+import depotlifecycle.domain.EstimateLineItem;
+import depotlifecycle.domain.EstimateLineItemPart;
+import depotlifecycle.domain.InsuranceCoverage;
+import depotlifecycle.domain.Party;
+import depotlifecycle.domain.Redelivery;
+import depotlifecycle.domain.RedeliveryDetail;
+import depotlifecycle.domain.RedeliveryUnit;
+import depotlifecycle.domain.Release;
+import depotlifecycle.domain.ReleaseDetail;
+import depotlifecycle.domain.ReleaseUnit;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.convert.DefaultConversionService;
+import io.micronaut.jackson.JacksonConfiguration;
+import io.micronaut.jackson.ObjectMapperFactory;
+import io.micronaut.jackson.databind.convert.JacksonConverterRegistrar;
+import io.micronaut.jackson.modules.BeanIntrospectionModule;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Map;
+
+//domain graphs shaped like the example data the application seeds, and an object mapper configured as the jackson block of
+//application.yml configures it; keep the two in step
+final class Fixtures {
+    private static final String[] PARTIES = {"O", "U", "I"};
+
+    private Fixtures() {
+    }
+
+    //built through the same factory as the application's mapper; starting the application context would also start the database
+    static ObjectMapper objectMapper() {
+        JacksonConfiguration configuration = new JacksonConfiguration();
+        configuration.setBeanIntrospectionModule(true);
+        configuration.setAlwaysSerializeErrorsAsList(false);
+        configuration.setSerialization(Map.of(
+            SerializationFeature.INDENT_OUTPUT, false,
+            SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false,
+            SerializationFeature.WRITE_DATES_WITH_ZONE_ID, false));
+
+        ObjectMapperFactory factory = new ObjectMapperFactory() {
+            {
+                jacksonModules = new Module[]{new BeanIntrospectionModule()};
+            }
+        };
+        return factory.objectMapper(configuration, null);
+    }
+
+    //converts to and from JsonNode with the given mapper, as the application's conversion service does
+    static ConversionService<?> conversionService(ObjectMapper objectMapper) {
+        DefaultConversionService conversionService = new DefaultConversionService();
+        new JacksonConverterRegistrar(() -> objectMapper, conversionService) {
+        }.register(conversionService);
+        return conversionService;
+    }
+
+    static Party party(String companyId, String code, String name) {
+        Party party = new Party();
+        party.setCompanyId(companyId);
+        party.setUserCode("JDOE");
+        party.setUserName("John Doe");
+        party.setCode(code);
+        party.setName(name);
+        return party;
+    }
+
+    static Estimate estimate(int lineItems) {
+        Estimate estimate = new Estimate();
+        estimate.setEstimateNumber("DEHAMCE1856373");
+        estimate.setUnitNumber("CONU1234561");
+        estimate.setCondition("D");
+        estimate.setEstimateTime(ZonedDateTime.of(2019, 4, 10, 19, 37, 4, 0, ZoneId.systemDefault()));
+        estimate.setDepot(party("DEHAMCMRA", "HAMG", "Depot Operator #1"));
+        estimate.setCustomer(party("GBLONCUST", "EXCUST", "Example Customer"));
+        estimate.setOwner(party("USSFOEXAM", "EXAM", "Example Lessor Name"));
+        estimate.setCurrency("EUR");
+        estimate.setRevision(0);
+
+        for (int i = 0; i < lineItems; i++) {
+            EstimateLineItem lineItem = new EstimateLineItem();
+            lineItem.setLine(i + 1);
+            lineItem.setRepair("RP");
+            lineItem.setDamage("DT");
+            lineItem.setMaterial("ST");
+            lineItem.setComponent("PAA");
+            lineItem.setLocation("DB1N");
+            lineItem.setLength(40);
+            lineItem.setWidth(20);
+            lineItem.setUnitOfMeasure("CMT");
+            lineItem.setHours(new BigDecimal("1.25").add(BigDecimal.valueOf(i % 7, 2)));
+            lineItem.setMaterialCost(new BigDecimal("38.415").add(BigDecimal.valueOf(i, 1)));
+            lineItem.setLaborRate(new BigDecimal("42.50"));
+            lineItem.setParty(PARTIES[i % PARTIES.length]);
+            lineItem.setTaxRule("B");
+            lineItem.setQuantity(1);
+            lineItem.setComments("Example line item comment #" + (i + 1));
+
+            for (int p = 0; p < 3; p++) {
+                EstimateLineItemPart part = new EstimateLineItemPart();
+                part.setNumber("PN-" + i + "-" + p);
+                part.setDescription("Example part #" + (p + 1));
+                part.setQuantity(p + 1);
+                part.setPrice(new BigDecimal("12.30").add(BigDecimal.valueOf(p)));
+                lineItem.getParts().add(part);
+            }
+            estimate.getLineItems().add(lineItem);
+        }
+        return estimate;
+    }
+
+    static Release release(int units) {
+        Party depot = party("DEHAMCMRA", "HAMG", "Depot Operator #1");
+        Party customer = party("GBLONCUST", "EXCUST", "Example Customer");
+
+        Release release = new Release();
+        release.setStatus("APPROVED");
+        release.setReleaseNumber("RHAMG134512");
+        release.setType("BOOK");
+        release.setApprovalDate(ZonedDateTime.of(2019, 4, 5, 9, 0, 0, 0, ZoneId.systemDefault()));
+        release.setExpirationDate(ZonedDateTime.of(2019, 8, 5, 9, 0, 0, 0, ZoneId.systemDefault()));
+        release.setComments(Arrays.asList("an example release level comment"));
+        release.setDepot(depot);
+        release.setOwner(party("USSFOEXAM", "EXAM", "Example Lessor Name"));
+        release.setRecipient(depot);
+        release.setQuantity(units);
+
+        ReleaseDetail detail = new ReleaseDetail();
+        detail.setCustomer(customer);
+        detail.setContract("EXCUST01-100000");
+        detail.setEquipment("42G1");
+        detail.setGrade("IICL");
+        detail.setQuantity(units);
+        for (int i = 0; i < units; i++) {
+            ReleaseUnit unit = new ReleaseUnit();
+            unit.setUnitNumber(String.format("CONU%07d", i));
+            unit.setComments(Arrays.asList("Example unit comment #" + (i + 1) + "."));
+            unit.setStatus("TIED");
+            unit.setManufactureDate(LocalDate.of(2012, 1, 1));
+            detail.getUnits().add(unit);
+        }
+        release.getDetails().add(detail);
+        return release;
+    }
+
+    static Redelivery redelivery(int units) {
+        Party depot = party("DEHAMCMRA", "HAMG", "Depot Operator #1");
+        Party customer = party("GBLONCUST", "EXCUST", "Example Customer");
+
+        Redelivery redelivery = new Redelivery();
+        redelivery.setStatus("APPROVED");
+        redelivery.setRedeliveryNumber("AHAMG33141");
+        redelivery.setApprovalDate(ZonedDateTime.of(2019, 4, 5, 9, 0, 0, 0, ZoneId.systemDefault()));
+        redelivery.setExpirationDate(ZonedDateTime.of(2019, 8, 5, 9, 0, 0, 0, ZoneId.systemDefault()));
+        redelivery.setComments(Arrays.asList("an example redelivery level comment"));
+        redelivery.setDepot(depot);
+        redelivery.setRecipient(depot);
+        redelivery.setOwner(party("USSFOEXAM", "EXAM", "Example Lessor Name"));
+        redelivery.setQuantity(units);
+
+        InsuranceCoverage coverage = new InsuranceCoverage();
+        coverage.setAmountCovered(new BigDecimal("2000.00"));
+        coverage.setAmountCurrency("USD");
+        coverage.setAllOrNothing(false);
+        coverage.setExceptions(Arrays.asList("Exception #1", "Exception #2"));
+        coverage.setExclusions(Arrays.asList("Exclusion #1", "Exclusion #2"));
+        coverage.setInclusions(Arrays.asList("Inclusion #1", "Inclusion #2"));
+
+        RedeliveryDetail detail = new RedeliveryDetail();
+        detail.setCustomer(customer);
+        detail.setContract("EXCUST01-100000");
+        detail.setEquipment("22G2");
+        detail.setGrade("IICL");
+        detail.setInsuranceCoverage(coverage);
+        detail.setQuantity(units);
+        for (int i = 0; i < units; i++) {
+            RedeliveryUnit unit = new RedeliveryUnit();
+            unit.setUnitNumber(String.format("CONU%07d", i));
+            unit.setManufactureDate(LocalDate.of(2012, 1, 1));
+            unit.setLastOnHireDate(LocalDate.of(2012, 2, 1));
+            unit.setComments(Arrays.asList("Example unit comment #" + (i + 1) + "."));
+            unit.setBillingParty(depot);
+            unit.setInspectionCriteria("IICL");
+            unit.setStatus("TIED");
+            detail.getUnits().add(unit);
+        }
+        redelivery.getDetails().add(detail);
+        return redelivery;
+    }
+}
@@ -0,0 +1,77 @@
+package depotlifecycle.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import depotlifecycle.domain.Estimate;
+import depotlifecycle.domain.GateCreateRequest;
+import io.micronaut.core.convert.ConversionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+//request bodies reach the controllers as a parsed JsonNode that is then converted to the bound type; the direct reads are the baseline.
+//the controllers also used to log each body by converting it back to a JsonNode and printing that indented
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonNodeBenchmark {
+    private static final String GATE = "{\"adviceNumber\":\"AHAMG33141\",\"depot\":{\"companyId\":\"DEHAMCMRA\"},\"unitNumber\":\"CONU1234561\","
+        + "\"status\":\"A\",\"activityTime\":\"2019-04-10T19:37:04Z\",\"type\":\"IN\"}";
+
+    private ObjectMapper objectMapper;
+    private ConversionService<?> conversionService;
+    private byte[] gate;
+    private byte[] estimate;
+    private GateCreateRequest gateRequest;
+    private Estimate estimateRequest;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = Fixtures.objectMapper();
+        conversionService = Fixtures.conversionService(objectMapper);
+        gate = GATE.getBytes(StandardCharsets.UTF_8);
+        estimateRequest = Fixtures.estimate(20);
+        estimate = objectMapper.writeValueAsBytes(estimateRequest);
+        gateRequest = objectMapper.readValue(gate, GateCreateRequest.class);
+    }
+
+    @Benchmark
+    public GateCreateRequest gateThroughTree() throws IOException {
+        JsonNode node = objectMapper.readTree(gate);
+        return objectMapper.treeToValue(node, GateCreateRequest.class);
+    }
+
+    @Benchmark
+    public GateCreateRequest gateDirect() throws IOException {
+        return objectMapper.readValue(gate, GateCreateRequest.class);
+    }
+
+    @Benchmark
+    public Estimate estimateThroughTree() throws IOException {
+        JsonNode node = objectMapper.readTree(estimate);
+        return objectMapper.treeToValue(node, Estimate.class);
+    }
+
+    @Benchmark
+    public Estimate estimateDirect() throws IOException {
+        return objectMapper.readValue(estimate, Estimate.class);
+    }
+
+    @Benchmark
+    public String gateLogged() {
+        return conversionService.convert(gateRequest, JsonNode.class).map(JsonNode::toPrettyString).orElseThrow();
+    }
+
+    @Benchmark
+    public String estimateLogged() {
+        return conversionService.convert(estimateRequest, JsonNode.class).map(JsonNode::toPrettyString).orElseThrow();
+    }
+}
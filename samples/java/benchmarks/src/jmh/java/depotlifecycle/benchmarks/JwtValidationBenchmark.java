@@ -0,0 +1,63 @@
+package depotlifecycle.benchmarks;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.micronaut.security.token.jwt.signature.secret.SecretSignature;
+import io.micronaut.security.token.jwt.signature.secret.SecretSignatureConfiguration;
+import io.micronaut.security.token.jwt.validator.ExpirationJwtClaimsValidator;
+import io.micronaut.security.token.jwt.validator.JwtValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+//validates a bearer token the way every authenticated request does, with the secret and claim checks the application is configured with
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtValidationBenchmark {
+    private static final String SECRET = "pleaseChangeThisSecretForANewOne";
+
+    private JwtValidator validator;
+    private String token;
+
+    @Setup
+    public void setup() throws JOSEException {
+        SecretSignatureConfiguration configuration = new SecretSignatureConfiguration("generator");
+        configuration.setSecret(SECRET);
+        SecretSignature signature = new SecretSignature(configuration);
+
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .subject("depot")
+            .issuer("depotlifecycle")
+            .claim("roles", List.of())
+            .issueTime(Date.from(now))
+            .notBeforeTime(Date.from(now))
+            .expirationTime(Date.from(now.plus(1, ChronoUnit.DAYS)))
+            .build();
+        token = signature.sign(claims).serialize();
+
+        validator = JwtValidator.builder()
+            .withSignatures(signature)
+            .withClaimValidators(new ExpirationJwtClaimsValidator())
+            .build();
+    }
+
+    @Benchmark
+    public JWT validate() {
+        Optional<JWT> jwt = validator.validate(token, null);
+        return jwt.orElseThrow(() -> new IllegalStateException("Token did not validate"));
+    }
+}
@@ -0,0 +1,54 @@
+package depotlifecycle.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import depotlifecycle.domain.Estimate;
+import depotlifecycle.domain.Redelivery;
+import depotlifecycle.domain.Release;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+//a round trip is one response write plus one request read of the same graph
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+    @Param({"10", "200"})
+    int size;
+
+    private ObjectMapper objectMapper;
+    private Estimate estimate;
+    private Release release;
+    private Redelivery redelivery;
+
+    @Setup
+    public void setup() {
+        objectMapper = Fixtures.objectMapper();
+        estimate = Fixtures.estimate(size);
+        release = Fixtures.release(size);
+        redelivery = Fixtures.redelivery(size);
+    }
+
+    @Benchmark
+    public Estimate estimateRoundTrip() throws IOException {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(estimate), Estimate.class);
+    }
+
+    @Benchmark
+    public Release releaseRoundTrip() throws IOException {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(release), Release.class);
+    }
+
+    @Benchmark
+    public Redelivery redeliveryRoundTrip() throws IOException {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(redelivery), Redelivery.class);
+    }
+}
@@ -0,0 +1,123 @@
+package depotlifecycle.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//sends a burst of gate creates with a fixed number of concurrent clients and prints throughput and latency percentiles
+public class GateBurst {
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"access_token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final int WARMUP_REQUESTS = 1000;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final String baseUrl;
+    private final String token;
+
+    GateBurst(String baseUrl) throws Exception {
+        this.baseUrl = baseUrl;
+        this.token = login();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8086";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+
+        GateBurst burst = new GateBurst(baseUrl);
+        burst.run(concurrency, WARMUP_REQUESTS, 0);
+        burst.run(concurrency, requests, WARMUP_REQUESTS).print(concurrency);
+    }
+
+    Result run(int concurrency, int requests, int firstUnit) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        Instant start = Instant.now();
+        //virtual client threads so the client side is never the limit being measured
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                clients.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        long sent = System.nanoTime();
+                        if (!createGate(firstUnit + i)) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                });
+            }
+        }
+        Duration elapsed = Duration.between(start, Instant.now());
+
+        Arrays.sort(latencies);
+        return new Result(requests, errors.get(), elapsed, latencies);
+    }
+
+    private boolean createGate(int unit) {
+        String body = "{\"adviceNumber\":\"AHAMG33141\",\"depot\":{\"companyId\":\"DEHAMCMRA\"},\"unitNumber\":\"" + String.format("LOAD%07d", unit % 10_000_000)
+            + "\",\"status\":\"A\",\"activityTime\":\"" + Instant.now().truncatedTo(ChronoUnit.SECONDS) + "\",\"type\":\"IN\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v2/gate"))
+            .header("Authorization", "Bearer " + token)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        }
+        catch (Exception e) {
+            return false;
+        }
+    }
+
+    private String login() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"loadtest\",\"password\":\"loadtest\"}"))
+            .build();
+
+        String response = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = ACCESS_TOKEN.matcher(response);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed: " + response);
+        }
+        return matcher.group(1);
+    }
+
+    static class Result {
+        final int requests;
+        final int errors;
+        final Duration elapsed;
+        final long[] sortedLatencies;
+
+        Result(int requests, int errors, Duration elapsed, long[] sortedLatencies) {
+            this.requests = requests;
+            this.errors = errors;
+            this.elapsed = elapsed;
+            this.sortedLatencies = sortedLatencies;
+        }
+
+        void print(int concurrency) {
+            System.out.printf("concurrency=%d requests=%d errors=%d elapsed=%dms throughput=%.1f/s%n",
+                concurrency, requests, errors, elapsed.toMillis(), requests * 1000.0 / Math.max(1, elapsed.toMillis()));
+            System.out.printf("latency ms p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                percentile(0.50), percentile(0.90), percentile(0.99), percentile(1.0));
+        }
+
+        private double percentile(double p) {
+            int index = (int) Math.ceil(p * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
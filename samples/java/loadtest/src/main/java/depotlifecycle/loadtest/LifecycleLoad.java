@@ -0,0 +1,260 @@
+package depotlifecycle.loadtest;
+
+import depotlifecycle.Application;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.Micronaut;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//plays whole container lifecycles at a fixed arrival rate and reports per operation latency, corrected for coordinated omission
+public class LifecycleLoad {
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"access_token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String[] USERS = {"loadtest", "validate"};
+    private static final String OWNER = "USSFOEXAM";
+    private static final String CUSTOMER = "GBLONCUST";
+    private static final int WARMUP_SECONDS = 10;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final String baseUrl;
+    private final String[] tokens = new String[USERS.length];
+    //keyed by operationId; corrected latency runs from when the step was due, service time from when it was actually sent
+    private final Map<String, Histogram> corrected = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> serviceTime = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> errors = new ConcurrentHashMap<>();
+    private final AtomicInteger failedLifecycles = new AtomicInteger();
+
+    LifecycleLoad(String baseUrl) throws Exception {
+        this.baseUrl = baseUrl;
+        for (int i = 0; i < USERS.length; i++) {
+            tokens[i] = login(USERS[i]);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        double rate = args.length > 0 ? Double.parseDouble(args[0]) : 20;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        int depots = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        String url = args.length > 3 ? args[3] : null;
+
+        //without a url the application is booted in process against its in memory h2 database
+        ApplicationContext context = null;
+        if (url == null) {
+            context = Micronaut.build(args).mainClass(Application.class).properties(Map.of("micronaut.server.port", -1)).start();
+            url = context.getBean(EmbeddedServer.class).getURL().toString();
+        }
+
+        try {
+            LifecycleLoad load = new LifecycleLoad(url);
+            load.run(rate, WARMUP_SECONDS, depots);
+            load.reset();
+            load.run(rate, seconds, depots);
+            load.report(rate, seconds, depots, new File("build/lifecycle"));
+        }
+        finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    void run(double rate, int seconds, int depots) throws InterruptedException {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        int lifecycles = (int) (rate * seconds);
+        String run = Long.toString(System.currentTimeMillis() % 1_000_000_000, 36).toUpperCase();
+
+        long start = System.nanoTime();
+        try (ExecutorService lifecycleThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int n = 0; n < lifecycles; n++) {
+                //arrivals keep their schedule however slow the server gets; a late start is charged to the first step
+                long due = start + n * interval;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Lifecycle lifecycle = new Lifecycle(run, n, String.format("DEPOT%04d", n % depots), tokens[n % tokens.length]);
+                lifecycleThreads.submit(() -> lifecycle.play(due));
+            }
+        }
+    }
+
+    void reset() {
+        corrected.clear();
+        serviceTime.clear();
+        errors.clear();
+        failedLifecycles.set(0);
+    }
+
+    void report(double rate, int seconds, int depots, File histogramDirectory) throws IOException {
+        System.out.printf("rate=%.1f/s duration=%ds depots=%d users=%s failedLifecycles=%d%n", rate, seconds, depots, String.join(",", USERS), failedLifecycles.get());
+        System.out.printf("%-20s %8s %7s %10s %10s %10s %10s %10s   %s%n", "operationId", "count", "errors", "p50", "p90", "p99", "p99.9", "max", "service p99 (ms)");
+
+        histogramDirectory.mkdirs();
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(corrected).entrySet()) {
+            String operationId = entry.getKey();
+            Histogram histogram = entry.getValue();
+            System.out.printf("%-20s %8d %7d %10.1f %10.1f %10.1f %10.1f %10.1f   %.1f%n", operationId, histogram.getTotalCount(), errors.get(operationId).get(),
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / 1_000_000.0,
+                millis(serviceTime.get(operationId), 99));
+
+            //full distributions in the hgrm format for plotting
+            try (PrintStream out = new PrintStream(new FileOutputStream(new File(histogramDirectory, operationId + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    private boolean send(String operationId, String method, String path, String body, String token, long due) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Authorization", "Bearer " + token)
+            .header("Content-Type", "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofString(body));
+
+        long sent = System.nanoTime();
+        boolean ok;
+        try {
+            ok = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        }
+        catch (Exception e) {
+            ok = false;
+        }
+        long done = System.nanoTime();
+
+        corrected.computeIfAbsent(operationId, id -> new ConcurrentHistogram(3)).recordValue(done - due);
+        serviceTime.computeIfAbsent(operationId, id -> new ConcurrentHistogram(3)).recordValue(done - sent);
+        AtomicInteger operationErrors = errors.computeIfAbsent(operationId, id -> new AtomicInteger());
+        if (!ok) {
+            operationErrors.incrementAndGet();
+        }
+        return ok;
+    }
+
+    private String login(String user) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + user + "\",\"password\":\"" + user + "\"}"))
+            .build();
+
+        String response = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = ACCESS_TOKEN.matcher(response);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed: " + response);
+        }
+        return matcher.group(1);
+    }
+
+    private class Lifecycle {
+        private final String depot;
+        private final String token;
+        private final String unitNumber;
+        private final String releaseNumber;
+        private final String redeliveryNumber;
+        private final String estimateNumber;
+        private final String workOrderNumber;
+
+        Lifecycle(String run, int n, String depot, String token) {
+            this.depot = depot;
+            this.token = token;
+            //every lifecycle has its own unit and advice numbers so the validate user never trips over an earlier one
+            String id = run + String.format("%07d", n);
+            this.unitNumber = String.format("LCYC%07d", n % 10_000_000);
+            this.releaseNumber = "R" + id;
+            this.redeliveryNumber = "A" + id;
+            this.estimateNumber = "E" + id;
+            this.workOrderNumber = "W" + id;
+        }
+
+        //each step is due as soon as the one before it finished; a failed step ends the lifecycle
+        void play(long due) {
+            String now = Instant.now().truncatedTo(ChronoUnit.SECONDS).toString();
+            boolean ok = send("saveRelease", "POST", "/api/v2/release", release(now), token, due)
+                && send("saveGate", "POST", "/api/v2/gate", gate(releaseNumber, "OUT", now), token, System.nanoTime())
+                && send("saveRedelivery", "POST", "/api/v2/redelivery", redelivery(now), token, System.nanoTime())
+                && send("saveGate", "POST", "/api/v2/gate", gate(redeliveryNumber, "IN", now), token, System.nanoTime())
+                && send("saveEstimate", "POST", "/api/v2/estimate", estimate(now), token, System.nanoTime())
+                && send("updateTotals", "PATCH", "/api/v2/estimate/" + estimateNumber, allocation(), token, System.nanoTime())
+                && send("saveWorkOrder", "POST", "/api/v2/workOrder", workOrder(now), token, System.nanoTime())
+                && send("updateWorkOrderUnit", "PUT", "/api/v2/workOrderUnit/" + workOrderNumber, repairComplete(now), token, System.nanoTime());
+            if (!ok) {
+                failedLifecycles.incrementAndGet();
+            }
+        }
+
+        private String release(String now) {
+            return """
+                {"releaseNumber":"%s","type":"BOOK","status":"APPROVED","approvalDate":"%s","depot":{"companyId":"%s"},"owner":{"companyId":"%s"},"recipient":{"companyId":"%s"},"quantity":1,
+                "details":[{"customer":{"companyId":"%s"},"contract":"EXCUST01-100000","equipment":"22G1","grade":"IICL","quantity":1,"units":[{"unitNumber":"%s","status":"TIED"}]}]}"""
+                .formatted(releaseNumber, now, depot, OWNER, depot, CUSTOMER, unitNumber);
+        }
+
+        private String gate(String adviceNumber, String type, String now) {
+            return """
+                {"adviceNumber":"%s","depot":{"companyId":"%s"},"unitNumber":"%s","status":"A","activityTime":"%s","type":"%s"}"""
+                .formatted(adviceNumber, depot, unitNumber, now, type);
+        }
+
+        private String redelivery(String now) {
+            return """
+                {"redeliveryNumber":"%s","status":"APPROVED","approvalDate":"%s","depot":{"companyId":"%s"},"owner":{"companyId":"%s"},"recipient":{"companyId":"%s"},"quantity":1,
+                "details":[{"customer":{"companyId":"%s"},"contract":"EXCUST01-100000","equipment":"22G1","quantity":1,
+                "units":[{"unitNumber":"%s","manufactureDate":"2012-01-01","billingParty":{"companyId":"%s"},"inspectionCriteria":"IICL","status":"TIED"}]}]}"""
+                .formatted(redeliveryNumber, now, depot, OWNER, depot, CUSTOMER, unitNumber, depot);
+        }
+
+        private String estimate(String now) {
+            return """
+                {"estimateNumber":"%s","unitNumber":"%s","condition":"D","estimateTime":"%s","depot":{"companyId":"%s"},"owner":{"companyId":"%s"},"customer":{"companyId":"%s"},
+                "currency":"EUR","total":171.50,"revision":0,"lineItems":[
+                {"line":1,"repair":"RP","damage":"DT","material":"ST","component":"PAA","location":"DB1N","hours":1.25,"materialCost":38.50,"laborRate":42.50,"party":"O","quantity":1,
+                "parts":[{"number":"PN-1","description":"Example part","quantity":1,"price":12.30}]},
+                {"line":2,"repair":"SN","damage":"CU","material":"ST","component":"DHL","location":"DH1N","hours":0.50,"materialCost":20.00,"laborRate":42.50,"party":"U","quantity":1}]}"""
+                .formatted(estimateNumber, unitNumber, now, depot, OWNER, CUSTOMER);
+        }
+
+        private String allocation() {
+            return """
+                {"estimateNumber":"%s","revision":0,"depot":{"companyId":"%s"},"total":171.50,"ownerTotal":91.63,"customerTotal":41.25,"insuranceTotal":0,"ctl":false}"""
+                .formatted(estimateNumber, depot);
+        }
+
+        private String workOrder(String now) {
+            return """
+                {"workOrderNumber":"%s","depot":{"companyId":"%s"},"owner":{"companyId":"%s"},"type":"REPAIR","approvalDate":"%s","approvalTotal":171.50,"approvalCurrency":"EUR",
+                "lineItems":[{"estimateNumber":"%s","unitNumber":"%s","effectiveInspectionCriteria":"IICL","status":"TIED"}]}"""
+                .formatted(workOrderNumber, depot, OWNER, now, estimateNumber, unitNumber);
+        }
+
+        private String repairComplete(String now) {
+            return """
+                {"workOrderNumber":"%s","depot":{"companyId":"%s"},"completionDate":"%s","unitNumber":"%s"}"""
+                .formatted(workOrderNumber, depot, now, unitNumber);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import depotlifecycle.domain.ReleaseUnit;
 import depotlifecycle.repositories.PartyRepository;
 import depotlifecycle.repositories.RedeliveryRepository;
 import depotlifecycle.repositories.ReleaseRepository;
+import depotlifecycle.services.RedeliveryUnitIndex;
 import io.micronaut.context.event.StartupEvent;
 import io.micronaut.runtime.Micronaut;
 import io.micronaut.runtime.event.annotation.EventListener;
@@ -234,6 +235,7 @@ public class Application {
     private final RedeliveryRepository redeliveryRepository;
     private final ReleaseRepository releaseRepository;
     private final PartyRepository partyRepository;
+    private final RedeliveryUnitIndex redeliveryUnitIndex;
 
     public static void main(String[] args) {
         Micronaut.run(Application.class);
@@ -386,7 +388,7 @@ public class Application {
         noInsuranceDetail.getUnits().add(unit1);
         insuranceDetail.getUnits().add(unit2);
 
-        redeliveryRepository.save(redelivery);
+        redeliveryUnitIndex.index(redeliveryRepository.save(redelivery));
     }
 
     private static ZonedDateTime getLocal(LocalDateTime date) {
@@ -0,0 +1,54 @@
+package depotlifecycle;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonView;
+import io.micronaut.core.annotation.Introspected;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+@Getter
+@Setter
+@JsonView
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "the identifying fields of an estimate revision as returned by an estimate search; fetch the estimate for its line items & allocation", requiredProperties = {"estimateNumber", "unitNumber", "depot", "currency", "total"})
+@Introspected
+public class EstimateSummary {
+    @JsonIgnore
+    Long id;
+
+    @Schema(description = "The identifier for this estimate", example = "DEHAMCE1856373", minLength = 1, maxLength = 16, required = true)
+    String estimateNumber;
+
+    @Schema(description = "the revision number of the estimate", type = "integer", format = "int32", example = "0", required = false)
+    Integer revision;
+
+    @Schema(description = "The current unit number of the shipping container.", pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", required = true, example = "CONU1234561", maxLength = 11)
+    String unitNumber;
+
+    @Schema(description = "an indicator on the status of the estimate and where it is in the revision process", allowableValues = {"D", "E", "F", "G", "L"}, required = false, maxLength = 1)
+    String condition;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ssXXX", timezone = "Z")
+    @Schema(description = "the date and time of the estimate revision activity in local time", type = "string", format = "date-time", required = false)
+    ZonedDateTime estimateTime;
+
+    @Schema(description = "the identifier of the depot", pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9, required = true)
+    String depot;
+
+    @Schema(description = "the identifier of the lessee", pattern = "^[A-Z0-9]{9}$", example = "SGSINONEA", maxLength = 9, required = false)
+    String customer;
+
+    @Schema(description = "the currency of amounts entered on this estimate", required = true, example = "EUR", pattern = "^[A-Z]{3}$", maxLength = 3)
+    String currency;
+
+    @Schema(description = "the sum of billed line items for this estimate", required = true, type = "number", format = "double", example = "544.95")
+    BigDecimal total;
+}
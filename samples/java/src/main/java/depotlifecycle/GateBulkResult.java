@@ -0,0 +1,28 @@
+package depotlifecycle;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import io.micronaut.core.annotation.Introspected;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonView
+@NoArgsConstructor
+@Schema(description = "the outcome of one gate in a bulk gate request; exactly one of `gate` or `error` is present")
+@Introspected
+public class GateBulkResult {
+    @Schema(description = "the zero based position of the gate in the request", required = true, example = "0")
+    int index;
+
+    @Schema(description = "the http status the gate would have received if sent on its own", required = true, example = "200")
+    int status;
+
+    @Schema(description = "the created gate record", required = false)
+    GateResponse gate;
+
+    @Schema(description = "why the gate was not created", required = false)
+    ErrorResponse error;
+}
@@ -0,0 +1,31 @@
+package depotlifecycle;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import io.micronaut.core.annotation.Introspected;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonView
+@NoArgsConstructor
+@Schema(description = "a stored photo and the url to reference it by from gate and estimate photos", requiredProperties = {"url", "sha256", "size", "contentType"})
+@Introspected
+public class PhotoUploadResponse {
+    @Schema(description = "where the photo can be downloaded; use this as the `url` of a gate or estimate photo", required = true, example = "https://depot.example.com/api/v2/photo/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08.jpg")
+    String url;
+
+    @Schema(description = "the hex encoded SHA-256 of the photo; identical photos share a hash and are stored once", required = true, example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", minLength = 64, maxLength = 64)
+    String sha256;
+
+    @Schema(description = "the size of the photo in bytes", required = true, example = "482113")
+    long size;
+
+    @Schema(description = "the image type detected from the photo's content", required = true, example = "image/jpeg")
+    String contentType;
+
+    @Schema(description = "true when an identical photo was already stored", required = false, example = "false")
+    boolean existing;
+}
@@ -1,7 +1,7 @@
 package depotlifecycle.controllers;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import depotlifecycle.ErrorResponse;
+import depotlifecycle.EstimateSummary;
 import depotlifecycle.domain.EstimateAllocation;
 import depotlifecycle.PendingResponse;
 import depotlifecycle.domain.Estimate;
@@ -10,27 +10,43 @@ import depotlifecycle.domain.EstimateCustomerApproval;
 import depotlifecycle.domain.Party;
 import depotlifecycle.domain.PreliminaryDecision;
 import depotlifecycle.domain.WorkOrder;
+import depotlifecycle.events.LifecycleEvent;
+import depotlifecycle.filters.Idempotent;
 import depotlifecycle.repositories.EstimateAllocationRepository;
 import depotlifecycle.repositories.EstimateCancelRequestRepository;
 import depotlifecycle.repositories.EstimateRepository;
-import depotlifecycle.repositories.PartyRepository;
 import depotlifecycle.services.AuthenticationProviderUserPassword;
-import io.micronaut.core.convert.ConversionService;
+import depotlifecycle.services.BinaryMediaTypeCodec;
+import depotlifecycle.services.BlockingExecutorFactory;
+import depotlifecycle.services.EstimateAllocationCalculator;
+import depotlifecycle.services.EstimateSearch;
+import depotlifecycle.services.EstimateTotals;
+import depotlifecycle.services.SearchPage;
+import depotlifecycle.services.PartyCache;
+import depotlifecycle.services.PartyResolver;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpResponseFactory;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Delete;
 import io.micronaut.http.annotation.Error;
 import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Patch;
 import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.annotation.Put;
 import io.micronaut.http.annotation.QueryValue;
 import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.http.uri.UriBuilder;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.utils.SecurityService;
 import io.micronaut.validation.Validated;
@@ -50,48 +66,76 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
 @Tag(name = "estimate")
 @Validated
 @Secured("isAuthenticated()")
+@ExecuteOn(BlockingExecutorFactory.NAME)
+@Consumes({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Produces({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Idempotent
 @Controller("/api/v2/estimate")
 @RequiredArgsConstructor
 public class EstimateController {
     private static final Logger LOG = LoggerFactory.getLogger(EstimateController.class);
-    private final PartyRepository partyRepository;
+    private final PartyCache partyCache;
+    private final PartyResolver partyResolver;
     private final EstimateRepository estimateRepository;
     private final EstimateCancelRequestRepository estimateCancelRequestRepository;
     private final EstimateAllocationRepository estimateAllocationRepository;
-    private final ConversionService<?> conversionService;
+    private final EstimateSearch estimateSearch;
+    private final EstimateAllocationCalculator estimateAllocationCalculator;
     private final SecurityService securityService;
+    private final ApplicationEventPublisher<LifecycleEvent> lifecycleEventPublisher;
 
-    @Get(produces = MediaType.APPLICATION_JSON)
+    @Get
     @Operation(summary = "search for estimate(s)",
-        description = "Given search criteria, return estimates that match that criteria.  This interface is *limited* to a maximum of 10 estimates.",
+        description = "Given search criteria, return estimates that match that criteria, most recent revision first.  This interface is *limited* to a maximum of 10 estimates per page; when more exist the response carries a `Link` header with `rel=\"next\"` to fetch the following page.",
         operationId = "indexEstimate",
         extensions = @Extension(properties = { @ExtensionProperty(name = "iicl-purpose", value = "reporting", parseValue = true) })
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "successful found at least one estimate", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = Estimate.class)))}),
+        @ApiResponse(responseCode = "200", description = "successful found at least one estimate", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = EstimateSummary.class)))}),
         @ApiResponse(responseCode = "400", description = "invalid estimate search object was provided", content = {@Content(schema = @Schema(implementation = ErrorResponse.class))}),
         @ApiResponse(responseCode = "403", description = "searching for estimates is disallowed by security"),
         @ApiResponse(responseCode = "404", description = "no estimates were found"),
         @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
         @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
     })
-    public HttpResponse<HttpStatus> index(@QueryValue("estimateNumber") @Parameter(name = "estimateNumber", description = "the estimate number", in = ParameterIn.QUERY, required = false, schema = @Schema(example = "DEHAMCE1856373", maxLength = 16)) String estimateNumber,
-                                          @QueryValue("unitNumber") @Parameter(name = "unitNumber", description = "the unit number of the shipping container at the time of estimate creation", in = ParameterIn.QUERY, required = false, schema = @Schema(maxLength = 11, pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", example = "CONU1234561")) String unitNumber,
-                                          @QueryValue("depot") @Parameter(name = "depot", description = "the identifier of the depot", in = ParameterIn.QUERY, required = false, schema = @Schema(pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9)) String depot,
-                                          @QueryValue("lessee") @Parameter(name = "lessee", description = "the identifier of the lessee", in = ParameterIn.QUERY, required = false, schema = @Schema(pattern = "^[A-Z0-9]{9}$", example = "SGSINONEA", maxLength = 9)) String lessee,
-                                          @QueryValue("revision") @Parameter(name = "revision", description = "the revision number of the estimate", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "integer", format = "int32", example = "0")) Integer revision,
-                                          @QueryValue("equipmentCode") @Parameter(name = "equipmentCode", description = "the ISO equipment code of the shipping container", in = ParameterIn.QUERY, required = false, schema = @Schema(example = "22G1", maxLength = 10)) String equipmentCode
+    public HttpResponse<List<EstimateSummary>> index(HttpRequest<?> request,
+                                                     @Nullable @QueryValue("estimateNumber") @Parameter(name = "estimateNumber", description = "the estimate number", in = ParameterIn.QUERY, required = false, schema = @Schema(example = "DEHAMCE1856373", maxLength = 16)) String estimateNumber,
+                                                     @Nullable @QueryValue("unitNumber") @Parameter(name = "unitNumber", description = "the unit number of the shipping container at the time of estimate creation", in = ParameterIn.QUERY, required = false, schema = @Schema(maxLength = 11, pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", example = "CONU1234561")) String unitNumber,
+                                                     @Nullable @QueryValue("depot") @Parameter(name = "depot", description = "the identifier of the depot", in = ParameterIn.QUERY, required = false, schema = @Schema(pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9)) String depot,
+                                                     @Nullable @QueryValue("lessee") @Parameter(name = "lessee", description = "the identifier of the lessee", in = ParameterIn.QUERY, required = false, schema = @Schema(pattern = "^[A-Z0-9]{9}$", example = "SGSINONEA", maxLength = 9)) String lessee,
+                                                     @Nullable @QueryValue("revision") @Parameter(name = "revision", description = "the revision number of the estimate", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "integer", format = "int32", example = "0")) Integer revision,
+                                                     @Nullable @QueryValue("equipmentCode") @Parameter(name = "equipmentCode", description = "the ISO equipment code of the shipping container", in = ParameterIn.QUERY, required = false, schema = @Schema(example = "22G1", maxLength = 10)) String equipmentCode,
+                                                     @Nullable @QueryValue("cursor") @Parameter(name = "cursor", description = "the position to continue a search from, as given by the `Link` header of the previous page", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "integer", format = "int64")) Long cursor
     ) {
-        return HttpResponseFactory.INSTANCE.status(HttpStatus.NOT_IMPLEMENTED);
+        LOG.info("Received Estimate Search");
+
+        if (equipmentCode != null) {
+            //estimates do not record the equipment code of the shipping container
+            throw new IllegalArgumentException("Searching estimates by equipmentCode is not supported.");
+        }
+
+        SearchPage<EstimateSummary> result = estimateSearch.search(estimateNumber, unitNumber, depot, lessee, revision, cursor);
+        if (result.getItems().isEmpty()) {
+            return HttpResponse.notFound();
+        }
+
+        MutableHttpResponse<List<EstimateSummary>> response = HttpResponse.ok(result.getItems());
+        if (result.getNextCursor() != null) {
+            String next = UriBuilder.of(request.getUri()).replaceQueryParam("cursor", result.getNextCursor()).build().toString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response;
     }
 
-    @Post(produces = MediaType.APPLICATION_JSON)
+    @Post
     @Operation(summary = "create an estimate revision",
         description = "Create a damage estimate or a revision to an existing estimate that documents the type of damage and the cost of the repairs.",
         method = "POST",
@@ -110,7 +154,6 @@ public class EstimateController {
     })
     public HttpResponse<EstimateAllocation> create(@Body @RequestBody(description = "Estimate object to create a new estimate revision", required = true, content = {@Content(schema = @Schema(implementation = Estimate.class))}) Estimate estimate) {
         LOG.info("Received Estimate Create");
-        conversionService.convert(estimate, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
 
         saveParties(estimate);
 
@@ -121,10 +164,11 @@ public class EstimateController {
         allocation.setEstimateNumber(estimate.getEstimateNumber());
         allocation.setDepot(estimate.getDepot());
         allocation.setRevision(estimate.getRevision());
+        EstimateTotals totals = estimateAllocationCalculator.calculate(estimate);
         allocation.setTotal(estimate.getTotal());
-        allocation.setOwnerTotal(estimate.getPartyTotal("O"));
-        allocation.setInsuranceTotal(estimate.getPartyTotal("I"));
-        allocation.setCustomerTotal(estimate.getPartyTotal("U"));
+        allocation.setOwnerTotal(totals.getPartyTotal("O"));
+        allocation.setInsuranceTotal(totals.getPartyTotal("I"));
+        allocation.setCustomerTotal(totals.getPartyTotal("U"));
         allocation.setCtl(false); //assume not a CTL for demo purposes
         allocation.setComments(estimate.getComments());//Assume the returned comments are the same for demo
 
@@ -132,38 +176,34 @@ public class EstimateController {
         preliminaryDecision.setRecommendation("FIX");
         allocation.setPreliminaryDecision(preliminaryDecision);
 
-        LOG.info("Responding with example Estimate Allocation");
-        conversionService.convert(allocation, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
+        lifecycleEventPublisher.publishEvent(estimateCreated(estimate, allocation));
 
+        LOG.info("Responding with example Estimate Allocation");
         return HttpResponse.ok(allocation);
     }
 
-    private void saveParties(Estimate estimate) {
-        if (estimate.getDepot() != null) {
-            estimate.setDepot(partyRepository.save(estimate.getDepot()));
-        }
-
-        if (estimate.getRequester() != null) {
-            estimate.setRequester(partyRepository.save(estimate.getRequester()));
-        }
+    private static LifecycleEvent estimateCreated(Estimate estimate, EstimateAllocation allocation) {
+        String customer = estimate.getCustomer() != null ? estimate.getCustomer().getCompanyId() : null;
+        EstimateSummary summary = new EstimateSummary(estimate.getId(), estimate.getEstimateNumber(), estimate.getRevision(), estimate.getUnitNumber(), estimate.getCondition(), estimate.getEstimateTime(),
+            estimate.getDepot().getCompanyId(), customer, estimate.getCurrency(), allocation.getTotal());
+        return new LifecycleEvent(LifecycleEvent.ESTIMATE_CREATED, estimate.getDepot().getCompanyId(), estimate.getOwner() != null ? estimate.getOwner().getCompanyId() : null, summary, customer);
+    }
 
-        if (estimate.getOwner() != null) {
-            estimate.setOwner(partyRepository.save(estimate.getOwner()));
-        }
+    private void saveParties(Estimate estimate) {
+        EstimateAllocation allocation = estimate.getAllocation();
+        partyResolver.resolveAll(Arrays.asList(estimate.getDepot(), estimate.getRequester(), estimate.getOwner(), estimate.getCustomer(), allocation != null ? allocation.getDepot() : null));
 
-        if (estimate.getCustomer() != null) {
-            estimate.setCustomer(partyRepository.save(estimate.getCustomer()));
-        }
+        estimate.setDepot(partyResolver.resolve(estimate.getDepot()));
+        estimate.setRequester(partyResolver.resolve(estimate.getRequester()));
+        estimate.setOwner(partyResolver.resolve(estimate.getOwner()));
+        estimate.setCustomer(partyResolver.resolve(estimate.getCustomer()));
 
-        if (estimate.getAllocation() != null) {
-            EstimateAllocation allocation = estimate.getAllocation();
-            if (allocation.getDepot() != null) {
-                allocation.setDepot(partyRepository.save(allocation.getDepot()));
-            }
+        if (allocation != null) {
+            allocation.setDepot(partyResolver.resolve(allocation.getDepot()));
         }
     }
 
-    @Get(uri = "/{estimateNumber}", produces = MediaType.APPLICATION_JSON)
+    @Get(uri = "/{estimateNumber}")
     @Operation(summary = "fetch an estimate revision",
         description = "Finds an estimate by the given estimate number and depot, returning the revision specified.  If revision is not specified, the current estimate revision is returned.",
         operationId = "showEstimate",
@@ -184,7 +224,7 @@ public class EstimateController {
         return HttpResponseFactory.INSTANCE.status(HttpStatus.NOT_IMPLEMENTED);
     }
 
-    @Put(uri = "/{estimateNumber}", produces = MediaType.APPLICATION_JSON)
+    @Put(uri = "/{estimateNumber}")
     @Operation(summary = "customer approve an estimate",
         description = "Instead of sending in a full estimate revision, this endpoint can be used to approve an estimate without revising it.  This endpoint would typically be implemented by a lessee.  A depot would use the send revision to report approvals.",
         method = "PUT",
@@ -207,7 +247,7 @@ public class EstimateController {
         return HttpResponseFactory.INSTANCE.status(HttpStatus.NOT_IMPLEMENTED);
     }
 
-    @Delete(uri = "/{estimateNumber}", produces = MediaType.APPLICATION_JSON)
+    @Delete(uri = "/{estimateNumber}")
     @Operation(summary = "cancels an estimate",
         description = "Cancels an estimate (deletes it and all revisions from the system)",
         method = "DELETE",
@@ -226,7 +266,7 @@ public class EstimateController {
                                            @QueryValue("depot") @Parameter(name = "depot", description = "the identifier of the depot", in = ParameterIn.QUERY, required = true, schema = @Schema(pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9)) String depot) {
         LOG.info("Received Estimate Cancel for {} @ {}", estimateNumber, depot);
 
-        Optional<Party> depotParty = partyRepository.findByCompanyId(depot);
+        Optional<Party> depotParty = partyCache.findByCompanyId(depot);
         if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME)) {
             if (depotParty.isEmpty()) {
                 LOG.info("Party DNE -> Returning NOT FOUND");
@@ -246,7 +286,7 @@ public class EstimateController {
         else if (depotParty.isEmpty()) {
             depotParty = Optional.of(new Party());
             depotParty.get().setCompanyId(depot);
-            depotParty = Optional.of(partyRepository.save(depotParty.get()));
+            depotParty = Optional.of(partyResolver.resolve(depotParty.get()));
         }
 
         EstimateCancelRequest cancelRequest = new EstimateCancelRequest();
@@ -257,7 +297,7 @@ public class EstimateController {
         return HttpResponse.ok();
     }
 
-    @Patch(uri = "/{estimateNumber}", produces = MediaType.APPLICATION_JSON)
+    @Patch(uri = "/{estimateNumber}")
     @Operation(summary = "update estimate totals",
         description = "When the creation of the estimate is delayed due to a 202, after the manual processing is complete, this method is called to perform the update of the totals.  It is often implemented by a depot so that the lessor can report updates.",
         method = "PATCH",
@@ -275,19 +315,18 @@ public class EstimateController {
     public HttpResponse<HttpStatus> allocate(@Parameter(name = "estimateNumber", description = "the estimate number", in = ParameterIn.PATH, required = true, schema = @Schema(example = "DEHAMCE1856373", maxLength = 16)) String estimateNumber,
                                              @Body @RequestBody(description = "total breakdowns to finish creating an estimate", required = true, content = {@Content(schema = @Schema(implementation = EstimateAllocation.class, accessMode = Schema.AccessMode.AUTO))}) EstimateAllocation allocation) {
         LOG.info("Received Estimate Totals Allocation");
-        conversionService.convert(allocation, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
 
         if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME)) {
-            if (Objects.isNull(estimateNumber) || !estimateRepository.existsByEstimateNumberAndDepot(estimateNumber, allocation.getDepot())) {
+            Optional<Party> depotParty = Optional.ofNullable(allocation.getDepot()).map(Party::getCompanyId).flatMap(partyCache::findByCompanyId);
+            if (Objects.isNull(estimateNumber) || depotParty.isEmpty() || !estimateRepository.existsByEstimateNumberAndDepot(estimateNumber, depotParty.get())) {
                 throw new IllegalArgumentException("Estimate does not exist to allocate.");
             }
         }
 
-        if (allocation.getDepot() != null) {
-            allocation.setDepot(partyRepository.save(allocation.getDepot()));
-        }
+        allocation.setDepot(partyResolver.resolve(allocation.getDepot()));
 
         estimateAllocationRepository.save(allocation);
+        lifecycleEventPublisher.publishEvent(new LifecycleEvent(LifecycleEvent.ESTIMATE_ALLOCATED, allocation.getDepot().getCompanyId(), null, allocation));
 
         LOG.info("Responding with OK");
         return HttpResponse.ok();
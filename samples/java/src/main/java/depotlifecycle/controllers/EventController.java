@@ -0,0 +1,87 @@
+package depotlifecycle.controllers;
+
+import depotlifecycle.domain.Party;
+import depotlifecycle.services.BlockingExecutorFactory;
+import depotlifecycle.services.LifecycleFeed;
+import depotlifecycle.services.PartyCache;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.sse.Event;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import io.micronaut.security.annotation.Secured;
+import io.micronaut.security.utils.SecurityService;
+import io.micronaut.validation.Validated;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.extensions.Extension;
+import io.swagger.v3.oas.annotations.extensions.ExtensionProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+//the party check reads the database, so it runs on the blocking executor; the stream itself never blocks
+@Tag(name = "events")
+@Validated
+@Secured("isAuthenticated()")
+@ExecuteOn(BlockingExecutorFactory.NAME)
+@Controller("/api/v2/events")
+@RequiredArgsConstructor
+public class EventController {
+    private static final Logger LOG = LoggerFactory.getLogger(EventController.class);
+    private final LifecycleFeed lifecycleFeed;
+    private final PartyCache partyCache;
+    private final SecurityService securityService;
+
+    @Get(produces = MediaType.TEXT_EVENT_STREAM)
+    @Operation(summary = "follow lifecycle activity",
+        description = "Streams gate, estimate and repair activity as server-sent events once it has committed.  The `depot` or the `owner` must be a party the caller is the user of.  Each event is named by its type (`gate.created`, `gate.updated`, `gate.deleted`, `estimate.created`, `estimate.allocated` or `workOrder.repaired`) and carries an increasing id.  A `heartbeat` event is sent while the stream is idle.  A reader that falls too far behind is sent a `lagging` event and the stream ends; events are not replayed, so a reconnecting reader should re-query anything it needs.",
+        method = "GET",
+        operationId = "indexEvents",
+        extensions = @Extension(properties = { @ExtensionProperty(name = "iicl-purpose", value = "reporting", parseValue = true) })
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "a stream of lifecycle events"),
+        @ApiResponse(responseCode = "403", description = "neither the depot nor the owner is a party of the caller"),
+    })
+    public HttpResponse<Flux<Event<?>>> index(@Nullable @QueryValue("depot") @Parameter(name = "depot", description = "only activity at this depot", in = ParameterIn.QUERY, required = false, schema = @Schema(pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9)) String depot,
+                                @Nullable @QueryValue("owner") @Parameter(name = "owner", description = "only activity naming this owner", in = ParameterIn.QUERY, required = false, schema = @Schema(pattern = "^[A-Z0-9]{9}$", example = "USSFOEXAM", maxLength = 9)) String owner,
+                                @Nullable @QueryValue("type") @Parameter(name = "type", description = "comma separated event types to include; all types when omitted", in = ParameterIn.QUERY, required = false, schema = @Schema(example = "gate.created,gate.deleted")) String type) {
+        LOG.info("Following events for depot {} owner {}", depot, owner);
+
+        if (!isCaller(depot) && !isCaller(owner)) {
+            return HttpResponse.status(HttpStatus.FORBIDDEN);
+        }
+
+        Set<String> types = type == null ? Collections.emptySet() : Arrays.stream(type.split(","))
+            .map(String::trim)
+            .filter(t -> !t.isEmpty())
+            .collect(Collectors.toSet());
+
+        return HttpResponse.ok(lifecycleFeed.follow(depot, owner, types));
+    }
+
+    //events carry the party's gates, estimates and repairs, so only the user the party belongs to may follow them
+    private boolean isCaller(String companyId) {
+        return companyId != null && partyCache.findByCompanyId(companyId).map(this::isCaller).orElse(false);
+    }
+
+    private boolean isCaller(Party party) {
+        return party.getUserCode() != null && securityService.username().filter(party.getUserCode()::equalsIgnoreCase).isPresent();
+    }
+}
@@ -0,0 +1,26 @@
+package depotlifecycle.controllers;
+
+import depotlifecycle.GateResponse;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+//Generate an example gate for the purposes of this demo
+final class ExampleGates {
+    static final String INSPECTION_CRITERIA = "IICL";
+
+    private ExampleGates() {
+    }
+
+    static GateResponse of(String adviceNumber, Long transactionReference) {
+        GateResponse gate = new GateResponse();
+        gate.setAdviceNumber(adviceNumber);
+        gate.setCustomerReference("EXAMPLE01");
+        gate.setTransactionReference(transactionReference.toString());
+        //No insurance coverage in example
+        gate.setCurrentExchangeRate(BigDecimal.ONE);
+        gate.setComments(Arrays.asList("Example Comment #1", "Example Comment #2"));
+        gate.setCurrentInspectionCriteria(INSPECTION_CRITERIA);
+        return gate;
+    }
+}
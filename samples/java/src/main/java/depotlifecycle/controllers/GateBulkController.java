@@ -0,0 +1,100 @@
+package depotlifecycle.controllers;
+
+import depotlifecycle.ErrorResponse;
+import depotlifecycle.GateBulkResult;
+import depotlifecycle.domain.GateCreateRequest;
+import depotlifecycle.filters.Idempotent;
+import depotlifecycle.services.AdviceExport;
+import depotlifecycle.services.AuthenticationProviderUserPassword;
+import depotlifecycle.services.BinaryMediaTypeCodec;
+import depotlifecycle.services.BlockingExecutorFactory;
+import depotlifecycle.services.GateBulkImport;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Error;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.exceptions.ContentLengthExceededException;
+import io.micronaut.http.server.HttpServerConfiguration;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import io.micronaut.security.annotation.Secured;
+import io.micronaut.security.utils.SecurityService;
+import io.micronaut.validation.Validated;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.extensions.Extension;
+import io.swagger.v3.oas.annotations.extensions.ExtensionProperty;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.util.List;
+
+//bulk ingestion stays on hibernate batching whichever gate pipeline serves the single gate endpoints
+@Tag(name = "gate")
+@Validated
+@Secured("isAuthenticated()")
+@ExecuteOn(BlockingExecutorFactory.NAME)
+@Consumes({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Produces({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Idempotent
+@Controller("/api/v2/gate")
+@RequiredArgsConstructor
+public class GateBulkController {
+    private static final Logger LOG = LoggerFactory.getLogger(GateBulkController.class);
+    private final GateBulkImport gateBulkImport;
+    private final SecurityService securityService;
+    private final HttpServerConfiguration httpServerConfiguration;
+
+    @Post(uri = "/bulk", consumes = {MediaType.APPLICATION_JSON, AdviceExport.NDJSON})
+    @Operation(summary = "create many gate records",
+        description = "Creates gate-in and gate-out records in bulk, for example when a yard system drains the gates it queued while offline.  The body is either a JSON array of gates or newline delimited JSON with one gate per line.  The body is read as it arrives, and may be up to the server's maximum request size; send a larger backlog as several requests.  Every gate is validated before any is saved, and a gate that repeats an earlier one in the request is rejected; the response lists one result per gate, in request order, carrying the gate response or the error it would have received if sent on its own.",
+        method = "POST",
+        operationId = "saveGates",
+        extensions = @Extension(properties = { @ExtensionProperty(name = "iicl-purpose", value = "activity", parseValue = true) })
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "the gates were processed; see each result for its outcome", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = GateBulkResult.class)))}),
+        @ApiResponse(responseCode = "400", description = "the body is not a list of gates", content = {@Content(schema = @Schema(implementation = ErrorResponse.class))}),
+        @ApiResponse(responseCode = "403", description = "create a gate record is disallowed by security configuration"),
+        @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
+        @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
+    })
+    public HttpResponse<List<GateBulkResult>> bulk(@Body @RequestBody(description = "gates to create, as a JSON array or one gate per line", required = true, content = {@Content(array = @ArraySchema(schema = @Schema(implementation = GateCreateRequest.class)))}) InputStream body, @Parameter(hidden = true) HttpHeaders headers) {
+        LOG.info("Received Gate Bulk Create");
+
+        //the body is streamed to the route, which would otherwise only see it end early once it passes the limit
+        long length = headers.contentLength().orElse(0);
+        if (length > httpServerConfiguration.getMaxRequestSize()) {
+            throw new ContentLengthExceededException(httpServerConfiguration.getMaxRequestSize(), length);
+        }
+
+        boolean ndjson = headers.contentType().map(type -> type.getName().equals(AdviceExport.NDJSON)).orElse(false);
+        boolean rejectExisting = securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME);
+
+        return HttpResponse.ok(gateBulkImport.importAll(body, ndjson, rejectExisting, ExampleGates.INSPECTION_CRITERIA, gate -> ExampleGates.of(gate.getAdviceNumber(), gate.getId())));
+    }
+
+    @Error
+    public HttpResponse onSavedFailed(HttpRequest request, Throwable ex) {
+        LOG.info("\tError - 400 - Bad Request", ex);
+        ErrorResponse error = new ErrorResponse();
+        error.setCode("ERR000");
+        error.setMessage(ex.getMessage());
+
+        return HttpResponse.badRequest().body(error);
+    }
+}
@@ -1,6 +1,5 @@
 package depotlifecycle.controllers;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import depotlifecycle.ErrorResponse;
 import depotlifecycle.GateResponse;
 import depotlifecycle.GateStatus;
@@ -9,27 +8,36 @@ import depotlifecycle.domain.GateCreateRequest;
 import depotlifecycle.domain.GateDeleteRequest;
 import depotlifecycle.domain.GateUpdateRequest;
 import depotlifecycle.domain.Party;
+import depotlifecycle.filters.Idempotent;
 import depotlifecycle.repositories.GateCreateRequestRepository;
 import depotlifecycle.repositories.GateDeleteRequestRepository;
 import depotlifecycle.repositories.GateUpdateRequestRepository;
-import depotlifecycle.repositories.PartyRepository;
 import depotlifecycle.services.AuthenticationProviderUserPassword;
-import io.micronaut.core.convert.ConversionService;
+import depotlifecycle.services.BinaryMediaTypeCodec;
+import depotlifecycle.services.BlockingExecutorFactory;
+import depotlifecycle.services.DuplicateKey;
+import depotlifecycle.services.GateStatusIndex;
+import depotlifecycle.services.PartyCache;
+import depotlifecycle.services.PartyResolver;
+import io.micronaut.context.annotation.Requires;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
-import io.micronaut.http.HttpResponseFactory;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Delete;
 import io.micronaut.http.annotation.Error;
 import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.annotation.Put;
 import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.utils.SecurityService;
+import io.micronaut.transaction.TransactionOperations;
 import io.micronaut.validation.Validated;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -46,25 +54,33 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
-import java.util.Arrays;
+import javax.transaction.Transactional;
+import java.sql.Connection;
 import java.util.Optional;
 
 @Tag(name = "gate")
 @Validated
 @Secured("isAuthenticated()")
+@ExecuteOn(BlockingExecutorFactory.NAME)
+@Consumes({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Produces({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Idempotent
 @Controller("/api/v2/gate")
+@Requires(property = "depotlifecycle.gate.reactive", notEquals = "true")
 @RequiredArgsConstructor
 public class GateController {
     private static final Logger LOG = LoggerFactory.getLogger(GateController.class);
-    private final PartyRepository partyRepository;
+    private static final int CREATE_ATTEMPTS = 3;
+    private final PartyCache partyCache;
+    private final PartyResolver partyResolver;
     private final GateCreateRequestRepository gateCreateRequestRepository;
     private final GateUpdateRequestRepository gateUpdateRequestRepository;
     private final GateDeleteRequestRepository gateDeleteRequestRepository;
-    private final ConversionService<?> conversionService;
+    private final GateStatusIndex gateStatusIndex;
     private final SecurityService securityService;
+    private final TransactionOperations<Connection> transactionOperations;
 
-    @Post(produces = MediaType.APPLICATION_JSON)
+    @Post
     @Operation(summary = "create a gate record",
         description = "Creates either a gate-in or gate-out record for the given shipping container against the provided advice and depot data.",
         method = "POST",
@@ -82,35 +98,45 @@ public class GateController {
     })
     public HttpResponse<Object> create(@Body @RequestBody(description = "gate object to create a new gate in or gate out record", required = true, content = {@Content(schema = @Schema(implementation = GateCreateRequest.class))}) GateCreateRequest gateCreateRequest) {
         LOG.info("Received Gate Create");
-        conversionService.convert(gateCreateRequest, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
 
         if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME) && gateCreateRequestRepository.existsByAdviceNumberAndUnitNumberAndType(gateCreateRequest.getAdviceNumber(), gateCreateRequest.getUnitNumber(), gateCreateRequest.getType())) {
             throw new IllegalArgumentException("Gate already exists; please update instead.");
         }
 
-        if (gateCreateRequest.getDepot() != null) {
-            gateCreateRequest.setDepot(partyRepository.save(gateCreateRequest.getDepot()));
-        }
-
-        gateCreateRequest = gateCreateRequestRepository.save(gateCreateRequest);
+        gateCreateRequest.setDepot(partyResolver.resolve(gateCreateRequest.getDepot()));
 
-        //Generate an example gate for the purposes of this demo
-        GateResponse gate = new GateResponse();
-        gate.setAdviceNumber(gateCreateRequest.getAdviceNumber());
-        gate.setCustomerReference("EXAMPLE01");
-        gate.setTransactionReference(gateCreateRequest.getId().toString());
-        //No insurance coverage in example
-        gate.setCurrentExchangeRate(BigDecimal.ONE);
-        gate.setComments(Arrays.asList("Example Comment #1", "Example Comment #2"));
-        gate.setCurrentInspectionCriteria("IICL");
+        GateResponse gate = save(gateCreateRequest);
 
         LOG.info("Responding with example Gate Response");
-        conversionService.convert(gate, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
-
         return HttpResponse.ok(gate);
     }
 
-    @Get(uri = "/{unitNumber}", produces = MediaType.APPLICATION_JSON)
+    //two first gates of a unit both insert its current_gate_status row; the one that loses runs again, and then updates that row
+    private GateResponse save(GateCreateRequest gateCreateRequest) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionOperations.executeWrite(status -> {
+                    GateCreateRequest saved = gateCreateRequestRepository.save(gateCreateRequest);
+
+                    GateResponse gate = ExampleGates.of(saved.getAdviceNumber(), saved.getId());
+                    gateStatusIndex.gateCreated(saved, gate.getCurrentInspectionCriteria());
+                    return gate;
+                });
+            }
+            catch (RuntimeException e) {
+                if (attempt == CREATE_ATTEMPTS || !DuplicateKey.is(e)) {
+                    throw e;
+                }
+
+                //the rolled back insert still assigned ids; clear them so the gate can be persisted again
+                gateCreateRequest.setId(null);
+                gateCreateRequest.getPhotos().forEach(photo -> photo.setId(null));
+                LOG.info("Gate for {} raced another first gate of the unit; retrying", gateCreateRequest.getUnitNumber());
+            }
+        }
+    }
+
+    @Get(uri = "/{unitNumber}")
     @Operation(summary = "fetch the current gate status",
         description = "For the given unit number, if the shipping container is currently gated in or gated out, fetch the current interchange information - status, the time of the gate, etc.  This is a reporting only function.  To correct a gate status, use the update a gate record endpoint.",
         method = "GET",
@@ -125,11 +151,16 @@ public class GateController {
         @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
         @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
     })
-    public HttpResponse<HttpStatus> get(@Parameter(name = "unitNumber", description = "the current unit number of the shipping container", in = ParameterIn.PATH, required = true, schema = @Schema(pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", example = "CONU1234561", maxLength = 11)) String unitNumber) {
-        return HttpResponseFactory.INSTANCE.status(HttpStatus.NOT_IMPLEMENTED);
+    public HttpResponse<GateStatus> get(@Parameter(name = "unitNumber", description = "the current unit number of the shipping container", in = ParameterIn.PATH, required = true, schema = @Schema(pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", example = "CONU1234561", maxLength = 11)) String unitNumber) {
+        LOG.info("Received Gate Status request for {}", unitNumber);
+
+        return gateStatusIndex.find(unitNumber)
+            .map(HttpResponse::ok)
+            .orElseGet(HttpResponse::notFound);
     }
 
-    @Put(uri = "/{depot}/{adviceNumber}/{unitNumber}", produces = MediaType.APPLICATION_JSON)
+    @Put(uri = "/{depot}/{adviceNumber}/{unitNumber}")
+    @Transactional
     @Operation(summary = "update a gate record",
         description = "Correct the initial damage indicator status or activity time from when the gate record was created.  Some depot operators refer to this as a `status` update.",
         method = "PUT",
@@ -150,7 +181,6 @@ public class GateController {
                                @Parameter(name = "depot", description = "the identifier of the depot", in = ParameterIn.PATH, required = true, schema = @Schema(pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9)) String depot,
                                @Body @RequestBody(description = "gate object to update an existing record", required = true, content = {@Content(schema = @Schema(implementation = GateUpdateRequest.class))}) GateUpdateRequest gateUpdateRequest) {
         LOG.info("Received Gate Update");
-        conversionService.convert(gateUpdateRequest, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
 
         if(!gateCreateRequestRepository.existsByAdviceNumberAndUnitNumberAndType(adviceNumber, unitNumber, gateUpdateRequest.getType())) {
             if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME)) {
@@ -161,24 +191,16 @@ public class GateController {
         }
 
         gateUpdateRequest = gateUpdateRequestRepository.save(gateUpdateRequest);
+        gateStatusIndex.gateUpdated(depot, adviceNumber, unitNumber, gateUpdateRequest);
 
-        //Generate an example gate for the purposes of this demo
-        GateResponse gate = new GateResponse();
-        gate.setAdviceNumber(adviceNumber);
-        gate.setCustomerReference("EXAMPLE01");
-        gate.setTransactionReference(gateUpdateRequest.getId().toString());
-        //No insurance coverage in example
-        gate.setCurrentExchangeRate(BigDecimal.ONE);
-        gate.setComments(Arrays.asList("Example Comment #1", "Example Comment #2"));
-        gate.setCurrentInspectionCriteria("IICL");
+        GateResponse gate = ExampleGates.of(adviceNumber, gateUpdateRequest.getId());
 
         LOG.info("Responding with example Gate Response");
-        conversionService.convert(gate, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
-
         return HttpResponse.ok(gate);
     }
 
-    @Delete(uri = "/{depot}/{adviceNumber}/{unitNumber}", produces = MediaType.APPLICATION_JSON)
+    @Delete(uri = "/{depot}/{adviceNumber}/{unitNumber}")
+    @Transactional
     @Operation(summary = "delete a gate record",
         description = "Delete a gate record.",
         method = "DELETE",
@@ -198,7 +220,7 @@ public class GateController {
                                        @Parameter(name = "depot", description = "the identifier of the depot", in = ParameterIn.PATH, required = true, schema = @Schema(pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9)) String depot) {
         LOG.info("Received Gate Delete for {}, {}, {}", depot, adviceNumber, unitNumber);
 
-        Optional<Party> depotParty = partyRepository.findByCompanyId(depot);
+        Optional<Party> depotParty = partyCache.findByCompanyId(depot);
         if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME)) {
             if(depotParty.isEmpty()) {
                 return HttpResponse.notFound();
@@ -213,10 +235,10 @@ public class GateController {
                 return HttpResponse.notFound();
             }
         }
-        else {
+        else if (depotParty.isEmpty()) {
             depotParty = Optional.of(new Party());
             depotParty.get().setCompanyId(depot);
-            depotParty = Optional.of(partyRepository.save(depotParty.get()));
+            depotParty = Optional.of(partyResolver.resolve(depotParty.get()));
         }
 
         GateDeleteRequest gateDeleteRequest = new GateDeleteRequest();
@@ -224,6 +246,7 @@ public class GateController {
         gateDeleteRequest.setAdviceNumber(adviceNumber);
         gateDeleteRequest.setUnitNumber(unitNumber);
         gateDeleteRequestRepository.save(gateDeleteRequest);
+        gateStatusIndex.gateDeleted(depot, adviceNumber, unitNumber);
 
         LOG.info("Gate Deleted, responding with OK");
         return HttpResponse.ok();
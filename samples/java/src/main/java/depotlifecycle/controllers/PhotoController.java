@@ -0,0 +1,198 @@
+package depotlifecycle.controllers;
+
+import depotlifecycle.ErrorResponse;
+import depotlifecycle.PhotoUploadResponse;
+import depotlifecycle.filters.Idempotent;
+import depotlifecycle.services.BinaryMediaTypeCodec;
+import depotlifecycle.services.PhotoStore;
+import depotlifecycle.services.PhotoType;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Error;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.multipart.StreamingFileUpload;
+import io.micronaut.http.server.util.HttpHostResolver;
+import io.micronaut.security.annotation.Secured;
+import io.micronaut.security.rules.SecurityRule;
+import io.micronaut.validation.Validated;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.extensions.Extension;
+import io.swagger.v3.oas.annotations.extensions.ExtensionProperty;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.io.File;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//the upload is streamed to disk by PhotoStore one chunk at a time, so no worker thread is held while a slow client sends it
+@Tag(name = "photo")
+@Validated
+@Secured("isAuthenticated()")
+@Idempotent
+@Controller("/api/v2/photo")
+@RequiredArgsConstructor
+public class PhotoController {
+    private static final Logger LOG = LoggerFactory.getLogger(PhotoController.class);
+    private static final Pattern PHOTO_NAME = Pattern.compile("^([0-9a-f]{64})\\.([a-z]+)$");
+    //a stored photo's bytes can never change under its url
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private final PhotoStore photoStore;
+    private final HttpHostResolver httpHostResolver;
+
+    @Post(consumes = MediaType.MULTIPART_FORM_DATA, produces = {MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+    @Operation(summary = "upload a photo",
+        description = "Stores a gate or damage photo sent as the `file` part of a multipart form and returns the url to use for it in gate and estimate photos.  Photos are stored by the SHA-256 of their content, so uploading the same photo again returns the same url without storing a second copy.",
+        method = "POST",
+        operationId = "savePhoto",
+        extensions = @Extension(properties = { @ExtensionProperty(name = "iicl-purpose", value = "activity", parseValue = true) })
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "successfully stored the photo", content = {@Content(schema = @Schema(implementation = PhotoUploadResponse.class))}),
+        @ApiResponse(responseCode = "400", description = "the upload was not a supported image or was too large", content = {@Content(schema = @Schema(implementation = ErrorResponse.class))}),
+        @ApiResponse(responseCode = "403", description = "uploading photos is disallowed by security"),
+    })
+    public Mono<HttpResponse<PhotoUploadResponse>> create(HttpRequest<?> request,
+                                                          @RequestBody(description = "the photo as the `file` part of a multipart form", required = true, content = {@Content(mediaType = MediaType.MULTIPART_FORM_DATA, schema = @Schema(type = "string", format = "binary"))}) StreamingFileUpload file) {
+        LOG.info("Received Photo Upload {}", file.getFilename());
+
+        String base = httpHostResolver.resolve(request) + "/api/v2/photo/";
+        return photoStore.store(file).map(photo -> {
+            PhotoUploadResponse response = new PhotoUploadResponse();
+            response.setUrl(base + photo.getName());
+            response.setSha256(photo.getSha256());
+            response.setSize(photo.getSize());
+            response.setContentType(photo.getType().getContentType());
+            response.setExisting(photo.isExisting());
+            return HttpResponse.ok(response);
+        });
+    }
+
+    //the 256 bit hash in the url is what grants access, so review screens can load photos with plain img tags
+    @Secured(SecurityRule.IS_ANONYMOUS)
+    @Get(uri = "/{name}")
+    @Operation(summary = "download a photo",
+        description = "Returns a stored photo.  Photos never change once stored, so responses carry a strong `ETag` of the content hash and may be cached indefinitely.  A single `Range` of bytes may be requested, and `If-None-Match` and `If-Range` are honoured.",
+        method = "GET",
+        operationId = "indexPhoto",
+        extensions = @Extension(properties = { @ExtensionProperty(name = "iicl-purpose", value = "reporting", parseValue = true) })
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "the photo", content = {@Content(mediaType = "image/*", schema = @Schema(type = "string", format = "binary"))}),
+        @ApiResponse(responseCode = "206", description = "the requested range of the photo", content = {@Content(mediaType = "image/*", schema = @Schema(type = "string", format = "binary"))}),
+        @ApiResponse(responseCode = "304", description = "the photo matches the given ETag"),
+        @ApiResponse(responseCode = "404", description = "no photo is stored under that name"),
+        @ApiResponse(responseCode = "416", description = "the requested range lies outside the photo"),
+    })
+    public HttpResponse<?> show(HttpRequest<?> request,
+                                @Parameter(name = "name", description = "the SHA-256 of the photo and its extension, as returned by the upload", in = ParameterIn.PATH, required = true, schema = @Schema(pattern = "^[0-9a-f]{64}\\.(jpg|png|gif|webp|heic)$", example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08.jpg")) String name) {
+        Matcher matcher = PHOTO_NAME.matcher(name);
+        if (!matcher.matches()) {
+            return HttpResponse.notFound();
+        }
+
+        String sha256 = matcher.group(1);
+        Optional<PhotoType> type = PhotoType.forExtension(matcher.group(2));
+        Optional<File> file = type.flatMap(t -> photoStore.find(sha256, t));
+        if (file.isEmpty()) {
+            return HttpResponse.notFound();
+        }
+
+        String etag = "\"" + sha256 + "\"";
+        String ifNoneMatch = request.getHeaders().get(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(etag))) {
+            return cacheable(HttpResponse.notModified(), etag);
+        }
+
+        MediaType mediaType = MediaType.of(type.get().getContentType());
+        long size = file.get().length();
+        String ifRange = request.getHeaders().get(HttpHeaders.IF_RANGE);
+        long[] range = ifRange == null || ifRange.trim().equals(etag) ? range(request.getHeaders().get(HttpHeaders.RANGE), size) : null;
+        if (range == null) {
+            return cacheable(HttpResponse.ok(new PhotoRegion(file.get(), mediaType, 0, size)), etag);
+        }
+        if (range.length == 0) {
+            return cacheable(HttpResponse.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE), etag)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+        }
+
+        return cacheable(HttpResponse.status(HttpStatus.PARTIAL_CONTENT), etag)
+            .header(HttpHeaders.CONTENT_RANGE, "bytes " + range[0] + "-" + range[1] + "/" + size)
+            .body(new PhotoRegion(file.get(), mediaType, range[0], range[1] - range[0] + 1));
+    }
+
+    private static <T> MutableHttpResponse<T> cacheable(MutableHttpResponse<T> response, String etag) {
+        return response
+            .header(HttpHeaders.ETAG, etag)
+            .header(HttpHeaders.CACHE_CONTROL, IMMUTABLE)
+            .header(HttpHeaders.EXPIRES, DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusYears(1)))
+            .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+    }
+
+    //the first and last byte of a single "bytes=" range; null serves the whole photo, as does a multi-range request, and an empty array is unsatisfiable
+    private static long[] range(String header, long size) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+
+        try {
+            long first;
+            long last;
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return new long[0];
+                }
+                first = Math.max(0, size - suffix);
+                last = size - 1;
+            }
+            else {
+                first = Long.parseLong(spec.substring(0, dash));
+                last = dash == spec.length() - 1 ? size - 1 : Math.min(Long.parseLong(spec.substring(dash + 1)), size - 1);
+                if (last < first) {
+                    return first >= size ? new long[0] : null;
+                }
+            }
+            return first >= size ? new long[0] : new long[] {first, last};
+        }
+        catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Error
+    public HttpResponse<ErrorResponse> onSavedFailed(HttpRequest request, Throwable ex) {
+        LOG.info("\tError - 400 - Bad Request", ex);
+        ErrorResponse error = new ErrorResponse();
+        error.setCode("ERR000");
+        error.setMessage(ex.getMessage());
+
+        return HttpResponse.<ErrorResponse>badRequest().body(error);
+    }
+}
@@ -0,0 +1,88 @@
+package depotlifecycle.controllers;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.netty.NettyMutableHttpResponse;
+import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.micronaut.http.server.netty.SmartHttpContentCompressor;
+import io.micronaut.http.server.netty.types.NettyFileCustomizableResponseType;
+import io.micronaut.http.server.types.CustomizableResponseTypeException;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpChunkedInput;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+//micronaut's SystemFile always sends the whole file; this sends one byte range of it, still as a zero-copy file region when the connection allows
+class PhotoRegion implements NettyFileCustomizableResponseType {
+    private static final int CHUNK_SIZE = 8192;
+
+    private final File file;
+    private final MediaType mediaType;
+    private final long offset;
+    private final long length;
+
+    PhotoRegion(File file, MediaType mediaType, long offset, long length) {
+        this.file = file;
+        this.mediaType = mediaType;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public long getLastModified() {
+        return file.lastModified();
+    }
+
+    @Override
+    public long getLength() {
+        return length;
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    @Override
+    public void process(MutableHttpResponse<?> response) {
+        response.header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(length));
+    }
+
+    @Override
+    public void write(HttpRequest<?> request, MutableHttpResponse<?> response, ChannelHandlerContext context) {
+        if (!(response instanceof NettyMutableHttpResponse)) {
+            throw new IllegalArgumentException("Unsupported response type. Not a Netty response: " + response);
+        }
+
+        NettyMutableHttpResponse<?> nettyResponse = (NettyMutableHttpResponse<?>) response;
+        DefaultHttpResponse head = new DefaultHttpResponse(nettyResponse.getNettyHttpVersion(), nettyResponse.getNettyHttpStatus(), nettyResponse.getNettyHeaders());
+        if (request instanceof NettyHttpRequest) {
+            ((NettyHttpRequest<?>) request).prepareHttp2ResponseIfNecessary(head);
+        }
+        context.write(head, context.voidPromise());
+
+        //a file region goes straight from the page cache to the socket, which tls or compression would have to see first
+        SmartHttpContentCompressor compressor = context.pipeline().get(SmartHttpContentCompressor.class);
+        if (context.pipeline().get(SslHandler.class) == null && (compressor == null || compressor.shouldSkip(head))) {
+            context.write(new DefaultFileRegion(file, offset, length), context.newProgressivePromise());
+            context.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+        }
+        else {
+            try {
+                context.writeAndFlush(new HttpChunkedInput(new ChunkedFile(new RandomAccessFile(file, "r"), offset, length, CHUNK_SIZE)), context.newProgressivePromise());
+            }
+            catch (IOException e) {
+                throw new CustomizableResponseTypeException("Could not read file", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package depotlifecycle.controllers;
+
+import depotlifecycle.ErrorResponse;
+import depotlifecycle.GateResponse;
+import depotlifecycle.GateStatus;
+import depotlifecycle.PendingResponse;
+import depotlifecycle.domain.GateCreateRequest;
+import depotlifecycle.domain.GateUpdateRequest;
+import depotlifecycle.filters.Idempotent;
+import depotlifecycle.services.AuthenticationProviderUserPassword;
+import depotlifecycle.services.BinaryMediaTypeCodec;
+import depotlifecycle.services.GateStatusIndex;
+import depotlifecycle.services.ReactiveGatePipeline;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Delete;
+import io.micronaut.http.annotation.Error;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.Put;
+import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.security.annotation.Secured;
+import io.micronaut.security.utils.SecurityService;
+import io.micronaut.validation.Validated;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.extensions.Extension;
+import io.swagger.v3.oas.annotations.extensions.ExtensionProperty;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+//the gate endpoints of GateController served on the event loop, with r2dbc in place of hibernate for every database call
+@Tag(name = "gate")
+@Validated
+@Secured("isAuthenticated()")
+@Consumes({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Produces({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Idempotent
+@Controller("/api/v2/gate")
+@Requires(property = "depotlifecycle.gate.reactive", value = "true")
+@RequiredArgsConstructor
+public class ReactiveGateController {
+    private static final Logger LOG = LoggerFactory.getLogger(ReactiveGateController.class);
+    private final ReactiveGatePipeline reactiveGatePipeline;
+    private final GateStatusIndex gateStatusIndex;
+    private final SecurityService securityService;
+
+    @Post
+    @Operation(summary = "create a gate record",
+        description = "Creates either a gate-in or gate-out record for the given shipping container against the provided advice and depot data.",
+        method = "POST",
+        operationId = "saveGate",
+        extensions = @Extension(properties = { @ExtensionProperty(name = "iicl-purpose", value = "activity", parseValue = true) })
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "successfully created a gate in or gate out record for the shipping container", content = {@Content(schema = @Schema(implementation = GateResponse.class))}),
+        @ApiResponse(responseCode = "202", description = "gate accepted for processing, but not created due to manual processing requirement", content = {@Content(schema = @Schema(implementation = PendingResponse.class))}),
+        @ApiResponse(responseCode = "400", description = "an error occurred", content = {@Content(schema = @Schema(implementation = ErrorResponse.class))}),
+        @ApiResponse(responseCode = "403", description = "create a gate record is disallowed by security configuration"),
+        @ApiResponse(responseCode = "404", description = "the shipping container or depot could not be found"),
+        @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
+        @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
+    })
+    public Mono<HttpResponse<Object>> create(@Body @RequestBody(description = "gate object to create a new gate in or gate out record", required = true, content = {@Content(schema = @Schema(implementation = GateCreateRequest.class))}) GateCreateRequest gateCreateRequest) {
+        LOG.info("Received Gate Create");
+
+        boolean rejectExisting = securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME);
+        return reactiveGatePipeline.create(gateCreateRequest, rejectExisting, ExampleGates.INSPECTION_CRITERIA)
+            .map(created -> HttpResponse.ok(ExampleGates.of(created.getAdviceNumber(), created.getId())));
+    }
+
+    @Get(uri = "/{unitNumber}")
+    @Operation(summary = "fetch the current gate status",
+        description = "For the given unit number, if the shipping container is currently gated in or gated out, fetch the current interchange information - status, the time of the gate, etc.  This is a reporting only function.  To correct a gate status, use the update a gate record endpoint.",
+        method = "GET",
+        operationId = "showGate",
+        extensions = @Extension(properties = { @ExtensionProperty(name = "iicl-purpose", value = "reporting", parseValue = true) })
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "successfully found current gate status", content = {@Content(schema = @Schema(implementation = GateStatus.class))}),
+        @ApiResponse(responseCode = "400", description = "an error occurred", content = {@Content(schema = @Schema(implementation = ErrorResponse.class))}),
+        @ApiResponse(responseCode = "403", description = "fetching a gate record is disallowed by security"),
+        @ApiResponse(responseCode = "404", description = "the shipping container was not found"),
+        @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
+        @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
+    })
+    public Mono<HttpResponse<GateStatus>> get(@Parameter(name = "unitNumber", description = "the current unit number of the shipping container", in = ParameterIn.PATH, required = true, schema = @Schema(pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", example = "CONU1234561", maxLength = 11)) String unitNumber) {
+        LOG.info("Received Gate Status request for {}", unitNumber);
+
+        return Mono.justOrEmpty(gateStatusIndex.find(unitNumber))
+            .<HttpResponse<GateStatus>>map(HttpResponse::ok)
+            .defaultIfEmpty(HttpResponse.notFound());
+    }
+
+    @Put(uri = "/{depot}/{adviceNumber}/{unitNumber}")
+    @Operation(summary = "update a gate record",
+        description = "Correct the initial damage indicator status or activity time from when the gate record was created.  Some depot operators refer to this as a `status` update.",
+        method = "PUT",
+        operationId = "updateGate",
+        extensions = @Extension(properties = { @ExtensionProperty(name = "iicl-purpose", value = "activity", parseValue = true) })
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "successfully update the gate record", content = {@Content(schema = @Schema(implementation = GateResponse.class))}),
+        @ApiResponse(responseCode = "202", description = "gate update accepted for processing, but not created due to manual processing requirement", content = {@Content(schema = @Schema(implementation = PendingResponse.class))}),
+        @ApiResponse(responseCode = "400", description = "an error occurred", content = {@Content(schema = @Schema(implementation = ErrorResponse.class))}),
+        @ApiResponse(responseCode = "403", description = "update a gate record is disallowed by security"),
+        @ApiResponse(responseCode = "404", description = "the shipping container or depot could not be found"),
+        @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
+        @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
+    })
+    public Mono<HttpResponse<Object>> update(@Parameter(name = "adviceNumber", description = "the redelivery or release advice number for the gate record", in = ParameterIn.PATH, required = true, schema = @Schema(example = "AHAMG000000", minLength = 1, maxLength = 16)) String adviceNumber,
+                                             @Parameter(name = "unitNumber", description = "the current unit number of the shipping container", in = ParameterIn.PATH, required = true, schema = @Schema(example = "CONU1234561", pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", maxLength = 11)) String unitNumber,
+                                             @Parameter(name = "depot", description = "the identifier of the depot", in = ParameterIn.PATH, required = true, schema = @Schema(pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9)) String depot,
+                                             @Body @RequestBody(description = "gate object to update an existing record", required = true, content = {@Content(schema = @Schema(implementation = GateUpdateRequest.class))}) GateUpdateRequest gateUpdateRequest) {
+        LOG.info("Received Gate Update");
+
+        boolean rejectMissing = securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME);
+        return reactiveGatePipeline.update(depot, adviceNumber, unitNumber, gateUpdateRequest, rejectMissing)
+            .map(updated -> HttpResponse.ok(ExampleGates.of(adviceNumber, updated.getId())));
+    }
+
+    @Delete(uri = "/{depot}/{adviceNumber}/{unitNumber}")
+    @Operation(summary = "delete a gate record",
+        description = "Delete a gate record.",
+        method = "DELETE",
+        operationId = "deleteGate",
+        extensions = @Extension(properties = { @ExtensionProperty(name = "iicl-purpose", value = "activity", parseValue = true) })
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "successfully delete the gate record"),
+        @ApiResponse(responseCode = "400", description = "an error occurred", content = {@Content(schema = @Schema(implementation = ErrorResponse.class))}),
+        @ApiResponse(responseCode = "403", description = "delete a gate record is disallowed by security"),
+        @ApiResponse(responseCode = "404", description = "the shipping container or depot could not be found"),
+        @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
+        @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
+    })
+    public Mono<HttpResponse<HttpStatus>> delete(@Parameter(name = "adviceNumber", description = "the redelivery or release advice number to identify which gate record to delete", in = ParameterIn.PATH, required = true, schema = @Schema(example = "AHAMG000000", minLength = 1, maxLength = 16)) String adviceNumber,
+                                                 @Parameter(name = "unitNumber", description = "the current unit number of the shipping container", in = ParameterIn.PATH, required = true, schema = @Schema(example = "CONU1234561", pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", maxLength = 11)) String unitNumber,
+                                                 @Parameter(name = "depot", description = "the identifier of the depot", in = ParameterIn.PATH, required = true, schema = @Schema(pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9)) String depot) {
+        LOG.info("Received Gate Delete for {}, {}, {}", depot, adviceNumber, unitNumber);
+
+        boolean rejectMissing = securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME);
+        return reactiveGatePipeline.delete(depot, adviceNumber, unitNumber, rejectMissing)
+            .<HttpResponse<HttpStatus>>map(deleted -> HttpResponse.ok())
+            .defaultIfEmpty(HttpResponse.notFound());
+    }
+
+    @Error(status = HttpStatus.NOT_FOUND)
+    public HttpResponse<JsonError> notFound(HttpRequest request) {
+        JsonError error = new JsonError("Not Found");
+
+        return HttpResponse.<JsonError>notFound()
+            .body(error);
+    }
+
+    @Error
+    public HttpResponse onSavedFailed(HttpRequest request, Throwable ex) {
+        LOG.info("\tError - 400 - Bad Request", ex);
+        ErrorResponse error = new ErrorResponse();
+        error.setCode("ERR000");
+        error.setMessage(ex.getMessage());
+
+        return HttpResponse.badRequest().body(error);
+    }
+}
@@ -1,28 +1,36 @@
 package depotlifecycle.controllers;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import depotlifecycle.ErrorResponse;
 import depotlifecycle.domain.Redelivery;
 import depotlifecycle.domain.RedeliveryDetail;
 import depotlifecycle.domain.RedeliveryUnit;
-import depotlifecycle.repositories.PartyRepository;
+import depotlifecycle.domain.Party;
+import depotlifecycle.filters.Idempotent;
 import depotlifecycle.repositories.RedeliveryRepository;
+import depotlifecycle.services.AdviceExport;
 import depotlifecycle.services.AuthenticationProviderUserPassword;
-import io.micronaut.core.convert.ConversionService;
+import depotlifecycle.services.BinaryMediaTypeCodec;
+import depotlifecycle.services.BlockingExecutorFactory;
+import depotlifecycle.services.PartyResolver;
+import depotlifecycle.services.RedeliverySearch;
+import depotlifecycle.services.RedeliveryUnitIndex;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
-import io.micronaut.http.HttpResponseFactory;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Error;
 import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.annotation.Put;
 import io.micronaut.http.annotation.QueryValue;
 import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.utils.SecurityService;
 import io.micronaut.validation.Validated;
@@ -39,26 +47,38 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Tag(name = "redelivery")
 @Validated
 @Secured("isAuthenticated()")
+@ExecuteOn(BlockingExecutorFactory.NAME)
+@Consumes({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Produces({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Idempotent
 @Controller("/api/v2/redelivery")
 @RequiredArgsConstructor
 public class RedeliveryController {
     private static final Logger LOG = LoggerFactory.getLogger(RedeliveryController.class);
-    private final PartyRepository partyRepository;
+    private final AdviceExport adviceExport;
+    private final PartyResolver partyResolver;
     private final RedeliveryRepository redeliveryRepository;
-    private final ConversionService conversionService;
+    private final RedeliveryUnitIndex redeliveryUnitIndex;
+    private final RedeliverySearch redeliverySearch;
     private final SecurityService securityService;
 
-    @Get(produces = MediaType.APPLICATION_JSON)
+    @Get
     @Operation(summary = "search for a redelivery",
         description = "Finds Redeliveries for the given the criteria.",
         method = "GET",
@@ -69,19 +89,60 @@ public class RedeliveryController {
         @ApiResponse(responseCode = "200", description = "successful search", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = Redelivery.class)))}),
         @ApiResponse(responseCode = "400", description = "an error occurred", content = {@Content(schema = @Schema(implementation = ErrorResponse.class))}),
         @ApiResponse(responseCode = "403", description = "security disallows access"),
+        @ApiResponse(responseCode = "404", description = "no redeliveries were found"),
         @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
         @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
     })
-    public HttpResponse<HttpStatus> index(@QueryValue("redeliveryNumber") @Parameter(name = "redeliveryNumber", description = "the redelivery number to filter to", in = ParameterIn.QUERY, required = false, schema = @Schema(example = "AHAMG000000", maxLength = 16)) String redeliveryNumber,
-                                          @QueryValue("unitNumber") @Parameter(name = "unitNumber", description = "the unit number of the shipping container", in = ParameterIn.QUERY, required = false, schema = @Schema(example = "CONU1234561", pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", maxLength = 11)) String unitNumber) {
+    public HttpResponse<List<Redelivery>> index(@Nullable @QueryValue("redeliveryNumber") @Parameter(name = "redeliveryNumber", description = "the redelivery number to filter to", in = ParameterIn.QUERY, required = false, schema = @Schema(example = "AHAMG000000", maxLength = 16)) String redeliveryNumber,
+                                                @Nullable @QueryValue("unitNumber") @Parameter(name = "unitNumber", description = "the unit number of the shipping container", in = ParameterIn.QUERY, required = false, schema = @Schema(example = "CONU1234561", pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", maxLength = 11)) String unitNumber) {
         LOG.info("Received Redelivery Search");
-        Optional.of(redeliveryNumber).ifPresent(LOG::info);
-        Optional.of(unitNumber).ifPresent(LOG::info);
+        Optional.ofNullable(redeliveryNumber).ifPresent(LOG::info);
+        Optional.ofNullable(unitNumber).ifPresent(LOG::info);
 
-        return HttpResponseFactory.INSTANCE.status(HttpStatus.NOT_IMPLEMENTED);
+        List<Redelivery> redeliveries;
+        if (unitNumber != null) {
+            redeliveries = redeliverySearch.findByUnitNumber(unitNumber).stream()
+                .filter(redelivery -> redeliveryNumber == null || redeliveryNumber.equals(redelivery.getRedeliveryNumber()))
+                .collect(Collectors.toList());
+        }
+        else if (redeliveryNumber != null) {
+            redeliveries = redeliverySearch.findByRedeliveryNumber(redeliveryNumber).map(List::of).orElseGet(List::of);
+        }
+        else {
+            throw new IllegalArgumentException("Either a redeliveryNumber or unitNumber is required.");
+        }
+
+        if (redeliveries.isEmpty()) {
+            LOG.info("\tRedelivery Search - 404 - Not Found");
+            return HttpResponse.notFound();
+        }
+
+        LOG.info("\tRedelivery Search - 200 - Found Redeliveries");
+        return HttpResponse.ok(redeliveries);
     }
 
-    @Post(produces = MediaType.APPLICATION_JSON)
+    @Get(uri = "/export", produces = AdviceExport.NDJSON)
+    @Operation(summary = "export redeliverys",
+        description = "Streams every Redelivery, oldest first, as newline delimited JSON.  Rows are read from the database only as fast as the client consumes them.",
+        method = "GET",
+        operationId = "exportRedelivery",
+        extensions = @Extension(properties = {@ExtensionProperty(name = "iicl-purpose", value = "reporting", parseValue = true)})
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "successful export", content = {@Content(mediaType = AdviceExport.NDJSON, schema = @Schema(implementation = Redelivery.class))}),
+        @ApiResponse(responseCode = "403", description = "security disallows access"),
+        @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
+        @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
+    })
+    public Publisher<byte[]> export(@Nullable @QueryValue("depot") @Parameter(name = "depot", description = "the identifier of the depot", in = ParameterIn.QUERY, required = false, schema = @Schema(pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9)) String depot) {
+        LOG.info("Received Redelivery Export");
+        Optional.ofNullable(depot).ifPresent(LOG::info);
+
+        return adviceExport.export(AdviceExport.Type.REDELIVERY, depot);
+    }
+
+    @Post
+    @Transactional
     @Operation(summary = "create redelivery",
         description = "Creates a Redelivery for the given criteria.",
         method = "POST",
@@ -98,7 +159,6 @@ public class RedeliveryController {
     })
     public HttpResponse<HttpStatus> create(@Body @RequestBody(description = "Data to use to update the given Redelivery", required = true, content = {@Content(schema = @Schema(implementation = Redelivery.class))}) Redelivery redelivery, @Parameter(hidden = true) HttpHeaders headers) {
         LOG.info("Received Redelivery Create");
-        conversionService.convert(redelivery, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
         Optional.of(headers.names().stream().collect(LinkedHashMap::new, (m, v) -> m.put(v, headers.get(v)), HashMap::putAll).toString()).ifPresent(LOG::info);
 
         if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME) && redeliveryRepository.existsByRedeliveryNumber(redelivery.getRedeliveryNumber())) {
@@ -107,11 +167,13 @@ public class RedeliveryController {
 
         saveParties(redelivery);
 
-        redeliveryRepository.save(redelivery);
+        redelivery = redeliveryRepository.save(redelivery);
+        redeliveryUnitIndex.index(redelivery);
         return HttpResponse.ok();
     }
 
-    @Put(uri = "/{redeliveryNumber}", produces = MediaType.APPLICATION_JSON)
+    @Put(uri = "/{redeliveryNumber}")
+    @Transactional
     @Operation(summary = "update redelivery",
         description = "Updates an existing Redelivery.",
         method = "PUT",
@@ -129,7 +191,6 @@ public class RedeliveryController {
     public HttpResponse<HttpStatus> update(@Parameter(description = "the redelivery number that needs updated", required = true, in = ParameterIn.PATH, schema = @Schema(example = "AHAMG000000", maxLength = 16)) String redeliveryNumber,
                                            @Body @RequestBody(description = "Data to use to update the given Redelivery", required = true, content = {@Content(schema = @Schema(implementation = Redelivery.class))}) Redelivery redelivery, @Parameter(hidden = true) HttpHeaders headers) {
         LOG.info("Received Redelivery Update");
-        conversionService.convert(redelivery, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
         Optional.of(headers.names().stream().collect(LinkedHashMap::new, (m, v) -> m.put(v, headers.get(v)), HashMap::putAll).toString()).ifPresent(LOG::info);
 
         if (!redeliveryRepository.existsByRedeliveryNumber(redeliveryNumber)) {
@@ -143,37 +204,35 @@ public class RedeliveryController {
 
         saveParties(redelivery);
 
-        redeliveryRepository.update(redelivery);
+        redelivery = redeliveryRepository.update(redelivery);
+        redeliveryUnitIndex.index(redelivery);
         return HttpResponse.ok();
     }
 
     private void saveParties(Redelivery redelivery) {
+        List<Party> parties = new ArrayList<>(Arrays.asList(redelivery.getOwner(), redelivery.getDepot(), redelivery.getRecipient()));
         for (RedeliveryDetail detail : redelivery.getDetails()) {
-            if (detail.getCustomer() != null) {
-                detail.setCustomer(partyRepository.save(detail.getCustomer()));
-            }
+            parties.add(detail.getCustomer());
 
             for (RedeliveryUnit unit : detail.getUnits()) {
-                if (unit.getLastOnHireLocation() != null) {
-                    unit.setLastOnHireLocation(partyRepository.save(unit.getLastOnHireLocation()));
-                }
-                if (unit.getBillingParty() != null) {
-                    unit.setBillingParty(partyRepository.save(unit.getBillingParty()));
-                }
+                parties.add(unit.getLastOnHireLocation());
+                parties.add(unit.getBillingParty());
             }
         }
+        partyResolver.resolveAll(parties);
 
-        if (redelivery.getOwner() != null) {
-            redelivery.setOwner(partyRepository.save(redelivery.getOwner()));
-        }
+        for (RedeliveryDetail detail : redelivery.getDetails()) {
+            detail.setCustomer(partyResolver.resolve(detail.getCustomer()));
 
-        if (redelivery.getDepot() != null) {
-            redelivery.setDepot(partyRepository.save(redelivery.getDepot()));
+            for (RedeliveryUnit unit : detail.getUnits()) {
+                unit.setLastOnHireLocation(partyResolver.resolve(unit.getLastOnHireLocation()));
+                unit.setBillingParty(partyResolver.resolve(unit.getBillingParty()));
+            }
         }
 
-        if (redelivery.getRecipient() != null) {
-            redelivery.setRecipient(partyRepository.save(redelivery.getRecipient()));
-        }
+        redelivery.setOwner(partyResolver.resolve(redelivery.getOwner()));
+        redelivery.setDepot(partyResolver.resolve(redelivery.getDepot()));
+        redelivery.setRecipient(partyResolver.resolve(redelivery.getRecipient()));
     }
 
     @Error(status = HttpStatus.NOT_FOUND)
@@ -1,27 +1,39 @@
 package depotlifecycle.controllers;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import depotlifecycle.ErrorResponse;
 import depotlifecycle.domain.Release;
 import depotlifecycle.domain.ReleaseDetail;
 import depotlifecycle.domain.ReleaseDetailCriteria;
-import depotlifecycle.repositories.PartyRepository;
+import depotlifecycle.domain.Party;
+import depotlifecycle.filters.Idempotent;
 import depotlifecycle.repositories.ReleaseRepository;
+import depotlifecycle.services.AdviceExport;
 import depotlifecycle.services.AuthenticationProviderUserPassword;
-import io.micronaut.core.convert.ConversionService;
+import depotlifecycle.services.BinaryMediaTypeCodec;
+import depotlifecycle.services.BlockingExecutorFactory;
+import depotlifecycle.services.PartyResolver;
+import depotlifecycle.services.ReleaseSearch;
+import depotlifecycle.services.SearchPage;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.convert.format.Format;
 import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Error;
 import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.annotation.Put;
 import io.micronaut.http.annotation.QueryValue;
 import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.http.uri.UriBuilder;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.utils.SecurityService;
 import io.micronaut.validation.Validated;
@@ -38,10 +50,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -51,18 +66,23 @@ import java.util.Optional;
 @Tag(name = "release")
 @Validated
 @Secured("isAuthenticated()")
+@ExecuteOn(BlockingExecutorFactory.NAME)
+@Consumes({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Produces({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Idempotent
 @Controller("/api/v2/release")
 @RequiredArgsConstructor
 public class ReleaseController {
     private static final Logger LOG = LoggerFactory.getLogger(ReleaseController.class);
-    private final PartyRepository partyRepository;
+    private final AdviceExport adviceExport;
+    private final PartyResolver partyResolver;
     private final ReleaseRepository releaseRepository;
-    private final ConversionService<?> conversionService;
+    private final ReleaseSearch releaseSearch;
     private final SecurityService securityService;
 
-    @Get(produces = MediaType.APPLICATION_JSON)
+    @Get
     @Operation(summary = "search for a release",
-        description = "Finds Releases for the given the criteria.",
+        description = "Finds Releases for the given the criteria.  Without a release number the results are paged, most recent first; when more exist the response carries a `Link` header with `rel=\"next\"` to fetch the following page.",
         method = "GET",
         operationId = "indexRelease",
         extensions = @Extension(properties = { @ExtensionProperty(name = "iicl-purpose", value = "reporting", parseValue = true) })
@@ -74,21 +94,30 @@ public class ReleaseController {
         @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
         @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
     })
-    public HttpResponse index(@QueryValue("releaseNumber") @Parameter(name = "releaseNumber", description = "the release number to filter to", in = ParameterIn.QUERY, required = false, schema = @Schema(example = "RHAMG000000", maxLength = 16)) String releaseNumber,
-                              @QueryValue("includeCandidates") @Parameter(name = "includeCandidates", description = "whether to include candidate units for any found release", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "boolean", example = "false")) Boolean includeCandidates
+    public HttpResponse index(HttpRequest<?> request,
+                              @Nullable @QueryValue("releaseNumber") @Parameter(name = "releaseNumber", description = "the release number to filter to", in = ParameterIn.QUERY, required = false, schema = @Schema(example = "RHAMG000000", maxLength = 16)) String releaseNumber,
+                              @Nullable @QueryValue("includeCandidates") @Parameter(name = "includeCandidates", description = "whether to include candidate units for any found release", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "boolean", example = "false")) Boolean includeCandidates,
+                              @Nullable @QueryValue("depot") @Parameter(name = "depot", description = "the identifier of the depot", in = ParameterIn.QUERY, required = false, schema = @Schema(pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9)) String depot,
+                              @Nullable @QueryValue("status") @Parameter(name = "status", description = "the release status to filter to", in = ParameterIn.QUERY, required = false, schema = @Schema(allowableValues = {"PENDING", "APPROVED", "COMPLETE", "EXPIRED", "CANCELLED"}, example = "APPROVED", maxLength = 9)) String status,
+                              @Nullable @QueryValue("type") @Parameter(name = "type", description = "the release type to filter to", in = ParameterIn.QUERY, required = false, schema = @Schema(allowableValues = {"SALE", "BOOK", "REPO"}, example = "BOOK", maxLength = 4)) String type,
+                              @Nullable @Format("yyyy-MM-dd'T'HH:mm:ssXXX") @QueryValue("expiresAfter") @Parameter(name = "expiresAfter", description = "only releases expiring at or after this time", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", format = "date-time")) ZonedDateTime expiresAfter,
+                              @Nullable @Format("yyyy-MM-dd'T'HH:mm:ssXXX") @QueryValue("expiresBefore") @Parameter(name = "expiresBefore", description = "only releases expiring before this time", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", format = "date-time")) ZonedDateTime expiresBefore,
+                              @Nullable @QueryValue("limit") @Parameter(name = "limit", description = "the maximum number of releases to return", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "integer", format = "int32", defaultValue = "20", minimum = "1", maximum = "100")) Integer limit,
+                              @Nullable @QueryValue("cursor") @Parameter(name = "cursor", description = "the position to continue a search from, as given by the `Link` header of the previous page", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "integer", format = "int64")) Long cursor
                               ) {
         LOG.info("Received Release Search");
-        Optional.of(releaseNumber).ifPresent(LOG::info);
+        Optional.ofNullable(releaseNumber).ifPresent(LOG::info);
 
         List<Release> releases = new ArrayList<>();
+        Long nextCursor = null;
         if (releaseNumber != null) {
-            Optional<Release> release = releaseRepository.findByReleaseNumber(releaseNumber);
+            Optional<Release> release = releaseSearch.findByReleaseNumber(releaseNumber);
             release.ifPresent(releases::add);
         }
         else {
-            for (Release release : releaseRepository.findAll()) {
-                releases.add(release);
-            }
+            SearchPage<Release> page = releaseSearch.search(depot, status, type, expiresAfter, expiresBefore, limit, cursor);
+            releases.addAll(page.getItems());
+            nextCursor = page.getNextCursor();
         }
 
         if (releases.isEmpty()) {
@@ -97,11 +126,36 @@ public class ReleaseController {
         }
         else {
             LOG.info("\tRelease Search - 200 - Found Releases");
-            return HttpResponse.ok(releases);
+            MutableHttpResponse<List<Release>> response = HttpResponse.ok(releases);
+            if (nextCursor != null) {
+                String next = UriBuilder.of(request.getUri()).replaceQueryParam("cursor", nextCursor).build().toString();
+                response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            }
+            return response;
         }
     }
 
-    @Post(produces = MediaType.APPLICATION_JSON)
+    @Get(uri = "/export", produces = AdviceExport.NDJSON)
+    @Operation(summary = "export releases",
+        description = "Streams every Release, oldest first, as newline delimited JSON.  Rows are read from the database only as fast as the client consumes them.",
+        method = "GET",
+        operationId = "exportRelease",
+        extensions = @Extension(properties = {@ExtensionProperty(name = "iicl-purpose", value = "reporting", parseValue = true)})
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "successful export", content = {@Content(mediaType = AdviceExport.NDJSON, schema = @Schema(implementation = Release.class))}),
+        @ApiResponse(responseCode = "403", description = "security disallows access"),
+        @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
+        @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
+    })
+    public Publisher<byte[]> export(@Nullable @QueryValue("depot") @Parameter(name = "depot", description = "the identifier of the depot", in = ParameterIn.QUERY, required = false, schema = @Schema(pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9)) String depot) {
+        LOG.info("Received Release Export");
+        Optional.ofNullable(depot).ifPresent(LOG::info);
+
+        return adviceExport.export(AdviceExport.Type.RELEASE, depot);
+    }
+
+    @Post
     @Operation(summary = "create release",
         description = "Creates a Release for the given criteria.",
         method = "POST",
@@ -118,7 +172,6 @@ public class ReleaseController {
     })
     public HttpResponse<HttpStatus> create(@Body @RequestBody(description = "Data to use to update the given Release", required = true, content = {@Content(schema = @Schema(implementation = Release.class))}) Release release, @Parameter(hidden = true) HttpHeaders headers) {
         LOG.info("Received Release Create");
-        conversionService.convert(release, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
         Optional.of(headers.names().stream().collect(LinkedHashMap::new, (m, v)->m.put(v, headers.get(v)), HashMap::putAll).toString()).ifPresent(LOG::info);
 
         if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME) && releaseRepository.existsByReleaseNumber(release.getReleaseNumber())) {
@@ -132,10 +185,14 @@ public class ReleaseController {
     }
 
     private void saveParties(Release release) {
+        List<Party> parties = new ArrayList<>(Arrays.asList(release.getOwner(), release.getDepot(), release.getRecipient()));
         for (ReleaseDetail detail : release.getDetails()) {
-            if (detail.getCustomer() != null) {
-                detail.setCustomer(partyRepository.save(detail.getCustomer()));
-            }
+            parties.add(detail.getCustomer());
+        }
+        partyResolver.resolveAll(parties);
+
+        for (ReleaseDetail detail : release.getDetails()) {
+            detail.setCustomer(partyResolver.resolve(detail.getCustomer()));
 
             if(!Objects.isNull(detail.getCriteria())) {
                 for (ReleaseDetailCriteria criteria : detail.getCriteria()) {
@@ -144,20 +201,12 @@ public class ReleaseController {
             }
         }
 
-        if (release.getOwner() != null) {
-            release.setOwner(partyRepository.save(release.getOwner()));
-        }
-
-        if (release.getDepot() != null) {
-            release.setDepot(partyRepository.save(release.getDepot()));
-        }
-
-        if (release.getRecipient() != null) {
-            release.setRecipient(partyRepository.save(release.getRecipient()));
-        }
+        release.setOwner(partyResolver.resolve(release.getOwner()));
+        release.setDepot(partyResolver.resolve(release.getDepot()));
+        release.setRecipient(partyResolver.resolve(release.getRecipient()));
     }
 
-    @Put(uri = "/{releaseNumber}", produces = MediaType.APPLICATION_JSON)
+    @Put(uri = "/{releaseNumber}")
     @Operation(summary = "update release",
         description = "Updates an existing Release.",
         method = "PUT",
@@ -174,7 +223,6 @@ public class ReleaseController {
     public HttpResponse<HttpStatus> update(@Parameter(description = "name that need to be updated", required = true, in = ParameterIn.PATH, schema = @Schema(example = "RHAMG000000", maxLength = 16)) String releaseNumber,
                        @Body @RequestBody(description = "Data to use to update the given Release", required = true, content = {@Content(schema = @Schema(implementation = Release.class))}) Release release, @Parameter(hidden = true) HttpHeaders headers) {
         LOG.info("Received Release Update");
-        conversionService.convert(release, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
         Optional.of(headers.names().stream().collect(LinkedHashMap::new, (m, v)->m.put(v, headers.get(v)), HashMap::putAll).toString()).ifPresent(LOG::info);
 
         if(!releaseRepository.existsByReleaseNumber(releaseNumber)) {
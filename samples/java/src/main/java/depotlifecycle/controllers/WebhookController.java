@@ -0,0 +1,177 @@
+package depotlifecycle.controllers;
+
+import depotlifecycle.ErrorResponse;
+import depotlifecycle.domain.Party;
+import depotlifecycle.domain.WebhookDeadLetter;
+import depotlifecycle.domain.WebhookSubscription;
+import depotlifecycle.filters.Idempotent;
+import depotlifecycle.repositories.WebhookDeadLetterRepository;
+import depotlifecycle.repositories.WebhookSubscriptionRepository;
+import depotlifecycle.services.BinaryMediaTypeCodec;
+import depotlifecycle.services.BlockingExecutorFactory;
+import depotlifecycle.services.PartyCache;
+import depotlifecycle.services.WebhookDispatcher;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Delete;
+import io.micronaut.http.annotation.Error;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import io.micronaut.security.annotation.Secured;
+import io.micronaut.security.utils.SecurityService;
+import io.micronaut.validation.Validated;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+
+@Tag(name = "webhook")
+@Validated
+@Secured("isAuthenticated()")
+@ExecuteOn(BlockingExecutorFactory.NAME)
+@Consumes({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Produces({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Idempotent
+@Controller("/api/v2/webhook")
+@RequiredArgsConstructor
+public class WebhookController {
+    private static final Logger LOG = LoggerFactory.getLogger(WebhookController.class);
+    private final PartyCache partyCache;
+    private final WebhookDispatcher webhookDispatcher;
+    private final WebhookSubscriptionRepository webhookSubscriptionRepository;
+    private final WebhookDeadLetterRepository webhookDeadLetterRepository;
+    private final SecurityService securityService;
+
+    @Post
+    @Operation(summary = "subscribe to lifecycle events", description = "Registers a url that is sent the gate, estimate and repair activity of the given party, in batches, as it happens.  Failed deliveries are retried with exponential backoff before being dead-lettered.", method = "POST", operationId = "saveWebhook")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "successfully registered the subscription", content = {@Content(schema = @Schema(implementation = WebhookSubscription.class))}),
+        @ApiResponse(responseCode = "400", description = "an error occurred trying to register the subscription", content = {@Content(schema = @Schema(implementation = ErrorResponse.class))}),
+        @ApiResponse(responseCode = "403", description = "subscribing is disallowed by security, or the party is not the caller's"),
+    })
+    public HttpResponse<WebhookSubscription> create(@Body @RequestBody(description = "the party and url to send events to", required = true, content = {@Content(schema = @Schema(implementation = WebhookSubscription.class))}) WebhookSubscription subscription) {
+        LOG.info("Received Webhook Subscription for {}", subscription.getCompanyId());
+
+        Optional<Party> party = subscription.getCompanyId() == null ? Optional.empty() : partyCache.findByCompanyId(subscription.getCompanyId());
+        if (party.isEmpty()) {
+            throw new IllegalArgumentException("Party " + subscription.getCompanyId() + " was not found.");
+        }
+        if (!isCaller(party.get())) {
+            LOG.info("\tError - 403 - {} may not subscribe to {}", securityService.username().orElse(null), subscription.getCompanyId());
+            return HttpResponse.status(HttpStatus.FORBIDDEN);
+        }
+
+        URI url = subscription.getUrl() == null ? null : URI.create(subscription.getUrl());
+        if (url == null || !url.isAbsolute() || !("http".equalsIgnoreCase(url.getScheme()) || "https".equalsIgnoreCase(url.getScheme()))) {
+            throw new IllegalArgumentException("Webhook url must be an absolute http or https url.");
+        }
+        webhookDispatcher.checkTarget(url);
+
+        subscription.setId(null);
+        return HttpResponse.ok(webhookDispatcher.subscribe(subscription));
+    }
+
+    @Get
+    @Operation(summary = "list subscriptions", description = "Returns the webhook subscriptions registered for a party.", method = "GET", operationId = "indexWebhook")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "the subscriptions for the party", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = WebhookSubscription.class)))}),
+        @ApiResponse(responseCode = "403", description = "listing subscriptions is disallowed by security, or the party is not the caller's"),
+    })
+    public HttpResponse<List<WebhookSubscription>> index(@QueryValue("companyId") @Parameter(name = "companyId", description = "the party the subscriptions are for", in = ParameterIn.QUERY, required = true, schema = @Schema(pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9)) String companyId) {
+        if (!isCaller(companyId)) {
+            return HttpResponse.status(HttpStatus.FORBIDDEN);
+        }
+
+        return HttpResponse.ok(webhookSubscriptionRepository.findByCompanyId(companyId));
+    }
+
+    @Delete(uri = "/{id}")
+    @Operation(summary = "unsubscribe", description = "Stops sending events to a subscription; events still queued for it are discarded.", method = "DELETE", operationId = "deleteWebhook")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "successfully removed the subscription"),
+        @ApiResponse(responseCode = "403", description = "unsubscribing is disallowed by security, or the subscription is not the caller's"),
+        @ApiResponse(responseCode = "404", description = "the subscription could not be found"),
+    })
+    public HttpResponse<HttpStatus> delete(@Parameter(name = "id", description = "the identifier of the subscription", in = ParameterIn.PATH, required = true, schema = @Schema(type = "integer", format = "int64")) Long id) {
+        Optional<WebhookSubscription> subscription = webhookSubscriptionRepository.findById(id);
+        if (subscription.isEmpty()) {
+            return HttpResponse.notFound();
+        }
+        if (!isCaller(subscription.get().getCompanyId())) {
+            return HttpResponse.status(HttpStatus.FORBIDDEN);
+        }
+
+        webhookDispatcher.unsubscribe(subscription.get());
+        return HttpResponse.ok();
+    }
+
+    @Get(uri = "/{id}/deadLetter")
+    @Operation(summary = "list undelivered events", description = "Returns the events a subscription never accepted, with the last error and how many attempts were made.", method = "GET", operationId = "indexWebhookDeadLetter")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "the dead-lettered events for the subscription", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = WebhookDeadLetter.class)))}),
+        @ApiResponse(responseCode = "403", description = "listing dead-lettered events is disallowed by security, or the subscription is not the caller's"),
+        @ApiResponse(responseCode = "404", description = "the subscription could not be found"),
+    })
+    public HttpResponse<List<WebhookDeadLetter>> deadLetters(@Parameter(name = "id", description = "the identifier of the subscription", in = ParameterIn.PATH, required = true, schema = @Schema(type = "integer", format = "int64")) Long id) {
+        Optional<WebhookSubscription> subscription = webhookSubscriptionRepository.findById(id);
+        if (subscription.isEmpty()) {
+            return HttpResponse.notFound();
+        }
+        //dead letters hold the events themselves, so they are the party's as much as the subscription is
+        if (!isCaller(subscription.get().getCompanyId())) {
+            return HttpResponse.status(HttpStatus.FORBIDDEN);
+        }
+
+        return HttpResponse.ok(webhookDeadLetterRepository.findBySubscriptionId(id));
+    }
+
+    private boolean isCaller(String companyId) {
+        return partyCache.findByCompanyId(companyId).map(this::isCaller).orElse(false);
+    }
+
+    //events carry the party's gates, estimates and repairs, so only the user the party belongs to may send them anywhere
+    private boolean isCaller(Party party) {
+        return party.getUserCode() != null && securityService.username().filter(party.getUserCode()::equalsIgnoreCase).isPresent();
+    }
+
+    @Error(status = HttpStatus.NOT_FOUND)
+    public HttpResponse<JsonError> notFound(HttpRequest request) {
+        LOG.info("\tError - 404 - Not Found");
+        JsonError error = new JsonError("Not Found");
+
+        return HttpResponse.<JsonError>notFound()
+            .body(error);
+    }
+
+    @Error
+    public HttpResponse<ErrorResponse> onSavedFailed(HttpRequest request, Throwable ex) {
+        LOG.info("\tError - 400 - Bad Request", ex);
+        ErrorResponse error = new ErrorResponse();
+        error.setCode("ERR000");
+        error.setMessage(ex.getMessage());
+
+        return HttpResponse.<ErrorResponse>badRequest().body(error);
+    }
+}
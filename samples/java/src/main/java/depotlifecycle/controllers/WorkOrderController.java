@@ -1,22 +1,26 @@
 package depotlifecycle.controllers;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import depotlifecycle.ErrorResponse;
 import depotlifecycle.domain.WorkOrder;
-import depotlifecycle.repositories.PartyRepository;
+import depotlifecycle.filters.Idempotent;
 import depotlifecycle.repositories.WorkOrderRepository;
 import depotlifecycle.services.AuthenticationProviderUserPassword;
-import io.micronaut.core.convert.ConversionService;
+import depotlifecycle.services.BinaryMediaTypeCodec;
+import depotlifecycle.services.BlockingExecutorFactory;
+import depotlifecycle.services.PartyResolver;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Error;
 import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.annotation.Put;
 import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.utils.SecurityService;
 import io.micronaut.validation.Validated;
@@ -35,19 +39,24 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+
 @Tag(name = "workOrder")
 @Validated
 @Secured("isAuthenticated()")
+@ExecuteOn(BlockingExecutorFactory.NAME)
+@Consumes({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Produces({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Idempotent
 @Controller("/api/v2/workOrder")
 @RequiredArgsConstructor
 public class WorkOrderController {
     private static final Logger LOG = LoggerFactory.getLogger(WorkOrderController.class);
-    private final PartyRepository partyRepository;
+    private final PartyResolver partyResolver;
     private final WorkOrderRepository workOrderRepository;
-    private final ConversionService<?> conversionService;
     private final SecurityService securityService;
 
-    @Post(produces = MediaType.APPLICATION_JSON)
+    @Post
     @Operation(summary = "authorizes a repair",
         description = "Submits a work order to repair a shipping container to the given inspection criteria.",
         method = "POST",
@@ -64,7 +73,6 @@ public class WorkOrderController {
     })
     public HttpResponse<HttpStatus> create(@Body @RequestBody(description = "repair authorization object", required = true, content = {@Content(schema = @Schema(implementation = WorkOrder.class))}) WorkOrder workOrder) {
         LOG.info("Received Work Order Create");
-        conversionService.convert(workOrder, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
 
         if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME) && workOrderRepository.existsByWorkOrderNumber(workOrder.getWorkOrderNumber())) {
             throw new IllegalArgumentException("Work Order already exists; please update instead.");
@@ -78,20 +86,14 @@ public class WorkOrderController {
     }
 
     private void saveParties(WorkOrder workOrder) {
-        if (workOrder.getDepot() != null) {
-            workOrder.setDepot(partyRepository.save(workOrder.getDepot()));
-        }
+        partyResolver.resolveAll(Arrays.asList(workOrder.getDepot(), workOrder.getOwner(), workOrder.getBillingParty()));
 
-        if (workOrder.getOwner() != null) {
-            workOrder.setOwner(partyRepository.save(workOrder.getOwner()));
-        }
-
-        if (workOrder.getBillingParty() != null) {
-            workOrder.setBillingParty(partyRepository.save(workOrder.getBillingParty()));
-        }
+        workOrder.setDepot(partyResolver.resolve(workOrder.getDepot()));
+        workOrder.setOwner(partyResolver.resolve(workOrder.getOwner()));
+        workOrder.setBillingParty(partyResolver.resolve(workOrder.getBillingParty()));
     }
 
-    @Put(uri = "/{workOrderNumber}", produces = MediaType.APPLICATION_JSON)
+    @Put(uri = "/{workOrderNumber}")
     @Operation(summary = "updates a repair work order", description = "Submits updates to the given work order.", method = "PUT", operationId = "updateWorkOrder")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "successfully update the workOrder", content = {@Content(schema = @Schema(implementation = WorkOrder.class))}),
@@ -104,7 +106,6 @@ public class WorkOrderController {
     public HttpResponse<HttpStatus> update(@Parameter(name = "workOrderNumber", description = "the work order number", in = ParameterIn.PATH, required = true, schema = @Schema(example = "WHAMG30001", maxLength = 16)) String workOrderNumber,
                                            @Body @RequestBody(description = "the updated work order record", required = true, content = {@Content(schema = @Schema(implementation = WorkOrder.class))}) WorkOrder workOrder) {
         LOG.info("Received Work Order Update");
-        conversionService.convert(workOrder, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
 
         if(!workOrderRepository.existsByWorkOrderNumber(workOrderNumber)) {
             if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME)) {
@@ -1,20 +1,26 @@
 package depotlifecycle.controllers;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import depotlifecycle.ErrorResponse;
 import depotlifecycle.domain.RepairComplete;
 import depotlifecycle.domain.WorkOrder;
 import depotlifecycle.domain.WorkOrderUnit;
+import depotlifecycle.events.LifecycleEvent;
+import depotlifecycle.filters.Idempotent;
 import depotlifecycle.repositories.WorkOrderRepository;
 import depotlifecycle.repositories.WorkOrderUnitRepository;
 import depotlifecycle.services.AuthenticationProviderUserPassword;
-import io.micronaut.core.convert.ConversionService;
+import depotlifecycle.services.BinaryMediaTypeCodec;
+import depotlifecycle.services.BlockingExecutorFactory;
+import io.micronaut.context.event.ApplicationEventPublisher;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.annotation.Put;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.utils.SecurityService;
 import io.micronaut.validation.Validated;
@@ -38,16 +44,20 @@ import java.util.Optional;
 @Tag(name = "workOrder")
 @Validated
 @Secured("isAuthenticated()")
+@ExecuteOn(BlockingExecutorFactory.NAME)
+@Consumes({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Produces({MediaType.APPLICATION_JSON, BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@Idempotent
 @Controller("/api/v2/workOrderUnit")
 @RequiredArgsConstructor
 public class WorkOrderUnitController {
     private static final Logger LOG = LoggerFactory.getLogger(WorkOrderController.class);
     private final WorkOrderRepository workOrderRepository;
     private final WorkOrderUnitRepository workOrderUnitRepository;
-    private final ConversionService<?> conversionService;
     private final SecurityService securityService;
+    private final ApplicationEventPublisher<LifecycleEvent> lifecycleEventPublisher;
 
-    @Put(uri = "/{workOrderNumber}", produces = MediaType.APPLICATION_JSON)
+    @Put(uri = "/{workOrderNumber}")
     @Operation(summary = "marks a shipping container repaired",
         description = "For the given work order, attempt to mark it repair complete.",
         method = "PUT",
@@ -65,7 +75,6 @@ public class WorkOrderUnitController {
     public HttpResponse<HttpStatus> update(@Parameter(name = "workOrderNumber", description = "the work order number", in = ParameterIn.PATH, required = true, schema = @Schema(example = "WHAMG30001", maxLength = 16)) String workOrderNumber,
                                            @Body @RequestBody(description = "Necessary information to mark a shipping container repair complete", required = true, content = {@Content(schema = @Schema(implementation = RepairComplete.class))}) RepairComplete repairComplete) {
         LOG.info("Received Work Order Repair Complete for {}:", workOrderNumber);
-        conversionService.convert(repairComplete, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
 
         Optional<WorkOrder> workOrder = workOrderRepository.findByWorkOrderNumber(workOrderNumber);
 
@@ -91,7 +100,10 @@ public class WorkOrderUnitController {
 
         if(unit.isPresent()) {
             unit.get().setStatus("REPAIRED");
-            workOrderUnitRepository.save(unit.get());
+            workOrderUnitRepository.update(unit.get());
+
+            WorkOrder order = workOrder.get();
+            lifecycleEventPublisher.publishEvent(new LifecycleEvent(LifecycleEvent.REPAIR_COMPLETED, order.getDepot().getCompanyId(), order.getOwner() != null ? order.getOwner().getCompanyId() : null, repairComplete));
         }
 
 
@@ -0,0 +1,47 @@
+package depotlifecycle.domain;
+
+import io.micronaut.core.annotation.Introspected;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import java.time.ZonedDateTime;
+
+//the latest gate record per unit, maintained alongside the gate create/update/delete requests
+@Data
+@NoArgsConstructor
+@Entity
+@Table
+@EqualsAndHashCode(of = {"unitNumber"})
+@ToString(of = {"unitNumber"})
+@Introspected
+public class CurrentGateStatus {
+    @Id
+    @Column(length = 11)
+    String unitNumber;
+
+    @Column(nullable = false, length = 16)
+    String adviceNumber;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    Party depot;
+
+    @Column(nullable = false, length = 1)
+    String status;
+
+    @Column(nullable = false)
+    ZonedDateTime activityTime;
+
+    @Column(nullable = false, length = 3)
+    String type;
+
+    @Column(length = 10)
+    String currentInspectionCriteria;
+}
@@ -66,20 +66,20 @@ public class Estimate {
     String comments;
 
     @Schema(description = "the party submitting this estimate", required = false)
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     Party requester;
 
     @Schema(description = "the location of this estimate", required = true)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "depot_id", nullable = false)
     Party depot;
 
     @Schema(description = "the shipping container's owner", required = false)
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     Party owner;
 
     @Schema(description = "the lessee of the shipping container to whom customer line items should apply.", required = false)
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     Party customer;
 
     @Schema(description = "the currency of amounts entered on this estimate", required = true, example = "EUR", pattern = "^[A-Z]{3}$", maxLength = 3)
@@ -95,7 +95,7 @@ public class Estimate {
     BigDecimal exchangeRate;
 
     @Schema(description = "lessee approval information for this estimate", required = false)
-    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
     EstimateCustomerApproval customerApproval;
 
     @Schema(defaultValue = "R", description = "delineates the type of estimate; whether it was the initial, primary estimate or an ancillary / secondary repair after the initial decision\n\n`R` - Primary (Unknown Estimation Standard)\n\n`RI` - Primary (IICL)\n\n`RC` - Primary (CWCA)\n\n`SC` - Secondary (CWCA)\n\n`SU` - Secondary Upgrade\n\n`AS` - Sell Upgrade\n\n`AU` - Ancillary Upgrade\n\n`AR` - Ancillary Repair", allowableValues = {"R", "RI", "RC", "RC", "SC", "SU", "AS", "AU", "AR"}, required = false, maxLength = 2)
@@ -111,7 +111,7 @@ public class Estimate {
     Integer revision;
 
     @Schema(description = "detailed damage descriptions that when combined represent the damages being repaired by this estimate", required = false, minimum = "0")
-    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
     List<EstimateLineItem> lineItems = new ArrayList<>();
 
     @Schema(description = "An optional photo list for the shipping container damages.", required = false)
@@ -119,7 +119,7 @@ public class Estimate {
     List<EstimatePhoto> photos = new ArrayList<>();
 
     // https://github.com/swagger-api/swagger-ui/issues/5418 prevents the read only access from correctly working so explicitly mention this in the description
-    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
     @Schema(description = "the amount break downs by party for this estimate; typically only defined for a response and not included in requests", accessMode = Schema.AccessMode.READ_ONLY)
     EstimateAllocation allocation;
 
@@ -46,7 +46,7 @@ public class EstimateAllocation {
     Integer revision;
 
     @Schema(description = "the location of the estimate", required = true)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "depot_id", nullable = false)
     Party depot;
 
@@ -75,6 +75,6 @@ public class EstimateAllocation {
     String comments;
 
     @Schema(required = false, type = "object", description = "when possible, this is set to an expected sell/fix decision to indicate the likely estimate owner approval action")
-    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
     PreliminaryDecision preliminaryDecision;
 }
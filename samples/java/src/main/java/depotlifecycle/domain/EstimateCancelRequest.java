@@ -35,7 +35,7 @@ public class EstimateCancelRequest {
     @Column(nullable = false, length = 16)
     String estimateNumber;
 
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "depot_id", nullable = false)
     Party depot;
 }
@@ -34,6 +34,9 @@ import java.util.Objects;
 @ToString(of = {"id"})
 @Introspected
 public class EstimateLineItem {
+    //For demo purposes assume 2 digit currency precision
+    public static final int CURRENCY_PRECISION = 2;
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     @JsonIgnore
@@ -108,7 +111,7 @@ public class EstimateLineItem {
     Integer quantity;
 
     @Schema(description = "An optional, detailed part list used to repair this line item", required = false)
-    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
     List<EstimateLineItemPart> parts = new ArrayList<>();
 
     @Schema(description = "An optional photo list showing the damage of this line item", required = false)
@@ -121,16 +124,22 @@ public class EstimateLineItem {
             return null;
         }
 
-        //For demo purposes assume 2 digit currency precision
-        int currencyPrecision = 2;
+        BigDecimal roundedMaterial = materialCost.setScale(CURRENCY_PRECISION, RoundingMode.HALF_EVEN);
+
+        //Assume no taxes for demo purposes.
+        return getLaborCost().add(roundedMaterial);
+    }
 
-        BigDecimal roundedHours = hours.setScale(currencyPrecision, RoundingMode.HALF_EVEN);
-        BigDecimal roundedRate = laborRate.setScale(currencyPrecision, RoundingMode.HALF_EVEN);
-        BigDecimal roundedMaterial = materialCost.setScale(currencyPrecision, RoundingMode.HALF_EVEN);
+    //the labor part of getTotal, rounded the same way
+    @JsonIgnore
+    public BigDecimal getLaborCost() {
+        if(Objects.isNull(hours) || Objects.isNull(laborRate)) {
+            return null;
+        }
 
-        BigDecimal roundedLaborCost = roundedRate.multiply(roundedHours).setScale(currencyPrecision, RoundingMode.HALF_EVEN);
+        BigDecimal roundedHours = hours.setScale(CURRENCY_PRECISION, RoundingMode.HALF_EVEN);
+        BigDecimal roundedRate = laborRate.setScale(CURRENCY_PRECISION, RoundingMode.HALF_EVEN);
 
-        //Assume no taxes for demo purposes.
-        return roundedLaborCost.add(roundedMaterial);
+        return roundedRate.multiply(roundedHours).setScale(CURRENCY_PRECISION, RoundingMode.HALF_EVEN);
     }
 }
@@ -9,6 +9,8 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
@@ -20,6 +22,11 @@ import javax.persistence.Id;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -34,35 +41,52 @@ import java.util.List;
 @ToString(of = {"id"})
 @Introspected
 public class GateCreateRequest {
+    //ids are reserved 50 at a time so bulk gate inserts are not interleaved with a sequence call per row
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "gate_create_request_seq")
+    @GenericGenerator(name = "gate_create_request_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+        @Parameter(name = "sequence_name", value = "gate_create_request_seq"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     @JsonIgnore
     Long id;
 
     @Schema(required = true, description = "the redelivery or release advice number for the gate record", example = "AHAMG000000", maxLength = 16)
     @Column(nullable = false, length = 16)
+    @NotBlank
+    @Size(max = 16)
     String adviceNumber;
 
     @Schema(required = true, description = "the storage location for the given advice number")
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @NotNull
+    @Valid
     Party depot;
 
     @Schema(description = "the unit number of the shipping container", pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", required = true, example = "CONU1234561", maxLength = 11)
     @Column(nullable = false, length = 11)
+    @NotNull
+    @Pattern(regexp = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$")
     String unitNumber;
 
     @Schema(required = true, allowableValues = {"A", "D", "S"}, example = "D", maxLength = 1, description = "an indicator of the shipping container's status\n\n`A` - Non-damaged\n\n`D` - Damaged\n\n`S` - Sold")
     @Column(nullable = false, length = 1)
+    @NotNull
+    @Pattern(regexp = "^[ADS]$")
     String status;
 
     //Issue #124 micronaut-openapi - example is represented wrong, so example is not listed here. example = "2019-04-10T19:37:04Z"
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ssXXX", timezone = "Z")
     @Schema(description = "the date and time of the gate activity in local time; i.e. `2019-04-10T19:37:04Z` \n\n( notation as defined by [RFC 3339, section 5.6](https://tools.ietf.org/html/rfc3339#section-5.6) )", type = "string", format = "date-time", required = true)
     @Column(nullable = false)
+    @NotNull
     ZonedDateTime activityTime;
 
     @Schema(description = "gate type indicator\n\n`IN` - Gate In\n\n`OUT` - Gate Out", maxLength = 3, example = "IN", allowableValues = {"IN", "OUT"})
     @Column(nullable = false, length = 3)
+    @NotNull
+    @Pattern(regexp = "^(IN|OUT)$")
     String type;
 
     @Schema(description = "An optional photo list of the shipping container at gate creation", required = false)
@@ -36,7 +36,7 @@ public class GateDeleteRequest {
     String adviceNumber;
 
     @JsonIgnore
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party depot;
 
     @JsonIgnore
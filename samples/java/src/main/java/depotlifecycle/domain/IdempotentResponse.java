@@ -0,0 +1,50 @@
+package depotlifecycle.domain;
+
+import io.micronaut.core.annotation.Introspected;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import java.time.Instant;
+
+//the response first sent for an idempotency key, replayed as-is when the same request is retried; a row without a status is
+//a claim on the key by a request that is still running
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table
+@EqualsAndHashCode(of = {"id"})
+@ToString(of = {"id", "status"})
+@Introspected
+public class IdempotentResponse {
+    //url-safe base64 of the sha-256 of the user, method, path and key
+    @Id
+    @Column(length = 64)
+    String id;
+
+    @Column
+    Integer status;
+
+    @Column(length = 100)
+    String contentType;
+
+    //the encoded body exactly as it was written to the first caller
+    @Lob
+    @Column
+    byte[] body;
+
+    //url-safe base64 of the sha-256 of the request body, or null when the body was streamed and could not be compared
+    @Column(length = 64)
+    String requestHash;
+
+    @Column(nullable = false)
+    Instant created;
+}
@@ -9,12 +9,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
-import org.hibernate.annotations.LazyCollection;
-import org.hibernate.annotations.LazyCollectionOption;
 
-import javax.persistence.CollectionTable;
 import javax.persistence.Column;
-import javax.persistence.ElementCollection;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
@@ -58,22 +55,19 @@ public class InsuranceCoverage {
 
     @Schema(description = "any contractual reason why the coverage may not apply")
     @Lob
-    @ElementCollection
-    @CollectionTable
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @Column
+    @Convert(converter = StringListConverter.class)
     List<String> exceptions;
 
     @Schema(description = "reasons insurance coverage would be excluded from a repair")
     @Lob
-    @ElementCollection
-    @CollectionTable
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @Column
+    @Convert(converter = StringListConverter.class)
     List<String> exclusions;
 
     @Schema(description = "reasons insurance coverage would include a repair")
     @Lob
-    @ElementCollection
-    @CollectionTable
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @Column
+    @Convert(converter = StringListConverter.class)
     List<String> inclusions;
 }
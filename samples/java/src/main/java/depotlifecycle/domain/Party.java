@@ -8,18 +8,19 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
-import org.hibernate.annotations.LazyCollection;
-import org.hibernate.annotations.LazyCollectionOption;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-import javax.persistence.CollectionTable;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
-import javax.persistence.ElementCollection;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Lob;
 import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -28,6 +29,8 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "party")
 @Schema(description = "represents a company (or location) involving shipping containers", requiredProperties = {"companyId"})
 @EqualsAndHashCode(of = {"companyId"})
 @ToString(of = {"companyId"})
@@ -40,6 +43,7 @@ public class Party {
 
     @Schema(description = "the identifier for this party, often referred to as an EDI Address", pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9, required = true)
     @Column(nullable = false, length = 9)
+    @NotNull
     String companyId;
 
     @Schema(description = "the user identifier at this company that concerns this message", example = "JDOE", maxLength = 16)
@@ -52,23 +56,20 @@ public class Party {
 
     @Schema(description = "the contact fax number(s) for this party")
     @Lob
-    @ElementCollection
-    @CollectionTable
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @Column
+    @Convert(converter = StringListConverter.class)
     List<String> faxNumber;
 
     @Schema(description = "the contact phone number(s) for this party")
     @Lob
-    @ElementCollection
-    @CollectionTable
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @Column
+    @Convert(converter = StringListConverter.class)
     List<String> phoneNumber;
 
     @Schema(description = "the contact email address(es) for this party")
     @Lob
-    @ElementCollection
-    @CollectionTable
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @Column
+    @Convert(converter = StringListConverter.class)
     List<String> emailAddress;
 
     @Schema(description = "the name of this company", example = "CMR Container Maintenance Rep.", maxLength = 150)
@@ -82,9 +83,8 @@ public class Party {
     // Address Information
     @Schema(description = "the street address lines")
     @Lob
-    @ElementCollection
-    @CollectionTable
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @Column
+    @Convert(converter = StringListConverter.class)
     List<String> streetAddress;
 
     @Schema(description = "the city for the address", maxLength = 28)
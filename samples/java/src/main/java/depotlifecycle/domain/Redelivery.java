@@ -9,13 +9,13 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
-import org.hibernate.annotations.LazyCollection;
-import org.hibernate.annotations.LazyCollectionOption;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.CascadeType;
-import javax.persistence.CollectionTable;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
-import javax.persistence.ElementCollection;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
@@ -23,6 +23,9 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import java.time.ZonedDateTime;
@@ -34,11 +37,22 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "redelivery")
 @Schema(description = "An approval to deliver units to a storage location.", requiredProperties = {"redeliveryNumber", "status", "approvalDate", "depot", "recipient", "owner", "details"})
 @EqualsAndHashCode(of = {"redeliveryNumber"})
 @ToString(of = {"redeliveryNumber"})
+@NamedEntityGraph(name = Redelivery.DOCUMENT, attributeNodes = {
+    @NamedAttributeNode("depot"),
+    @NamedAttributeNode("owner"),
+    @NamedAttributeNode("recipient"),
+    @NamedAttributeNode(value = "details", subgraph = "details")
+}, subgraphs = @NamedSubgraph(name = "details", attributeNodes = {@NamedAttributeNode("customer"), @NamedAttributeNode("insuranceCoverage")}))
 @Introspected
 public class Redelivery {
+    //the parties and details a redelivery is returned with; each detail's units follow in batches
+    public static final String DOCUMENT = "Redelivery.document";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     @JsonIgnore
@@ -66,28 +80,26 @@ public class Redelivery {
 
     @Schema(description = "list of emails to notify for an estimate revision", example = "['customer@example.com']")
     @Lob
-    @ElementCollection
-    @CollectionTable
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @Column
+    @Convert(converter = StringListConverter.class)
     List<String> estimateEmailRecipients;
 
     @Schema(description = "comments pertaining to this unit for the intended recipient of this message", example = "['An example redelivery level comment.']")
     @Lob
-    @ElementCollection
-    @CollectionTable
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @Column
+    @Convert(converter = StringListConverter.class)
     List<String> comments;
 
     @Schema(description = "The location for this redelivery", required = true)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party depot;
 
     @Schema(description = "the shipping container's owner", required = true)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party owner;
 
     @Schema(description = "The intended recipient for this message representing a redelivery", required = true)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party recipient;
 
     @Schema(description = "the number of shipping containers assigned to this redelivery.", required = true, minimum = "0", example = "1")
@@ -95,6 +107,6 @@ public class Redelivery {
     Integer quantity;
 
     @Schema(description = "groups of like-criteria units", required = true, minLength = 1)
-    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
     List<RedeliveryDetail> details = new ArrayList<>();
 }
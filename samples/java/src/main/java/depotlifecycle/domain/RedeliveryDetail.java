@@ -8,13 +8,10 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
-import org.hibernate.annotations.LazyCollection;
-import org.hibernate.annotations.LazyCollectionOption;
 
 import javax.persistence.CascadeType;
-import javax.persistence.CollectionTable;
 import javax.persistence.Column;
-import javax.persistence.ElementCollection;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
@@ -44,7 +41,7 @@ public class RedeliveryDetail {
     Long id;
 
     @Schema(description = "The customer for the contract on this detail.", required = true)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party customer;
 
     @Schema(description = "the contract code for the given shipping containers", required = true, example = "CNCX05-100000", maxLength = 16)
@@ -55,7 +52,7 @@ public class RedeliveryDetail {
     @Column(nullable = false, length = 10)
     String equipment;
 
-    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
     @Schema(description = "the insurance coverage for damage repairs")
     InsuranceCoverage insuranceCoverage;
 
@@ -68,7 +65,7 @@ public class RedeliveryDetail {
     String upgradeType;
 
     @Schema(description = "the specific units for this redelivery if defined, if not, assumed blanket (any unit matching criteria can be tied up to the quantity limit of this detail)")
-    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
     List<RedeliveryUnit> units = new ArrayList<>();
 
     @Schema(description = "the number of shipping containers assigned to this detail", required = true, minimum = "0", example = "1")
@@ -77,8 +74,7 @@ public class RedeliveryDetail {
 
     @Schema(description = "comments pertaining to this unit for the intended recipient of this message", example = "['An example detail level comment.']")
     @Lob
-    @ElementCollection
-    @CollectionTable
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @Column
+    @Convert(converter = StringListConverter.class)
     List<String> comments;
 }
@@ -8,16 +8,13 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
-import org.hibernate.annotations.LazyCollection;
-import org.hibernate.annotations.LazyCollectionOption;
 
 import java.time.LocalDate;
 import java.util.List;
 
 import javax.persistence.CascadeType;
-import javax.persistence.CollectionTable;
 import javax.persistence.Column;
-import javax.persistence.ElementCollection;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
@@ -56,7 +53,7 @@ public class RedeliveryUnit {
     LocalDate lastOnHireDate;
 
     @Schema(description = "The location this unit was last on-hired.")
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     Party lastOnHireLocation;
 
     @Schema(description = "Describes the state of the shipping container for this redelivery: \n\n`TIED` - shipping container is assigned to this redelivery and ready to turn in.\n\n`REMOVED` - shipping container was attached to this redelivery, but is no longer valid for redelivery.\n\n`TIN` - shipping container has turned into the storage location of this redelivery.", allowableValues = {"REMOVED", "TIED", "TIN"}, example = "TIED")
@@ -65,9 +62,8 @@ public class RedeliveryUnit {
 
     @Schema(description = "comments pertaining to this unit for the intended recipient of this message", example = "['An example unit level comment.']")
     @Lob
-    @ElementCollection
-    @CollectionTable
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @Column
+    @Convert(converter = StringListConverter.class)
     List<String> comments;
 
     @Schema(description = "a description of the last cargo this shipping container carried", maxLength = 255, example = "Aroset PS 5191")
@@ -84,20 +80,19 @@ public class RedeliveryUnit {
 
     @Schema(description = "list of technical bulletins associated to this unit - we suggest this be fixed identifiers, codes, or urls", example = "['https://technical.example.com/bulletin/1234']")
     @Lob
-    @ElementCollection
-    @CollectionTable
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @Column
+    @Convert(converter = StringListConverter.class)
     List<String> technicalBulletins;
 
     @Schema(description = "The party that will handle any repair (estimate & work order) billing for units associated with this detail.", required = true)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party billingParty;
 
     @Schema(description = "If the unit is damaged on turn in, the grade / category that the shipping container should be estimated", required = false, example = "IICL", maxLength = 10)
     @Column(nullable = true, length = 10)
     String inspectionCriteria;
 
-    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
     @Schema(description = "if this detail is for a reefer shipping container, then this details the cooling machinery information")
     MachineryInfo machineryInfo;
 }
@@ -0,0 +1,39 @@
+package depotlifecycle.domain;
+
+import io.micronaut.core.annotation.Introspected;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+//a unit listed on the current revision of a redelivery, so a unit is found without joining through the redelivery details
+@Data
+@NoArgsConstructor
+@Entity
+@Table
+@EqualsAndHashCode(of = {"id"})
+@ToString(of = {"id"})
+@Introspected
+public class RedeliveryUnitAdvice {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    Long id;
+
+    @Column(nullable = false, length = 11)
+    String unitNumber;
+
+    @Column(nullable = false, length = 16)
+    String redeliveryNumber;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    Redelivery redelivery;
+}
@@ -9,13 +9,13 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
-import org.hibernate.annotations.LazyCollection;
-import org.hibernate.annotations.LazyCollectionOption;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.CascadeType;
-import javax.persistence.CollectionTable;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
-import javax.persistence.ElementCollection;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
@@ -23,6 +23,9 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import java.time.ZonedDateTime;
@@ -34,11 +37,22 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "release")
 @Schema(description = "An approval to remove shipping containers from a storage location.", requiredProperties = {"releaseNumber", "status", "type", "approvalDate", "depot", "owner", "recipient", "details"})
 @EqualsAndHashCode(of = {"releaseNumber"})
 @ToString(of = {"releaseNumber"})
+@NamedEntityGraph(name = Release.DOCUMENT, attributeNodes = {
+    @NamedAttributeNode("depot"),
+    @NamedAttributeNode("owner"),
+    @NamedAttributeNode("recipient"),
+    @NamedAttributeNode(value = "details", subgraph = "details")
+}, subgraphs = @NamedSubgraph(name = "details", attributeNodes = @NamedAttributeNode("customer")))
 @Introspected
 public class Release {
+    //the parties and details a release is returned with; each detail's units and criteria follow in batches
+    public static final String DOCUMENT = "Release.document";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     @JsonIgnore
@@ -70,21 +84,20 @@ public class Release {
 
     @Schema(description = "comments pertaining to this unit for the intended recipient of this message", example = "['An example release level comment.']")
     @Lob
-    @ElementCollection
-    @CollectionTable
-    @LazyCollection(LazyCollectionOption.FALSE)
+    @Column
+    @Convert(converter = StringListConverter.class)
     List<String> comments;
 
     @Schema(description = "The location for this release", required = true)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party depot;
 
     @Schema(description = "The owner of the shipping container that approved the release", required = true)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party owner;
 
     @Schema(description = "The intended recipient for this message representing a release", required = true)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party recipient;
 
     @Schema(description = "indicates if an on-hire survey is required for units associated to this release")
@@ -96,6 +109,6 @@ public class Release {
     Integer quantity;
 
     @Schema(description = "groups of like-criteria units", required = true, minLength = 1)
-    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
     List<ReleaseDetail> details = new ArrayList<>();
 }
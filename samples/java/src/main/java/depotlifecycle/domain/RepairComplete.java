@@ -40,7 +40,7 @@ public class RepairComplete {
     String workOrderNumber;
 
     @Schema(required = true, description = "the storage location where the shipping container is being repaired")
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party depot;
 
     //Issue #124 micronaut-openapi - example is represented wrong, so example is not listed here. example = "2018-04-10T19:37:04Z"
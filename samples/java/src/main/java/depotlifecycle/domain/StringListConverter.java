@@ -0,0 +1,48 @@
+package depotlifecycle.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.ArrayList;
+import java.util.List;
+
+//stores a list of strings as one json array column instead of a collection table;
+//lists are replaced through their setters, never edited in place, so dirty checking sees every change
+@Converter
+public class StringListConverter implements AttributeConverter<List<String>, String> {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<ArrayList<String>> LIST = new TypeReference<>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return MAPPER.writeValueAsString(values);
+        }
+        catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    //an empty column reads back as an empty list, as an empty collection table did
+    @Override
+    public List<String> convertToEntityAttribute(String column) {
+        if (column == null || column.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        try {
+            return MAPPER.readValue(column, LIST);
+        }
+        catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable string list: " + column, e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package depotlifecycle.domain;
+
+import io.micronaut.core.annotation.Introspected;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import java.time.Instant;
+
+//an event a subscriber never accepted, with the last reason it was refused
+@Data
+@NoArgsConstructor
+@Entity
+@Table
+@EqualsAndHashCode(of = {"id"})
+@ToString(of = {"id", "subscriptionId", "eventType"})
+@Introspected
+public class WebhookDeadLetter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    Long id;
+
+    @Column(nullable = false)
+    Long subscriptionId;
+
+    @Column(nullable = false, length = 500)
+    String url;
+
+    @Column(nullable = false, length = 40)
+    String eventType;
+
+    //the event as it would have been sent
+    @Lob
+    @Column(nullable = false)
+    String payload;
+
+    @Column(nullable = false)
+    Integer attempts;
+
+    @Column(length = 500)
+    String error;
+
+    @Column(nullable = false)
+    Instant created;
+}
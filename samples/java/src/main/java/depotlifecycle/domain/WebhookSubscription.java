@@ -0,0 +1,68 @@
+package depotlifecycle.domain;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonView;
+import io.micronaut.core.annotation.Introspected;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.Instant;
+
+@Data
+@JsonView
+@NoArgsConstructor
+@Entity
+@Table
+@Schema(description = "a url that is sent lifecycle events for a party as they happen", requiredProperties = {"companyId", "url"})
+@EqualsAndHashCode(of = {"id"})
+@ToString(of = {"id", "companyId", "url"})
+@Introspected
+public class WebhookSubscription {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Schema(description = "the identifier of the subscription", accessMode = Schema.AccessMode.READ_ONLY, example = "1")
+    Long id;
+
+    @Schema(description = "the party whose activity is sent to the url", required = true, example = "DEHAMCMRA", maxLength = 9, pattern = "^[A-Z0-9]{9}$")
+    @Column(nullable = false, length = 9)
+    String companyId;
+
+    @Schema(description = "where batches of events are posted as a JSON array", required = true, example = "https://example.com/depot-events", maxLength = 500)
+    @Column(nullable = false, length = 500)
+    String url;
+
+    @Schema(description = "comma separated event types to send; all events are sent when omitted", example = "gate.created,estimate.created", maxLength = 200)
+    @Column(length = 200)
+    String events;
+
+    @Schema(description = "when set, each batch is signed with HMAC-SHA256 of the body using this secret in the `X-Webhook-Signature` header", accessMode = Schema.AccessMode.WRITE_ONLY, maxLength = 100)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    @Column(length = 100)
+    String secret;
+
+    @Schema(description = "when the subscription was registered", accessMode = Schema.AccessMode.READ_ONLY, type = "string", format = "date-time")
+    @Column(nullable = false)
+    Instant created;
+
+    public boolean accepts(String eventType) {
+        if (events == null || events.isBlank()) {
+            return true;
+        }
+
+        for (String event : events.split(",")) {
+            if (event.trim().equalsIgnoreCase(eventType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -18,6 +18,8 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import java.math.BigDecimal;
@@ -34,7 +36,15 @@ import java.util.List;
 @EqualsAndHashCode(of = {"workOrderNumber"})
 @Introspected
 @ToString(of = {"workOrderNumber"})
+@NamedEntityGraph(name = WorkOrder.UNITS, attributeNodes = {
+    @NamedAttributeNode("depot"),
+    @NamedAttributeNode("owner"),
+    @NamedAttributeNode("lineItems")
+})
 public class WorkOrder {
+    //what repair complete needs: the units, and the parties its event names
+    public static final String UNITS = "WorkOrder.units";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     @JsonIgnore
@@ -45,15 +55,15 @@ public class WorkOrder {
     String workOrderNumber;
 
     @Schema(required = true, description = "the storage location where the shipping container is being repaired")
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party depot;
 
     @Schema(required = true, description = "the owner of the shipping container")
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party owner;
 
     @Schema(required = false, description = "the party that will bill the customer portion of damages for this repair")
-    @ManyToOne(optional = true, fetch = FetchType.EAGER)
+    @ManyToOne(optional = true, fetch = FetchType.LAZY)
     Party billingParty;
 
     @Schema(description = "the type of repair approved", example = "SELLCWCA", required = true, maxLength = 11)
@@ -85,6 +95,6 @@ public class WorkOrder {
     String comments;
 
     @Schema(description = "units associated to this work order", required = true, minLength = 1, maxLength = 200)
-    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
     List<WorkOrderUnit> lineItems = new ArrayList<>();
 }
@@ -0,0 +1,30 @@
+package depotlifecycle.domain.reactive;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.data.annotation.Id;
+import io.micronaut.data.annotation.MappedEntity;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@MappedEntity("current_gate_status")
+@Introspected
+public class CurrentGateStatusRow {
+    @Id
+    String unitNumber;
+
+    String adviceNumber;
+
+    Long depotId;
+
+    String status;
+
+    LocalDateTime activityTime;
+
+    String type;
+
+    String currentInspectionCriteria;
+}
@@ -0,0 +1,31 @@
+package depotlifecycle.domain.reactive;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.data.annotation.Id;
+import io.micronaut.data.annotation.MappedEntity;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+//gate_create_request as written by the reactive gate pipeline; GateCreateRequest maps the same rows for hibernate
+@Data
+@NoArgsConstructor
+@MappedEntity("gate_create_request")
+@Introspected
+public class GateCreateRow {
+    @Id
+    Long id;
+
+    String adviceNumber;
+
+    Long depotId;
+
+    String unitNumber;
+
+    String status;
+
+    LocalDateTime activityTime;
+
+    String type;
+}
@@ -0,0 +1,22 @@
+package depotlifecycle.domain.reactive;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.data.annotation.Id;
+import io.micronaut.data.annotation.MappedEntity;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@MappedEntity("gate_delete_request")
+@Introspected
+public class GateDeleteRow {
+    @Id
+    Long id;
+
+    String adviceNumber;
+
+    Long depotId;
+
+    String unitNumber;
+}
@@ -0,0 +1,18 @@
+package depotlifecycle.domain.reactive;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.data.annotation.Id;
+import io.micronaut.data.annotation.MappedEntity;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@MappedEntity("gate_update_photo")
+@Introspected
+public class GateUpdatePhotoRow {
+    @Id
+    Long id;
+
+    String url;
+}
@@ -0,0 +1,24 @@
+package depotlifecycle.domain.reactive;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.data.annotation.Id;
+import io.micronaut.data.annotation.MappedEntity;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@MappedEntity("gate_update_request")
+@Introspected
+public class GateUpdateRow {
+    @Id
+    Long id;
+
+    String status;
+
+    LocalDateTime activityTime;
+
+    String type;
+}
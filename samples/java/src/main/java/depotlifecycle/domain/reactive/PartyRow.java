@@ -0,0 +1,50 @@
+package depotlifecycle.domain.reactive;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.data.annotation.Id;
+import io.micronaut.data.annotation.MappedEntity;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+//party as read and written by the reactive gate pipeline; Party maps the same rows for hibernate. the list columns hold the json
+//arrays written by StringListConverter
+@Data
+@NoArgsConstructor
+@MappedEntity("party")
+@Introspected
+public class PartyRow {
+    @Id
+    Long id;
+
+    String companyId;
+
+    String userCode;
+
+    String userName;
+
+    String faxNumber;
+
+    String phoneNumber;
+
+    String emailAddress;
+
+    String name;
+
+    String code;
+
+    String streetAddress;
+
+    String city;
+
+    String country;
+
+    String postalCode;
+
+    String stateProvince;
+
+    BigDecimal latitude;
+
+    BigDecimal longitude;
+}
@@ -0,0 +1,26 @@
+package depotlifecycle.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import depotlifecycle.GateStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class GateStatusChange {
+    public enum Activity { CREATED, UPDATED, DELETED }
+
+    private final Activity activity;
+
+    private final String unitNumber;
+
+    //company id of the depot holding the gate record, kept when the record is deleted
+    private final String depot;
+
+    //advice of the gate record, kept when the record is deleted so a late delete can be told from a newer gate
+    @JsonIgnore
+    private final String adviceNumber;
+
+    //on a delete, the status the unit falls back to; null once the unit no longer has a gate record
+    private final GateStatus status;
+}
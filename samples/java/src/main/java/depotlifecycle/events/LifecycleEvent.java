@@ -0,0 +1,63 @@
+package depotlifecycle.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+//committed activity that subscribers of the involved parties are told about
+@Getter
+public class LifecycleEvent {
+    public static final String GATE_CREATED = "gate.created";
+    public static final String GATE_UPDATED = "gate.updated";
+    public static final String GATE_DELETED = "gate.deleted";
+    public static final String ESTIMATE_CREATED = "estimate.created";
+    public static final String ESTIMATE_ALLOCATED = "estimate.allocated";
+    public static final String REPAIR_COMPLETED = "workOrder.repaired";
+
+    private final String type;
+
+    private final Instant occurred;
+
+    //company id of the depot the activity happened at
+    private final String depot;
+
+    //company id of the owner, when the activity names one
+    private final String owner;
+
+    //the depot, the owner and any other company ids the activity concerns
+    @JsonIgnore
+    private final Set<String> parties;
+
+    private final Object payload;
+
+    public LifecycleEvent(String type, String depot, String owner, Object payload, String... otherParties) {
+        this.type = type;
+        this.occurred = Instant.now();
+        this.depot = depot;
+        this.owner = owner;
+        this.payload = payload;
+
+        Set<String> involved = new LinkedHashSet<>();
+        if (depot != null) {
+            involved.add(depot);
+        }
+        if (owner != null) {
+            involved.add(owner);
+        }
+        for (String party : otherParties) {
+            if (party != null) {
+                involved.add(party);
+            }
+        }
+        this.parties = Collections.unmodifiableSet(involved);
+    }
+
+    public static String gate(GateStatusChange.Activity activity) {
+        return "gate." + activity.name().toLowerCase(Locale.ROOT);
+    }
+}
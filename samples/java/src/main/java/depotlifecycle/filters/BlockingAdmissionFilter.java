@@ -0,0 +1,52 @@
+package depotlifecycle.filters;
+
+import depotlifecycle.ErrorResponse;
+import depotlifecycle.services.BlockingExecutorFactory;
+import depotlifecycle.services.BlockingLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.http.HttpAttributes;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import io.micronaut.web.router.RouteMatch;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+//turns a request for a blocking route away with a 503 while the blocking executor already has max-queued requests waiting,
+//so a burst is refused up front rather than waiting out the connection timeout or failing once its route has started
+@Filter("/api/**")
+@RequiredArgsConstructor
+public class BlockingAdmissionFilter implements HttpServerFilter {
+    public static final String METRIC = "depotlifecycle.executor.rejected";
+
+    private final BlockingLimit blockingLimit;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        if (!blockingLimit.isSaturated() || !blocking(request)) {
+            return chain.proceed(request);
+        }
+
+        meterRegistry.counter(METRIC, "operationId", OperationIds.of(request)).increment();
+
+        ErrorResponse error = new ErrorResponse();
+        error.setCode("ERR000");
+        error.setMessage("The service is busy; retry the request shortly.");
+        return Flux.just(HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(error));
+    }
+
+    private static boolean blocking(HttpRequest<?> request) {
+        return request.getAttribute(HttpAttributes.ROUTE_MATCH, RouteMatch.class)
+            .flatMap(route -> route.getAnnotationMetadata().stringValue(ExecuteOn.class))
+            .filter(BlockingExecutorFactory.NAME::equals)
+            .isPresent();
+    }
+}
@@ -0,0 +1,189 @@
+package depotlifecycle.filters;
+
+import depotlifecycle.ErrorResponse;
+import depotlifecycle.domain.IdempotentResponse;
+import depotlifecycle.services.IdempotencyConfiguration;
+import depotlifecycle.services.IdempotencyStore;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpAttributes;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.codec.CodecException;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import io.micronaut.http.filter.ServerFilterPhase;
+import io.micronaut.web.router.RouteMatch;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//answers a retried POST or PUT that carries an Idempotency-Key with the response the first attempt produced
+@Filter(value = "/api/v2/**", methods = {HttpMethod.POST, HttpMethod.PUT})
+@Requires(property = "depotlifecycle.idempotency.enabled", notEquals = "false")
+@RequiredArgsConstructor
+public class IdempotencyFilter implements HttpServerFilter {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final Logger LOG = LoggerFactory.getLogger(IdempotencyFilter.class);
+    private static final int COMPLETE_RETRIES = 2;
+
+    private final IdempotencyStore idempotencyStore;
+    private final IdempotencyConfiguration configuration;
+    private final ResponseEncoder responseEncoder;
+
+    //keys are scoped to the caller, so this has to run once security has authenticated the request
+    @Override
+    public int getOrder() {
+        return ServerFilterPhase.SECURITY.after();
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        String key = request.getHeaders().get(HEADER);
+        if (key == null) {
+            return chain.proceed(request);
+        }
+
+        if (key.isBlank() || key.length() > configuration.getMaximumKeyLength()) {
+            return Flux.just(error(HttpStatus.BAD_REQUEST, HEADER + " must be between 1 and " + configuration.getMaximumKeyLength() + " characters."));
+        }
+
+        String user = request.getUserPrincipal().map(Principal::getName).orElse("");
+        String id = IdempotencyStore.id(user, request.getMethodName(), request.getPath(), key);
+
+        Optional<IdempotentResponse> cached = idempotencyStore.getIfPresent(id);
+        if (cached.isPresent()) {
+            return answer(cached.get(), request, chain);
+        }
+
+        return Mono.fromCallable(() -> idempotencyStore.find(id).orElse(null))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(stored -> answer(stored, request, chain))
+            .switchIfEmpty(Mono.defer(() -> execute(id, request, chain)));
+    }
+
+    //replays the stored response, once the route has bound the body and IdempotencyInterceptor has compared it with the first one
+    private Mono<MutableHttpResponse<?>> answer(IdempotentResponse stored, HttpRequest<?> request, ServerFilterChain chain) {
+        if (stored.getRequestHash() == null || !isCompared(request)) {
+            return Mono.just(replay(stored));
+        }
+
+        IdempotentRequest idempotent = new IdempotentRequest(stored);
+        request.setAttribute(IdempotentRequest.ATTRIBUTE, idempotent);
+        return Mono.from(chain.proceed(request)).map(response -> {
+            //the route refused the body before binding it, so answer as it would have the first time
+            if (!idempotent.isBound()) {
+                return response;
+            }
+            if (!stored.getRequestHash().equals(idempotent.getRequestHash())) {
+                return error(HttpStatus.UNPROCESSABLE_ENTITY, "This " + HEADER + " was already used for a request with a different body.");
+            }
+            return replay(stored);
+        });
+    }
+
+    private Mono<MutableHttpResponse<?>> execute(String id, HttpRequest<?> request, ServerFilterChain chain) {
+        return Mono.fromCallable(() -> idempotencyStore.claim(id))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(claimed -> {
+                if (claimed) {
+                    return run(id, request, chain);
+                }
+
+                //the key was answered while this request looked it up, or is still running
+                return Mono.fromCallable(() -> idempotencyStore.find(id).orElse(null))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMap(stored -> answer(stored, request, chain))
+                    .switchIfEmpty(Mono.fromSupplier(() -> error(HttpStatus.CONFLICT, "A request with this " + HEADER + " is still being processed.")));
+            });
+    }
+
+    private Mono<MutableHttpResponse<?>> run(String id, HttpRequest<?> request, ServerFilterChain chain) {
+        IdempotentRequest idempotent = new IdempotentRequest(null);
+        request.setAttribute(IdempotentRequest.ATTRIBUTE, idempotent);
+
+        AtomicBoolean completed = new AtomicBoolean();
+        return Mono.from(chain.proceed(request))
+            .<MutableHttpResponse<?>>flatMap(response -> record(id, idempotent, request, response).doOnSuccess(stored -> completed.set(stored != null)).thenReturn(response))
+            .doFinally(signal -> {
+                if (!completed.get()) {
+                    Mono.fromRunnable(() -> idempotencyStore.abandon(id)).subscribeOn(Schedulers.boundedElastic()).subscribe();
+                }
+                idempotencyStore.release(id);
+            });
+    }
+
+    //encodes the body once; the same bytes are written to this caller and kept for any retry. the claimed row is completed before
+    //the caller is answered, so a retry on any server finds it. empty when the response is not kept, which gives the key up
+    private Mono<IdempotentResponse> record(String id, IdempotentRequest idempotent, HttpRequest<?> request, MutableHttpResponse<?> response) {
+        //a server error may not recur, so the retry is allowed to run again
+        if (response.code() >= 500) {
+            return Mono.empty();
+        }
+
+        Optional<byte[]> encoded;
+        try {
+            encoded = responseEncoder.encode(request, response);
+        }
+        catch (CodecException e) {
+            LOG.warn("Unable to encode the response for idempotency key {}", id, e);
+            return Mono.empty();
+        }
+        //a streamed body cannot be kept for a retry
+        if (encoded.isEmpty()) {
+            return Mono.empty();
+        }
+
+        byte[] bytes = encoded.get();
+        String contentType = bytes.length == 0 ? null : responseEncoder.contentType(request, response).toString();
+        IdempotentResponse stored = new IdempotentResponse(id, response.code(), contentType, bytes, idempotent.getRequestHash(), Instant.now());
+        idempotencyStore.remember(stored);
+        return Mono.fromRunnable(() -> idempotencyStore.complete(stored))
+            .subscribeOn(Schedulers.boundedElastic())
+            .retryWhen(Retry.backoff(COMPLETE_RETRIES, Duration.ofMillis(100)))
+            //the row stays claimed, so retries here are still replayed from the cache and other servers answer 409 until the lock times out
+            .doOnError(e -> LOG.error("Unable to store the response for idempotency key {}", id, e))
+            .onErrorResume(e -> Mono.empty())
+            .thenReturn(stored);
+    }
+
+    //true when IdempotencyInterceptor sees the route's body
+    private static boolean isCompared(HttpRequest<?> request) {
+        return request.getAttribute(HttpAttributes.ROUTE_MATCH, RouteMatch.class)
+            .filter(route -> route.getAnnotationMetadata().hasStereotype(Idempotent.class))
+            .isPresent();
+    }
+
+    private MutableHttpResponse<?> replay(IdempotentResponse stored) {
+        MutableHttpResponse<Object> response = HttpResponse.status(HttpStatus.valueOf(stored.getStatus()))
+            .header(REPLAYED_HEADER, "true");
+        if (stored.getBody().length > 0) {
+            response.body(stored.getBody());
+            response.contentType(stored.getContentType());
+        }
+        return response;
+    }
+
+    private MutableHttpResponse<?> error(HttpStatus status, String message) {
+        ErrorResponse error = new ErrorResponse();
+        error.setCode("ERR000");
+        error.setMessage(message);
+
+        return HttpResponse.status(status).body(error);
+    }
+}
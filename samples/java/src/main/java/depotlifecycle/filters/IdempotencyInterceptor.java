@@ -0,0 +1,69 @@
+package depotlifecycle.filters;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import depotlifecycle.services.IdempotencyStore;
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.context.ServerRequestContext;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+//a filter runs before the body is read, so the body of a keyed request is hashed here once the route has bound it. when the key
+//was already answered the method is skipped, and IdempotencyFilter replays the stored response or refuses a different body
+@Singleton
+@InterceptorBean(Idempotent.class)
+@RequiredArgsConstructor
+public class IdempotencyInterceptor implements MethodInterceptor<Object, Object> {
+    private final ObjectMapper objectMapper;
+
+    //ahead of validation and any transaction, so a replay does neither
+    @Override
+    public int getOrder() {
+        return InterceptPhase.VALIDATE.getPosition() - 1;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        Optional<HttpRequest<Object>> request = ServerRequestContext.currentRequest();
+        Optional<IdempotentRequest> idempotent = request.flatMap(current -> current.getAttribute(IdempotentRequest.ATTRIBUTE, IdempotentRequest.class));
+        if (idempotent.isEmpty()) {
+            return context.proceed();
+        }
+
+        idempotent.get().bound(hash(request.get()));
+        if (idempotent.get().getStored() == null) {
+            return context.proceed();
+        }
+
+        //the filter answers in place of this response
+        if (Publisher.class.isAssignableFrom(context.getReturnType().getType())) {
+            return Mono.just(HttpResponse.noContent());
+        }
+        return HttpResponse.noContent();
+    }
+
+    //the netty request keeps the tree it parsed for json, smile and cbor bodies alike, so the hash does not depend on the encoding
+    private String hash(HttpRequest<?> request) {
+        Optional<JsonNode> body = request.getBody(JsonNode.class);
+        if (body.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return IdempotencyStore.digest(objectMapper.writeValueAsBytes(body.get()));
+        }
+        catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
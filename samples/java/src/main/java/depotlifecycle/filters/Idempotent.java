@@ -0,0 +1,17 @@
+package depotlifecycle.filters;
+
+import io.micronaut.aop.Around;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+//lets IdempotencyFilter compare the body of a request retried with an Idempotency-Key against the first one; see IdempotencyInterceptor
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+@Around
+public @interface Idempotent {
+}
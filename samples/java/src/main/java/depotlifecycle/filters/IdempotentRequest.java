@@ -0,0 +1,36 @@
+package depotlifecycle.filters;
+
+import depotlifecycle.domain.IdempotentResponse;
+
+//what IdempotencyFilter knows about a keyed request, shared with IdempotencyInterceptor as a request attribute
+class IdempotentRequest {
+    static final String ATTRIBUTE = IdempotentRequest.class.getName();
+
+    private final IdempotentResponse stored;
+    private volatile boolean bound;
+    private volatile String requestHash;
+
+    IdempotentRequest(IdempotentResponse stored) {
+        this.stored = stored;
+    }
+
+    //the response already kept for the key, or null when this request runs
+    IdempotentResponse getStored() {
+        return stored;
+    }
+
+    //false when the route refused the request before its body was bound
+    boolean isBound() {
+        return bound;
+    }
+
+    //null when the body is streamed to the route, so there is nothing to compare
+    String getRequestHash() {
+        return requestHash;
+    }
+
+    void bound(String requestHash) {
+        this.requestHash = requestHash;
+        this.bound = true;
+    }
+}
@@ -0,0 +1,25 @@
+package depotlifecycle.filters;
+
+import io.micronaut.http.HttpAttributes;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.web.router.MethodBasedRouteMatch;
+import io.micronaut.web.router.RouteMatch;
+import io.swagger.v3.oas.annotations.Operation;
+
+public final class OperationIds {
+    public static final String UNKNOWN = "unknown";
+
+    private OperationIds() {
+    }
+
+    public static String of(HttpRequest<?> request) {
+        return request.getAttribute(HttpAttributes.ROUTE_MATCH, RouteMatch.class)
+            .map(OperationIds::of)
+            .orElse(UNKNOWN);
+    }
+
+    private static String of(RouteMatch<?> routeMatch) {
+        return routeMatch.getAnnotationMetadata().stringValue(Operation.class, "operationId")
+            .orElseGet(() -> routeMatch instanceof MethodBasedRouteMatch ? ((MethodBasedRouteMatch<?, ?>) routeMatch).getMethodName() : UNKNOWN);
+    }
+}
@@ -0,0 +1,55 @@
+package depotlifecycle.filters;
+
+import depotlifecycle.metrics.RequestStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+@Filter("/api/**")
+@RequiredArgsConstructor
+public class OperationMetricsFilter implements HttpServerFilter {
+    public static final String METRIC = "depotlifecycle.operation";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        String operationId = OperationIds.of(request);
+        RequestStatistics statistics = new RequestStatistics();
+        request.setAttribute(RequestStatistics.ATTRIBUTE, statistics);
+
+        //timed until the response is ready to write; a streamed body carries on after this
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return Flux.from(chain.proceed(request))
+            .doOnNext(response -> record(operationId, String.valueOf(response.code()), sample, statistics))
+            .doOnError(e -> record(operationId, "500", sample, statistics));
+    }
+
+    private void record(String operationId, String status, Timer.Sample sample, RequestStatistics statistics) {
+        sample.stop(Timer.builder(METRIC)
+            .description("Time to respond to each API operation")
+            .tags("operationId", operationId, "status", status)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+
+        summary("statements", "SQL statements", operationId).record(statistics.getStatements());
+        summary("entity.loads", "entities loaded by hibernate", operationId).record(statistics.getEntityLoads());
+        summary("collection.fetches", "collections fetched by hibernate", operationId).record(statistics.getCollectionFetches());
+        summary("flushes", "hibernate flushes that wrote changes", operationId).record(statistics.getFlushes());
+    }
+
+    private DistributionSummary summary(String name, String description, String operationId) {
+        return DistributionSummary.builder("depotlifecycle.request." + name)
+            .description(description + " per request")
+            .tag("operationId", operationId)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,58 @@
+package depotlifecycle.filters;
+
+import depotlifecycle.services.PayloadJournal;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.codec.CodecException;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+import java.security.Principal;
+import java.util.Optional;
+
+@Filter("/api/v2/**")
+@RequiredArgsConstructor
+public class PayloadJournalFilter implements HttpServerFilter {
+    private static final Logger LOG = LoggerFactory.getLogger(PayloadJournalFilter.class);
+
+    private final PayloadJournal payloadJournal;
+    private final ResponseEncoder responseEncoder;
+    private final RequestBodyCapture requestBodyCapture;
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        String operationId = OperationIds.of(request);
+        //claimed before the route reads the body, so an exchange that is not sampled stops its copy before most of the body arrives
+        Optional<RequestBodyCapture.Capture> capture = requestBodyCapture.claim(request);
+        if (!payloadJournal.isSampled(operationId)) {
+            capture.ifPresent(RequestBodyCapture.Capture::stop);
+            return chain.proceed(request);
+        }
+
+        return Flux.from(chain.proceed(request)).doOnNext(response -> {
+            //the body bytes as they came off the connection; the route has read them all by the time it answers
+            byte[] requestBody = capture.map(RequestBodyCapture.Capture::getBytes).orElse(null);
+            boolean requestTruncated = capture.map(RequestBodyCapture.Capture::isTruncated).orElse(false);
+            capture.ifPresent(RequestBodyCapture.Capture::stop);
+            //entities can only be read while this request still holds them, so the body is encoded here and those same bytes are sent;
+            //streamed bodies and files are left alone, as subscribing here would run an export a second time
+            byte[] responseBody = null;
+            try {
+                responseBody = responseEncoder.encode(request, response).orElse(null);
+            }
+            catch (CodecException e) {
+                LOG.debug("Not journaling the response to {}", operationId, e);
+            }
+            String user = request.getUserPrincipal().map(Principal::getName).orElse(null);
+
+            payloadJournal.record(operationId, request.getMethodName(), request.getPath(), user, response.code(), requestBody,
+                request.getContentType().orElse(null), requestTruncated, responseBody, responseEncoder.contentType(request, response));
+        });
+    }
+}
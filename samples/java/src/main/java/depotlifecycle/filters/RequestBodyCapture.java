@@ -0,0 +1,154 @@
+package depotlifecycle.filters;
+
+import depotlifecycle.services.PayloadJournalConfiguration;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.netty.channel.ChannelPipelineCustomizer;
+import io.micronaut.http.netty.channel.ChannelPipelineListener;
+import io.micronaut.http.server.netty.NettyEmbeddedServer;
+import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.util.AttributeKey;
+import jakarta.inject.Singleton;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+//keeps a copy of each /api/v2 request body as it comes off the connection, since micronaut keeps only what it decoded the body into.
+//the journal filter claims its request's copy before the body is read and stops it straight away when the exchange is not sampled
+@Singleton
+public class RequestBodyCapture implements ChannelPipelineListener, BeanCreatedEventListener<NettyEmbeddedServer> {
+    private static final String HANDLER = "depotlifecycle-request-body-capture";
+    private static final String PATH = "/api/v2/";
+    private static final AttributeKey<Deque<Capture>> CAPTURES = AttributeKey.valueOf(RequestBodyCapture.class, "captures");
+
+    private final PayloadJournalConfiguration configuration;
+
+    public RequestBodyCapture(PayloadJournalConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    //the server only tells listeners it was handed about new connections
+    @Override
+    public NettyEmbeddedServer onCreated(BeanCreatedEvent<NettyEmbeddedServer> event) {
+        event.getBean().doOnConnect(this);
+        return event.getBean();
+    }
+
+    @Override
+    public ChannelPipeline onConnect(ChannelPipeline pipeline) {
+        if (!configuration.isEnabled() || pipeline.get(HANDLER) != null) {
+            return pipeline;
+        }
+
+        //after the decompressor, so a gzipped body is kept as the payload the client encoded rather than its transfer encoding
+        if (pipeline.get(ChannelPipelineCustomizer.HANDLER_HTTP_DECOMPRESSOR) != null) {
+            pipeline.addAfter(ChannelPipelineCustomizer.HANDLER_HTTP_DECOMPRESSOR, HANDLER, new Handler());
+        }
+        else if (pipeline.get(ChannelPipelineCustomizer.HANDLER_HTTP_SERVER_CODEC) != null) {
+            pipeline.addAfter(ChannelPipelineCustomizer.HANDLER_HTTP_SERVER_CODEC, HANDLER, new Handler());
+        }
+        return pipeline;
+    }
+
+    //requests on a connection are answered in order, so the oldest unclaimed copy for the same method and uri is this request's
+    public Optional<Capture> claim(HttpRequest<?> request) {
+        if (!(request instanceof NettyHttpRequest)) {
+            return Optional.empty();
+        }
+
+        NettyHttpRequest<?> nettyRequest = (NettyHttpRequest<?>) request;
+        Deque<Capture> captures = nettyRequest.getChannelHandlerContext().channel().attr(CAPTURES).get();
+        if (captures == null) {
+            return Optional.empty();
+        }
+
+        synchronized (captures) {
+            for (Capture capture = captures.poll(); capture != null; capture = captures.poll()) {
+                if (capture.method.equals(request.getMethodName()) && capture.uri.equals(nettyRequest.getNativeRequest().uri())) {
+                    return Optional.of(capture);
+                }
+                capture.stop();
+            }
+        }
+        return Optional.empty();
+    }
+
+    public static final class Capture {
+        private final String method;
+        private final String uri;
+        private final int limit;
+        private ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private boolean truncated;
+
+        private Capture(String method, String uri, int limit) {
+            this.method = method;
+            this.uri = uri;
+            this.limit = limit;
+        }
+
+        private synchronized void append(ByteBuf content) {
+            if (bytes == null || content.readableBytes() == 0) {
+                return;
+            }
+
+            int length = Math.min(content.readableBytes(), limit - bytes.size());
+            if (length < content.readableBytes()) {
+                truncated = true;
+            }
+            if (length > 0) {
+                //copied without moving the reader index, so the request still reads the whole body
+                byte[] chunk = new byte[length];
+                content.getBytes(content.readerIndex(), chunk);
+                bytes.write(chunk, 0, length);
+            }
+        }
+
+        public synchronized void stop() {
+            bytes = null;
+        }
+
+        public synchronized byte[] getBytes() {
+            return bytes == null ? null : bytes.toByteArray();
+        }
+
+        //true when the body was longer than the journal's max-request-size and only its start was kept
+        public synchronized boolean isTruncated() {
+            return truncated;
+        }
+    }
+
+    private final class Handler extends ChannelInboundHandlerAdapter {
+        private Capture current;
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof io.netty.handler.codec.http.HttpRequest) {
+                io.netty.handler.codec.http.HttpRequest request = (io.netty.handler.codec.http.HttpRequest) msg;
+                current = null;
+                if (request.uri().startsWith(PATH)) {
+                    current = new Capture(request.method().name(), request.uri(), configuration.getMaxRequestSize());
+                    Deque<Capture> captures = ctx.channel().attr(CAPTURES).setIfAbsent(new ArrayDeque<>());
+                    if (captures == null) {
+                        captures = ctx.channel().attr(CAPTURES).get();
+                    }
+                    synchronized (captures) {
+                        captures.add(current);
+                    }
+                }
+            }
+            if (msg instanceof HttpContent && current != null) {
+                current.append(((HttpContent) msg).content());
+            }
+
+            ctx.fireChannelRead(msg);
+        }
+    }
+}
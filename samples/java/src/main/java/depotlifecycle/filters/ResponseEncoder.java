@@ -0,0 +1,66 @@
+package depotlifecycle.filters;
+
+import io.micronaut.http.HttpAttributes;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.codec.MediaTypeCodec;
+import io.micronaut.http.codec.MediaTypeCodecRegistry;
+import io.micronaut.http.server.types.CustomizableResponseType;
+import io.micronaut.web.router.RouteInfo;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+
+import java.util.List;
+import java.util.Optional;
+
+//encodes a response body in a filter, as micronaut would once the filters are done, so the bytes can be kept or journaled
+//while the request thread still owns the body; the response then carries those bytes and micronaut writes them as they are
+@Singleton
+@RequiredArgsConstructor
+public class ResponseEncoder {
+    private static final byte[] EMPTY = new byte[0];
+
+    private final MediaTypeCodecRegistry mediaTypeCodecRegistry;
+
+    //empty when the body is streamed, a file, or of a type no codec writes
+    public Optional<byte[]> encode(HttpRequest<?> request, MutableHttpResponse<?> response) {
+        Object body = response.getBody().orElse(null);
+        if (body == null) {
+            return Optional.of(EMPTY);
+        }
+        if (body instanceof byte[]) {
+            return Optional.of((byte[]) body);
+        }
+        if (body instanceof Publisher || body instanceof CustomizableResponseType || body instanceof CharSequence) {
+            return Optional.empty();
+        }
+
+        MediaType mediaType = contentType(request, response);
+        Optional<MediaTypeCodec> codec = mediaTypeCodecRegistry.findCodec(mediaType, body.getClass());
+        if (codec.isEmpty()) {
+            return Optional.empty();
+        }
+
+        byte[] bytes = codec.get().encode(body);
+        response.body(bytes);
+        response.contentType(mediaType);
+        return Optional.of(bytes);
+    }
+
+    public MediaType contentType(HttpRequest<?> request, MutableHttpResponse<?> response) {
+        return response.getContentType().orElseGet(() -> negotiate(request));
+    }
+
+    //the first type in the caller's Accept header that the route produces, as micronaut picks it when it encodes the body itself
+    private static MediaType negotiate(HttpRequest<?> request) {
+        List<MediaType> produces = request.getAttribute(HttpAttributes.ROUTE_INFO, RouteInfo.class)
+            .map(RouteInfo::getProduces)
+            .orElse(List.of(MediaType.APPLICATION_JSON_TYPE));
+        return request.accept().stream()
+            .filter(produces::contains)
+            .findFirst()
+            .orElse(produces.isEmpty() ? MediaType.APPLICATION_JSON_TYPE : produces.get(0));
+    }
+}
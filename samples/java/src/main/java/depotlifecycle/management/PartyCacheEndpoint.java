@@ -0,0 +1,39 @@
+package depotlifecycle.management;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import depotlifecycle.services.PartyCache;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.stat.CacheRegionStatistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Endpoint(id = "partycache")
+@RequiredArgsConstructor
+public class PartyCacheEndpoint {
+    private final PartyCache partyCache;
+
+    @Read
+    public Map<String, Object> stats() {
+        CacheStats stats = partyCache.getStats();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", partyCache.getSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+
+        //the party state itself is served from the second-level cache region
+        CacheRegionStatistics region = partyCache.getRegionStats();
+        Map<String, Object> regionResult = new LinkedHashMap<>();
+        regionResult.put("name", PartyCache.REGION);
+        regionResult.put("hits", region.getHitCount());
+        regionResult.put("misses", region.getMissCount());
+        regionResult.put("puts", region.getPutCount());
+        result.put("region", regionResult);
+        return result;
+    }
+}
@@ -0,0 +1,28 @@
+package depotlifecycle.management;
+
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.management.endpoint.EndpointSensitivityProcessor;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.rules.SecurityRuleResult;
+import io.micronaut.security.rules.SensitiveEndpointRule;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+//this sample has no roles; any caller holding a bearer token may read the sensitive management endpoints, anonymous callers get a 401
+@Singleton
+@Replaces(SensitiveEndpointRule.class)
+public class SensitiveEndpointRuleReplacement extends SensitiveEndpointRule {
+    public SensitiveEndpointRuleReplacement(EndpointSensitivityProcessor endpointSensitivityProcessor) {
+        super(endpointSensitivityProcessor);
+    }
+
+    @Override
+    @NonNull
+    protected Publisher<SecurityRuleResult> checkSensitiveAuthenticated(@NonNull HttpRequest<?> request, @NonNull Authentication authentication, @NonNull ExecutableMethod<?, ?> method) {
+        return Mono.just(SecurityRuleResult.ALLOWED);
+    }
+}
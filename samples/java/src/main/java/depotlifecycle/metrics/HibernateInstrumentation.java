@@ -0,0 +1,68 @@
+package depotlifecycle.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AutoFlushEvent;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.stat.HibernateMetrics;
+
+import java.util.Collections;
+
+//publishes session factory wide hibernate statistics, and counts entity loads, collection fetches and flushes into the statistics of the request that caused them
+@Singleton
+@RequiredArgsConstructor
+public class HibernateInstrumentation implements PostLoadEventListener, InitializeCollectionEventListener, FlushEventListener, AutoFlushEventListener {
+    private final SessionFactory sessionFactory;
+    private final MeterRegistry meterRegistry;
+
+    //bound here rather than as a MeterBinder bean; the session factory needs the datasource, which already needs the meter registry
+    @EventListener
+    void register(StartupEvent event) {
+        new HibernateMetrics(sessionFactory, "default", Collections.emptyList()).bindTo(meterRegistry);
+
+        EventListenerRegistry registry = sessionFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(EventListenerRegistry.class);
+        //appended so the default listeners have already done the work being counted
+        registry.appendListeners(EventType.POST_LOAD, this);
+        registry.appendListeners(EventType.INIT_COLLECTION, this);
+        registry.appendListeners(EventType.FLUSH, this);
+        registry.appendListeners(EventType.AUTO_FLUSH, this);
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestStatistics.current().ifPresent(statistics -> statistics.entityLoads.increment());
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        RequestStatistics.current().ifPresent(statistics -> statistics.collectionFetches.increment());
+    }
+
+    //commits flush even when nothing changed; only flushes that wrote something are counted
+    @Override
+    public void onFlush(FlushEvent event) {
+        if (event.getNumberOfEntitiesProcessed() > 0 || event.getNumberOfCollectionsProcessed() > 0) {
+            RequestStatistics.current().ifPresent(statistics -> statistics.flushes.increment());
+        }
+    }
+
+    @Override
+    public void onAutoFlush(AutoFlushEvent event) {
+        if (event.isFlushRequired()) {
+            RequestStatistics.current().ifPresent(statistics -> statistics.flushes.increment());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package depotlifecycle.metrics;
+
+import io.micronaut.aop.Around;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+//times every method of a repository under depotlifecycle.repository, tagged with the repository and method name
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+@Around
+public @interface RepositoryTimed {
+}
@@ -0,0 +1,100 @@
+package depotlifecycle.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Singleton
+@InterceptorBean(RepositoryTimed.class)
+@RequiredArgsConstructor
+public class RepositoryTimingInterceptor implements MethodInterceptor<Object, Object> {
+    public static final String METRIC = "depotlifecycle.repository";
+
+    //the declaring type of an inherited method such as save is CrudRepository, so name the repository after the interface the proxy implements
+    private static final ClassValue<String> REPOSITORY_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            for (Class<?> implemented : type.getInterfaces()) {
+                if (implemented.isAnnotationPresent(RepositoryTimed.class)) {
+                    return implemented.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        }
+    };
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        String repository = REPOSITORY_NAMES.get(context.getTarget().getClass());
+        String method = context.getMethodName();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result;
+        try {
+            result = context.proceed();
+        }
+        catch (RuntimeException e) {
+            stop(sample, repository, method, e.getClass().getSimpleName());
+            throw e;
+        }
+
+        //reactive repositories only touch the database once subscribed, so they are timed from subscription until the first outcome
+        if (result instanceof Mono) {
+            return Mono.defer(() -> {
+                Outcome outcome = new Outcome(repository, method);
+                return ((Mono<?>) result)
+                    .doOnSuccess(value -> outcome.stop("none"))
+                    .doOnError(e -> outcome.stop(e.getClass().getSimpleName()))
+                    .doOnCancel(() -> outcome.stop("cancelled"));
+            });
+        }
+        if (result instanceof Flux) {
+            return Flux.defer(() -> {
+                Outcome outcome = new Outcome(repository, method);
+                return ((Flux<?>) result)
+                    .doOnComplete(() -> outcome.stop("none"))
+                    .doOnError(e -> outcome.stop(e.getClass().getSimpleName()))
+                    .doOnCancel(() -> outcome.stop("cancelled"));
+            });
+        }
+
+        stop(sample, repository, method, "none");
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, String repository, String method, String exception) {
+        sample.stop(Timer.builder(METRIC)
+            .description("Time spent in Micronaut Data repository methods")
+            .tags("repository", repository, "method", method, "exception", exception)
+            .register(meterRegistry));
+    }
+
+    //a mono is cancelled by its subscriber once it has its value, so only the first signal counts
+    private class Outcome {
+        private final Timer.Sample sample = Timer.start(meterRegistry);
+        private final AtomicBoolean stopped = new AtomicBoolean();
+        private final String repository;
+        private final String method;
+
+        Outcome(String repository, String method) {
+            this.repository = repository;
+            this.method = method;
+        }
+
+        void stop(String exception) {
+            if (stopped.compareAndSet(false, true)) {
+                RepositoryTimingInterceptor.this.stop(sample, repository, method, exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package depotlifecycle.metrics;
+
+import io.micronaut.http.context.ServerRequestContext;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+//hibernate work done on behalf of a single request; attached to the request so it follows it onto the blocking executor
+public class RequestStatistics {
+    public static final String ATTRIBUTE = "depotlifecycle.request-statistics";
+
+    final LongAdder statements = new LongAdder();
+    final LongAdder entityLoads = new LongAdder();
+    final LongAdder collectionFetches = new LongAdder();
+    final LongAdder flushes = new LongAdder();
+
+    //empty for work outside a request, such as startup seeding or streams drained on another scheduler
+    static Optional<RequestStatistics> current() {
+        return ServerRequestContext.currentRequest().flatMap(request -> request.getAttribute(ATTRIBUTE, RequestStatistics.class));
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getEntityLoads() {
+        return entityLoads.sum();
+    }
+
+    public long getCollectionFetches() {
+        return collectionFetches.sum();
+    }
+
+    public long getFlushes() {
+        return flushes.sum();
+    }
+}
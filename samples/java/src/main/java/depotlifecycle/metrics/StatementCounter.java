@@ -0,0 +1,12 @@
+package depotlifecycle.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+//hibernate creates this itself from hibernate.session_factory.statement_inspector, so it cannot be a bean
+public class StatementCounter implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        RequestStatistics.current().ifPresent(statistics -> statistics.statements.increment());
+        return sql;
+    }
+}
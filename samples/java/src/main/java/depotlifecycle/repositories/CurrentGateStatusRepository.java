@@ -0,0 +1,30 @@
+package depotlifecycle.repositories;
+
+import depotlifecycle.domain.CurrentGateStatus;
+import depotlifecycle.metrics.RepositoryTimed;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.jpa.annotation.EntityGraph;
+import io.micronaut.data.repository.CrudRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RepositoryTimed
+public interface CurrentGateStatusRepository extends CrudRepository<CurrentGateStatus, String> {
+    //the depot is part of every status kept by GateStatusIndex, so each lookup joins it
+    @NonNull
+    @Override
+    @EntityGraph(attributePaths = "depot")
+    Optional<CurrentGateStatus> findById(@NonNull String unitNumber);
+
+    @NonNull
+    @Override
+    @EntityGraph(attributePaths = "depot")
+    List<CurrentGateStatus> findAll();
+
+    @EntityGraph(attributePaths = "depot")
+    List<CurrentGateStatus> findByUnitNumberIn(Collection<String> unitNumbers);
+}
@@ -1,9 +1,11 @@
 package depotlifecycle.repositories;
 
 import depotlifecycle.domain.EstimateAllocation;
+import depotlifecycle.metrics.RepositoryTimed;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.CrudRepository;
 
 @Repository
+@RepositoryTimed
 public interface EstimateAllocationRepository extends CrudRepository<EstimateAllocation, Long> {
 }
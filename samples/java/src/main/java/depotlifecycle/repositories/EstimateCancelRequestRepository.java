@@ -2,6 +2,7 @@ package depotlifecycle.repositories;
 
 import depotlifecycle.domain.EstimateCancelRequest;
 import depotlifecycle.domain.Party;
+import depotlifecycle.metrics.RepositoryTimed;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.CrudRepository;
@@ -9,6 +10,7 @@ import io.micronaut.data.repository.CrudRepository;
 import javax.validation.constraints.NotNull;
 
 @Repository
+@RepositoryTimed
 public interface EstimateCancelRequestRepository extends CrudRepository<EstimateCancelRequest, Long> {
     boolean existsByEstimateNumberAndDepot(@NotNull @NonNull String estimateNumber, @NotNull @NonNull Party depot);
 }
@@ -2,9 +2,11 @@ package depotlifecycle.repositories;
 
 import depotlifecycle.domain.EstimateCustomerApproval;
 import depotlifecycle.domain.EstimateLineItem;
+import depotlifecycle.metrics.RepositoryTimed;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.CrudRepository;
 
 @Repository
+@RepositoryTimed
 public interface EstimateCustomerApprovalRepository extends CrudRepository<EstimateCustomerApproval, Long> {
 }
@@ -1,13 +1,24 @@
 package depotlifecycle.repositories;
 
 import depotlifecycle.domain.GateCreateRequest;
+import depotlifecycle.metrics.RepositoryTimed;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.model.Pageable;
 import io.micronaut.data.repository.CrudRepository;
 
 import javax.validation.constraints.NotNull;
+import java.util.List;
 
 @Repository
+@RepositoryTimed
 public interface GateCreateRequestRepository extends CrudRepository<GateCreateRequest, Long> {
     boolean existsByAdviceNumberAndUnitNumberAndType(@NotNull @NonNull String adviceNumber, @NotNull @NonNull String unitNumber, @NotNull @NonNull String type);
+
+    //the unit's gates that no gate delete has removed, latest first; a delete removes every gate of its depot, advice and unit
+    @Query("select g from GateCreateRequest g join fetch g.depot where g.unitNumber = :unitNumber and not exists " +
+        "(select d.id from GateDeleteRequest d where d.depot = g.depot and d.adviceNumber = g.adviceNumber and d.unitNumber = g.unitNumber) " +
+        "order by g.activityTime desc, g.id desc")
+    List<GateCreateRequest> findRemainingByUnitNumber(@NotNull @NonNull String unitNumber, Pageable pageable);
 }
@@ -2,6 +2,7 @@ package depotlifecycle.repositories;
 
 import depotlifecycle.domain.GateDeleteRequest;
 import depotlifecycle.domain.Party;
+import depotlifecycle.metrics.RepositoryTimed;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.data.repository.CrudRepository;
@@ -10,6 +11,7 @@ import javax.validation.constraints.NotNull;
 import java.time.ZonedDateTime;
 
 @Repository
+@RepositoryTimed
 public interface GateDeleteRequestRepository extends CrudRepository<GateDeleteRequest, Long> {
     boolean existsByDepotAndAdviceNumberAndUnitNumber(@NotNull @NonNull Party depot, @NotNull @NonNull String adviceNumber, @NotNull @NonNull String unitNumber);
 }
@@ -1,9 +1,11 @@
 package depotlifecycle.repositories;
 
 import depotlifecycle.domain.GateUpdateRequest;
+import depotlifecycle.metrics.RepositoryTimed;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.CrudRepository;
 
 @Repository
+@RepositoryTimed
 public interface GateUpdateRequestRepository extends CrudRepository<GateUpdateRequest, Long> {
 }
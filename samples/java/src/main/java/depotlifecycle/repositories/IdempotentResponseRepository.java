@@ -0,0 +1,20 @@
+package depotlifecycle.repositories;
+
+import depotlifecycle.domain.IdempotentResponse;
+import depotlifecycle.metrics.RepositoryTimed;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.repository.CrudRepository;
+
+import java.time.Instant;
+
+@Repository
+@RepositoryTimed
+public interface IdempotentResponseRepository extends CrudRepository<IdempotentResponse, String> {
+    int deleteByCreatedBefore(Instant created);
+
+    int deleteByIdAndStatusIsNull(String id);
+
+    @Query("UPDATE IdempotentResponse r SET r.status = NULL, r.contentType = NULL, r.body = NULL, r.requestHash = NULL, r.created = :created WHERE r.id = :id AND (r.created < :expired OR (r.status IS NULL AND r.created < :abandoned))")
+    int reclaim(String id, Instant created, Instant expired, Instant abandoned);
+}
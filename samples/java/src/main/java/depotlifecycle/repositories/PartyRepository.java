@@ -1,14 +1,20 @@
 package depotlifecycle.repositories;
 
 import depotlifecycle.domain.Party;
+import depotlifecycle.metrics.RepositoryTimed;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.CrudRepository;
 
 import javax.validation.constraints.NotNull;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
+@RepositoryTimed
 public interface PartyRepository extends CrudRepository<Party, Long> {
     Optional<Party> findByCompanyId(@NotNull @NonNull String companyId);
+
+    List<Party> findByCompanyIdIn(@NotNull @NonNull Collection<String> companyIds);
 }
@@ -1,17 +1,25 @@
 package depotlifecycle.repositories;
 
 import depotlifecycle.domain.Redelivery;
+import depotlifecycle.metrics.RepositoryTimed;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.jpa.annotation.EntityGraph;
 import io.micronaut.data.repository.CrudRepository;
 
 import javax.validation.constraints.NotNull;
 import java.util.Optional;
 
 @Repository
+@RepositoryTimed
 public interface RedeliveryRepository extends CrudRepository<Redelivery, Long> {
     boolean existsByRedeliveryNumber(@NotNull @NonNull String redeliveryNumber);
 
     @NonNull
     Optional<Redelivery> findByRedeliveryNumber(@NotNull @NonNull String redeliveryNumber);
+
+    //updates store a new revision row, so the highest id is the current redelivery
+    @NonNull
+    @EntityGraph(Redelivery.DOCUMENT)
+    Optional<Redelivery> findFirstByRedeliveryNumberOrderByIdDesc(@NotNull @NonNull String redeliveryNumber);
 }
@@ -0,0 +1,15 @@
+package depotlifecycle.repositories;
+
+import depotlifecycle.domain.RedeliveryUnitAdvice;
+import depotlifecycle.metrics.RepositoryTimed;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.repository.CrudRepository;
+
+import javax.validation.constraints.NotNull;
+
+@Repository
+@RepositoryTimed
+public interface RedeliveryUnitAdviceRepository extends CrudRepository<RedeliveryUnitAdvice, Long> {
+    void deleteByRedeliveryNumber(@NotNull @NonNull String redeliveryNumber);
+}
@@ -1,17 +1,22 @@
 package depotlifecycle.repositories;
 
 import depotlifecycle.domain.Release;
+import depotlifecycle.metrics.RepositoryTimed;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.jpa.annotation.EntityGraph;
 import io.micronaut.data.repository.CrudRepository;
 
 import javax.validation.constraints.NotNull;
 import java.util.Optional;
 
 @Repository
+@RepositoryTimed
 public interface ReleaseRepository extends CrudRepository<Release, Long> {
     boolean existsByReleaseNumber(@NotNull @NonNull String releaseNumber);
 
+    //updates store a new revision row, so the highest id is the current release
     @NonNull
-    Optional<Release> findByReleaseNumber(@NotNull @NonNull String releaseNumber);
+    @EntityGraph(Release.DOCUMENT)
+    Optional<Release> findFirstByReleaseNumberOrderByIdDesc(@NotNull @NonNull String releaseNumber);
 }
@@ -0,0 +1,14 @@
+package depotlifecycle.repositories;
+
+import depotlifecycle.domain.WebhookDeadLetter;
+import depotlifecycle.metrics.RepositoryTimed;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.repository.CrudRepository;
+
+import java.util.List;
+
+@Repository
+@RepositoryTimed
+public interface WebhookDeadLetterRepository extends CrudRepository<WebhookDeadLetter, Long> {
+    List<WebhookDeadLetter> findBySubscriptionId(Long subscriptionId);
+}
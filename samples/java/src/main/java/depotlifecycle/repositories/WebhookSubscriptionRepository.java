@@ -0,0 +1,14 @@
+package depotlifecycle.repositories;
+
+import depotlifecycle.domain.WebhookSubscription;
+import depotlifecycle.metrics.RepositoryTimed;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.repository.CrudRepository;
+
+import java.util.List;
+
+@Repository
+@RepositoryTimed
+public interface WebhookSubscriptionRepository extends CrudRepository<WebhookSubscription, Long> {
+    List<WebhookSubscription> findByCompanyId(String companyId);
+}
@@ -1,17 +1,21 @@
 package depotlifecycle.repositories;
 
 import depotlifecycle.domain.WorkOrder;
+import depotlifecycle.metrics.RepositoryTimed;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.jpa.annotation.EntityGraph;
 import io.micronaut.data.repository.CrudRepository;
 
 import javax.validation.constraints.NotNull;
 import java.util.Optional;
 
 @Repository
+@RepositoryTimed
 public interface WorkOrderRepository extends CrudRepository<WorkOrder, Long> {
     boolean existsByWorkOrderNumber(@NotNull @NonNull String workOrderNumber);
 
     @NonNull
+    @EntityGraph(WorkOrder.UNITS)
     Optional<WorkOrder> findByWorkOrderNumber(@NotNull @NonNull String workOrderNumber);
 }
@@ -1,9 +1,11 @@
 package depotlifecycle.repositories;
 
 import depotlifecycle.domain.WorkOrderUnit;
+import depotlifecycle.metrics.RepositoryTimed;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.CrudRepository;
 
 @Repository
+@RepositoryTimed
 public interface WorkOrderUnitRepository extends CrudRepository<WorkOrderUnit, Long> {
 }
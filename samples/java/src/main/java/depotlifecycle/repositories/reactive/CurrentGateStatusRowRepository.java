@@ -0,0 +1,12 @@
+package depotlifecycle.repositories.reactive;
+
+import depotlifecycle.domain.reactive.CurrentGateStatusRow;
+import depotlifecycle.metrics.RepositoryTimed;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
+import io.micronaut.data.repository.reactive.ReactorCrudRepository;
+
+@R2dbcRepository(dialect = Dialect.H2)
+@RepositoryTimed
+public interface CurrentGateStatusRowRepository extends ReactorCrudRepository<CurrentGateStatusRow, String> {
+}
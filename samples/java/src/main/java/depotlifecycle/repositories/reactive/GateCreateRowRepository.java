@@ -0,0 +1,27 @@
+package depotlifecycle.repositories.reactive;
+
+import depotlifecycle.domain.reactive.GateCreateRow;
+import depotlifecycle.metrics.RepositoryTimed;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
+import io.micronaut.data.repository.reactive.ReactorCrudRepository;
+import reactor.core.publisher.Mono;
+
+@R2dbcRepository(dialect = Dialect.H2)
+@RepositoryTimed
+public interface GateCreateRowRepository extends ReactorCrudRepository<GateCreateRow, Long> {
+    @Query("SELECT NEXT VALUE FOR gate_create_request_seq")
+    Mono<Long> nextId();
+
+    Mono<Boolean> existsByAdviceNumberAndUnitNumberAndType(String adviceNumber, String unitNumber, String type);
+
+    //same as GateCreateRequestRepository.findRemainingByUnitNumber, the latest only
+    @Query("SELECT g.* FROM gate_create_request g WHERE g.unit_number = :unitNumber AND NOT EXISTS " +
+        "(SELECT d.id FROM gate_delete_request d WHERE d.depot_id = g.depot_id AND d.advice_number = g.advice_number AND d.unit_number = g.unit_number) " +
+        "ORDER BY g.activity_time DESC, g.id DESC LIMIT 1")
+    Mono<GateCreateRow> findLatestRemaining(String unitNumber);
+
+    @Query("INSERT INTO gate_create_request_gate_create_photo (gate_create_request_id, photos_id) VALUES (:gateId, :photoId)")
+    Mono<Void> insertPhoto(Long gateId, Long photoId);
+}
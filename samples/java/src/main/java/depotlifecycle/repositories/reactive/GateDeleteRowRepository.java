@@ -0,0 +1,18 @@
+package depotlifecycle.repositories.reactive;
+
+import depotlifecycle.domain.reactive.GateDeleteRow;
+import depotlifecycle.metrics.RepositoryTimed;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
+import io.micronaut.data.repository.reactive.ReactorCrudRepository;
+import reactor.core.publisher.Mono;
+
+@R2dbcRepository(dialect = Dialect.H2)
+@RepositoryTimed
+public interface GateDeleteRowRepository extends ReactorCrudRepository<GateDeleteRow, Long> {
+    @Query("SELECT NEXT VALUE FOR hibernate_sequence")
+    Mono<Long> nextId();
+
+    Mono<Boolean> existsByDepotIdAndAdviceNumberAndUnitNumber(Long depotId, String adviceNumber, String unitNumber);
+}
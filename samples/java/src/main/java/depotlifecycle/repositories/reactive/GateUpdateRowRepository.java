@@ -0,0 +1,19 @@
+package depotlifecycle.repositories.reactive;
+
+import depotlifecycle.domain.reactive.GateUpdateRow;
+import depotlifecycle.metrics.RepositoryTimed;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.r2dbc.annotation.R2dbcRepository;
+import io.micronaut.data.repository.reactive.ReactorCrudRepository;
+import reactor.core.publisher.Mono;
+
+@R2dbcRepository(dialect = Dialect.H2)
+@RepositoryTimed
+public interface GateUpdateRowRepository extends ReactorCrudRepository<GateUpdateRow, Long> {
+    @Query("SELECT NEXT VALUE FOR hibernate_sequence")
+    Mono<Long> nextId();
+
+    @Query("INSERT INTO gate_update_request_gate_update_photo (gate_update_request_id, photos_id) VALUES (:gateId, :photoId)")
+    Mono<Void> insertPhoto(Long gateId, Long photoId);
+}
@@ -0,0 +1,149 @@
+package depotlifecycle.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import depotlifecycle.domain.Party;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+@Singleton
+public class AdviceExport {
+    public static final String NDJSON = "application/x-ndjson";
+
+    //the parties every row names are joined in; details and everything below them are batch fetched a window at a time
+    public enum Type {
+        RELEASE("select e from Release e join fetch e.depot join fetch e.owner join fetch e.recipient order by e.id",
+            "select e from Release e join fetch e.depot join fetch e.owner join fetch e.recipient where e.depot = :depot order by e.id"),
+        REDELIVERY("select e from Redelivery e join fetch e.depot join fetch e.owner join fetch e.recipient order by e.id",
+            "select e from Redelivery e join fetch e.depot join fetch e.owner join fetch e.recipient where e.depot = :depot order by e.id");
+
+        private final String all;
+        private final String atDepot;
+
+        Type(String all, String atDepot) {
+            this.all = all;
+            this.atDepot = atDepot;
+        }
+    }
+
+    private final SessionFactory sessionFactory;
+    private final PartyCache partyCache;
+    private final ObjectWriter writer;
+    private final int fetchSize;
+
+    public AdviceExport(SessionFactory sessionFactory, PartyCache partyCache, ObjectMapper objectMapper, @Value("${depotlifecycle.export.fetch-size:500}") int fetchSize) {
+        this.sessionFactory = sessionFactory;
+        this.partyCache = partyCache;
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.fetchSize = fetchSize;
+    }
+
+    //one line per entity in id order; rows are read from a forward only cursor only as fast as the client consumes them
+    public Flux<byte[]> export(Type type, String depot) {
+        Optional<Party> depotParty = Optional.empty();
+        if (depot != null) {
+            depotParty = partyCache.findByCompanyId(depot);
+            if (depotParty.isEmpty()) {
+                return Flux.empty();
+            }
+        }
+
+        String hql = depotParty.isPresent() ? type.atDepot : type.all;
+        Optional<Party> filter = depotParty;
+
+        return Flux.<byte[], Cursor>using(
+            () -> open(hql, filter),
+            cursor -> Flux.<byte[]>generate(sink -> {
+                byte[] line = cursor.next();
+                if (line == null) {
+                    sink.complete();
+                }
+                else {
+                    sink.next(line);
+                }
+            }),
+            Cursor::close)
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Cursor open(String hql, Optional<Party> depot) {
+        Session session = sessionFactory.openSession();
+        try {
+            session.setDefaultReadOnly(true);
+            session.beginTransaction();
+
+            Query<?> query = session.createQuery(hql).setFetchSize(fetchSize).setReadOnly(true);
+            depot.ifPresent(party -> query.setParameter("depot", party));
+            return new Cursor(session, query.scroll(ScrollMode.FORWARD_ONLY));
+        }
+        catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
+    private class Cursor {
+        private final Session session;
+        private final ScrollableResults results;
+        private final Deque<Object> window;
+
+        Cursor(Session session, ScrollableResults results) {
+            this.session = session;
+            this.results = results;
+            this.window = new ArrayDeque<>(fetchSize);
+        }
+
+        byte[] next() {
+            if (window.isEmpty() && !fill()) {
+                return null;
+            }
+
+            //serialized while the session is open so lazy children such as release criteria still load
+            try {
+                byte[] json = writer.writeValueAsBytes(window.poll());
+                byte[] line = new byte[json.length + 1];
+                System.arraycopy(json, 0, line, 0, json.length);
+                line[json.length] = '\n';
+                return line;
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        //reads a fetch window of rows before any is serialized, so the first lazy collection touched batch fetches the rest of the
+        //window's with it rather than one query per row. the previous window is cleared first so heap stays flat however many rows
+        //are exported
+        private boolean fill() {
+            session.clear();
+            while (window.size() < fetchSize && results.next()) {
+                window.add(results.get(0));
+            }
+            return !window.isEmpty();
+        }
+
+        void close() {
+            try {
+                results.close();
+                session.getTransaction().rollback();
+            }
+            finally {
+                session.close();
+            }
+        }
+    }
+}
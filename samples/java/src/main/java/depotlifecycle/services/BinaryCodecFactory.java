@@ -0,0 +1,35 @@
+package depotlifecycle.services;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.codec.CodecConfiguration;
+import io.micronaut.jackson.JacksonConfiguration;
+import io.micronaut.jackson.ObjectMapperFactory;
+import io.micronaut.runtime.ApplicationConfiguration;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+//smile and cbor codecs for clients that send or accept them; the mappers get the same modules and jackson settings as the json one
+@Factory
+public class BinaryCodecFactory {
+    @Singleton
+    @Named("smile")
+    BinaryMediaTypeCodec smileCodec(ObjectMapperFactory objectMapperFactory,
+                                    @Nullable JacksonConfiguration jacksonConfiguration,
+                                    ApplicationConfiguration applicationConfiguration,
+                                    @Named("smile") @Nullable CodecConfiguration codecConfiguration) {
+        return new BinaryMediaTypeCodec(objectMapperFactory.objectMapper(jacksonConfiguration, new SmileFactory()), applicationConfiguration, codecConfiguration, MediaType.of(BinaryMediaTypeCodec.SMILE));
+    }
+
+    @Singleton
+    @Named("cbor")
+    BinaryMediaTypeCodec cborCodec(ObjectMapperFactory objectMapperFactory,
+                                   @Nullable JacksonConfiguration jacksonConfiguration,
+                                   ApplicationConfiguration applicationConfiguration,
+                                   @Named("cbor") @Nullable CodecConfiguration codecConfiguration) {
+        return new BinaryMediaTypeCodec(objectMapperFactory.objectMapper(jacksonConfiguration, new CBORFactory()), applicationConfiguration, codecConfiguration, MediaType.of(BinaryMediaTypeCodec.CBOR));
+    }
+}
@@ -0,0 +1,59 @@
+package depotlifecycle.services;
+
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.codec.CodecException;
+import io.micronaut.http.codec.MediaTypeCodec;
+import io.micronaut.http.server.HttpServerConfiguration;
+import io.micronaut.http.server.netty.AbstractHttpContentProcessor;
+import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.micronaut.json.tree.JsonNode;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.util.ReferenceCountUtil;
+import org.reactivestreams.Subscriber;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+//buffers a smile or cbor body and hands it on as the same tree the json processor builds, so @Body binding and
+//the payload journal treat it like json; cbor has no non-blocking parser, so the body is parsed once it has all arrived
+class BinaryContentProcessor extends AbstractHttpContentProcessor<JsonNode> {
+    private final MediaTypeCodec codec;
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    BinaryContentProcessor(NettyHttpRequest<?> nettyHttpRequest, HttpServerConfiguration configuration, MediaTypeCodec codec) {
+        super(nettyHttpRequest, configuration);
+        this.codec = codec;
+    }
+
+    @Override
+    protected void onData(ByteBufHolder message) {
+        ByteBuf content = message.content();
+        try {
+            content.readBytes(body, content.readableBytes());
+        }
+        catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        finally {
+            ReferenceCountUtil.release(content);
+        }
+        //nothing is emitted until the body is complete, so keep pulling chunks
+        parentSubscription.request(1);
+    }
+
+    @Override
+    protected void doOnComplete() {
+        if (body.size() > 0) {
+            Subscriber<? super JsonNode> subscriber = getSubscriber();
+            try {
+                subscriber.onNext(codec.decode(Argument.of(JsonNode.class), body.toByteArray()));
+            }
+            catch (CodecException e) {
+                subscriber.onError(e);
+                return;
+            }
+        }
+        super.doOnComplete();
+    }
+}
@@ -0,0 +1,30 @@
+package depotlifecycle.services;
+
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.codec.MediaTypeCodec;
+import io.micronaut.http.codec.MediaTypeCodecRegistry;
+import io.micronaut.http.server.HttpServerConfiguration;
+import io.micronaut.http.server.netty.HttpContentProcessor;
+import io.micronaut.http.server.netty.HttpContentSubscriberFactory;
+import io.micronaut.http.server.netty.NettyHttpRequest;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+
+//micronaut only decodes json request bodies through jackson; this reads smile and cbor ones with their codecs
+@Singleton
+@Consumes({BinaryMediaTypeCodec.SMILE, BinaryMediaTypeCodec.CBOR})
+@RequiredArgsConstructor
+public class BinaryContentSubscriberFactory implements HttpContentSubscriberFactory {
+    private final MediaTypeCodecRegistry mediaTypeCodecRegistry;
+    private final HttpServerConfiguration httpServerConfiguration;
+
+    @Override
+    public HttpContentProcessor build(NettyHttpRequest request) {
+        //only asked for the media types in @Consumes, each of which has a codec
+        NettyHttpRequest<?> nettyHttpRequest = request;
+        MediaType contentType = nettyHttpRequest.getContentType().orElseThrow(IllegalStateException::new);
+        MediaTypeCodec codec = mediaTypeCodecRegistry.findCodec(contentType).orElseThrow(IllegalStateException::new);
+        return new BinaryContentProcessor(nettyHttpRequest, httpServerConfiguration, codec);
+    }
+}
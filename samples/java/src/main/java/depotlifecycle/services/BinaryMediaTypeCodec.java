@@ -0,0 +1,27 @@
+package depotlifecycle.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.codec.CodecConfiguration;
+import io.micronaut.jackson.codec.JacksonFeatures;
+import io.micronaut.jackson.codec.JacksonMediaTypeCodec;
+import io.micronaut.runtime.ApplicationConfiguration;
+
+//reads and writes the same objects as the json codec, through a jackson mapper built on a binary format's factory
+public class BinaryMediaTypeCodec extends JacksonMediaTypeCodec {
+    public static final String SMILE = "application/x-jackson-smile";
+    public static final String CBOR = "application/cbor";
+
+    public BinaryMediaTypeCodec(ObjectMapper objectMapper, ApplicationConfiguration applicationConfiguration, CodecConfiguration codecConfiguration, MediaType mediaType) {
+        super(objectMapper, applicationConfiguration, codecConfiguration, mediaType);
+    }
+
+    //@JacksonFeatures on a controller asks for a copy of the codec with those features switched on
+    @Override
+    public JacksonMediaTypeCodec cloneWithFeatures(JacksonFeatures jacksonFeatures) {
+        ObjectMapper objectMapper = getObjectMapper().copy();
+        jacksonFeatures.getSerializationFeatures().forEach(objectMapper::configure);
+        jacksonFeatures.getDeserializationFeatures().forEach(objectMapper::configure);
+        return new BinaryMediaTypeCodec(objectMapper, applicationConfiguration, codecConfiguration, mediaType);
+    }
+}
@@ -0,0 +1,44 @@
+package depotlifecycle.services;
+
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+//controllers block on hibernate, so they run on this executor rather than the netty event loop
+@Factory
+public class BlockingExecutorFactory {
+    public static final String NAME = "blocking";
+
+    private final BlockingLimit limit;
+
+    public BlockingExecutorFactory(BlockingLimit limit) {
+        this.limit = limit;
+    }
+
+    //a virtual thread per request, at most max-concurrency of them at once
+    @Singleton
+    @Named(NAME)
+    @Bean(preDestroy = "shutdown")
+    @Requires(property = "depotlifecycle.execution.virtual-threads", value = "true")
+    ExecutorService virtualThreads() {
+        return bounded(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("blocking-virtual-", 0).factory()));
+    }
+
+    //the io pool grows a thread per waiting task, so it is bounded here as well
+    @Singleton
+    @Named(NAME)
+    @Requires(property = "depotlifecycle.execution.virtual-threads", notEquals = "true")
+    ExecutorService ioPool(@Named(TaskExecutors.IO) ExecutorService io) {
+        return bounded(io);
+    }
+
+    private ExecutorService bounded(ExecutorService executor) {
+        return new BoundedExecutorService(executor, limit);
+    }
+}
@@ -0,0 +1,75 @@
+package depotlifecycle.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//how many tasks the blocking executor runs at once, and the tasks waiting for a turn. shared by BoundedExecutorService,
+//which enforces max-concurrency, and BlockingAdmissionFilter, which turns requests away once max-queued are waiting
+@Singleton
+public class BlockingLimit {
+    private final Semaphore permits;
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final int maxConcurrency;
+    private final int maxQueued;
+
+    //without max-concurrency, hikari's default pool size
+    public BlockingLimit(@Value("${depotlifecycle.execution.max-concurrency:10}") int maxConcurrency,
+                         @Value("${depotlifecycle.execution.max-queued:1000}") int maxQueued,
+                         MeterRegistry meterRegistry) {
+        if (maxConcurrency < 1 || maxQueued < 1) {
+            throw new IllegalArgumentException("depotlifecycle.execution.max-concurrency and max-queued must be at least 1.");
+        }
+
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueued = maxQueued;
+
+        Gauge.builder("depotlifecycle.executor.active", this, BlockingLimit::getActive)
+            .description("Blocking executor tasks running")
+            .register(meterRegistry);
+        Gauge.builder("depotlifecycle.executor.queued", queued, AtomicInteger::get)
+            .description("Blocking executor tasks waiting for a turn")
+            .register(meterRegistry);
+    }
+
+    public boolean isSaturated() {
+        return queued.get() >= maxQueued;
+    }
+
+    public int getActive() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    void enqueue(Runnable task) {
+        waiting.add(task);
+        queued.incrementAndGet();
+    }
+
+    Runnable poll() {
+        Runnable task = waiting.poll();
+        if (task != null) {
+            queued.decrementAndGet();
+        }
+        return task;
+    }
+
+    boolean hasWaiting() {
+        return !waiting.isEmpty();
+    }
+}
@@ -0,0 +1,91 @@
+package depotlifecycle.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+//runs at most max-concurrency tasks on the delegate at once; further tasks wait in a queue without holding a thread.
+//a task is never rejected, as that would fail a request halfway; BlockingAdmissionFilter turns requests away instead
+public class BoundedExecutorService extends AbstractExecutorService {
+    private final ExecutorService delegate;
+    private final BlockingLimit limit;
+
+    public BoundedExecutorService(ExecutorService delegate, BlockingLimit limit) {
+        this.delegate = delegate;
+        this.limit = limit;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (limit.tryAcquire()) {
+            run(command);
+            return;
+        }
+
+        limit.enqueue(command);
+        //every running task may have finished between the failed acquire and the enqueue
+        drain();
+    }
+
+    private void run(Runnable command) {
+        try {
+            delegate.execute(() -> {
+                try {
+                    command.run();
+                }
+                finally {
+                    limit.release();
+                    drain();
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            limit.release();
+            throw e;
+        }
+    }
+
+    //hands waiting tasks the permits that are free
+    private void drain() {
+        while (limit.hasWaiting() && limit.tryAcquire()) {
+            Runnable next = limit.poll();
+            if (next == null) {
+                limit.release();
+                return;
+            }
+            run(next);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = new ArrayList<>(delegate.shutdownNow());
+        for (Runnable task = limit.poll(); task != null; task = limit.poll()) {
+            pending.add(task);
+        }
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated() && !limit.hasWaiting();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,26 @@
+package depotlifecycle.services;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+//one hibernate second-level cache region, keyed by the region name entities and queries are cached under
+@Getter
+@Setter
+@EachProperty("depotlifecycle.cache-regions")
+public class CacheRegionConfiguration {
+    private final String name;
+
+    //entries kept before the least useful are evicted
+    long maximumSize = 10000;
+
+    //how long an entry is served before it is read from the database again; never expires when unset
+    Duration expireAfterWrite;
+
+    public CacheRegionConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+}
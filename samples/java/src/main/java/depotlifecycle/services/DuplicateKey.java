@@ -0,0 +1,25 @@
+package depotlifecycle.services;
+
+import io.r2dbc.spi.R2dbcException;
+
+import java.sql.SQLException;
+
+//recognises a unique or primary key violation, however hibernate, jdbc or r2dbc wrapped it
+public final class DuplicateKey {
+    private static final String SQL_STATE = "23505";
+
+    private DuplicateKey() {
+    }
+
+    public static boolean is(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException && SQL_STATE.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+            if (cause instanceof R2dbcException && SQL_STATE.equals(((R2dbcException) cause).getSqlState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
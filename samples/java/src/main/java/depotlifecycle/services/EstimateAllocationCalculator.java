@@ -0,0 +1,81 @@
+package depotlifecycle.services;
+
+import depotlifecycle.domain.Estimate;
+import depotlifecycle.domain.EstimateLineItem;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Singleton
+public class EstimateAllocationCalculator {
+    private final BigDecimal taxRate;
+
+    public EstimateAllocationCalculator(@Value("${depotlifecycle.estimate.tax-rate:0}") BigDecimal taxRate) {
+        this.taxRate = taxRate;
+    }
+
+    //prices every line once, rounded as EstimateLineItem.getTotal rounds it, and adds it to the grand total and its party's total in the same walk
+    public EstimateTotals calculate(Estimate estimate) {
+        List<BigDecimal> lineTotals = new ArrayList<>(estimate.getLineItems().size());
+        Map<String, BigDecimal> partyTotals = new HashMap<>();
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (EstimateLineItem lineItem : estimate.getLineItems()) {
+            BigDecimal lineTotal = lineTotal(lineItem);
+            lineTotals.add(lineTotal);
+            if (lineTotal == null) {
+                continue;
+            }
+
+            total = total.add(lineTotal);
+            if (lineItem.getParty() != null) {
+                partyTotals.merge(lineItem.getParty().toUpperCase(Locale.ROOT), lineTotal, BigDecimal::add);
+            }
+        }
+
+        return new EstimateTotals(total, Collections.unmodifiableMap(partyTotals), Collections.unmodifiableList(lineTotals));
+    }
+
+    //the line's total, with tax added on the parts the line's tax rule names. the rounded labor is worked out once and the total built
+    //from it, the same sum EstimateLineItem.getTotal makes
+    private BigDecimal lineTotal(EstimateLineItem lineItem) {
+        if (lineItem.getMaterialCost() == null) {
+            return null;
+        }
+        BigDecimal labor = lineItem.getLaborCost();
+        if (labor == null) {
+            return null;
+        }
+
+        BigDecimal material = lineItem.getMaterialCost().setScale(EstimateLineItem.CURRENCY_PRECISION, RoundingMode.HALF_EVEN);
+        BigDecimal lineTotal = labor.add(material);
+        if (taxRate.signum() == 0 || lineItem.getTaxRule() == null) {
+            return lineTotal;
+        }
+
+        BigDecimal taxable;
+        switch (lineItem.getTaxRule().toUpperCase(Locale.ROOT)) {
+            case "B":
+                taxable = lineTotal;
+                break;
+            case "L":
+                taxable = labor;
+                break;
+            case "M":
+                taxable = material;
+                break;
+            default:
+                return lineTotal;
+        }
+
+        return lineTotal.add(taxable.multiply(taxRate).setScale(EstimateLineItem.CURRENCY_PRECISION, RoundingMode.HALF_EVEN));
+    }
+}
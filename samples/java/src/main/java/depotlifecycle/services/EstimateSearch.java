@@ -0,0 +1,87 @@
+package depotlifecycle.services;
+
+import depotlifecycle.EstimateSummary;
+import depotlifecycle.domain.Estimate;
+import depotlifecycle.domain.Party;
+import io.micronaut.transaction.annotation.ReadOnly;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Singleton
+@RequiredArgsConstructor
+public class EstimateSearch {
+    public static final int PAGE_SIZE = 10;
+
+    private final EntityManager entityManager;
+    private final PartyCache partyCache;
+
+    //newest revisions first; the cursor is the id of the last summary returned so deep pages cost the same as the first
+    @ReadOnly
+    public SearchPage<EstimateSummary> search(String estimateNumber, String unitNumber, String depot, String lessee, Integer revision, Long cursor) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EstimateSummary> query = builder.createQuery(EstimateSummary.class);
+        Root<Estimate> estimate = query.from(Estimate.class);
+        Join<Estimate, Party> depotParty = estimate.join("depot");
+        Join<Estimate, Party> customerParty = estimate.join("customer", JoinType.LEFT);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (estimateNumber != null) {
+            predicates.add(builder.equal(estimate.get("estimateNumber"), estimateNumber));
+        }
+        if (unitNumber != null) {
+            predicates.add(builder.equal(estimate.get("unitNumber"), unitNumber));
+        }
+        if (revision != null) {
+            predicates.add(builder.equal(estimate.get("revision"), revision));
+        }
+        //parties are matched on their foreign key so the party table is never filtered
+        if (depot != null) {
+            Optional<Party> party = partyCache.findByCompanyId(depot);
+            if (party.isEmpty()) {
+                return SearchPage.empty();
+            }
+            predicates.add(builder.equal(estimate.get("depot"), party.get()));
+        }
+        if (lessee != null) {
+            Optional<Party> party = partyCache.findByCompanyId(lessee);
+            if (party.isEmpty()) {
+                return SearchPage.empty();
+            }
+            predicates.add(builder.equal(estimate.get("customer"), party.get()));
+        }
+        if (cursor != null) {
+            predicates.add(builder.lessThan(estimate.get("id"), cursor));
+        }
+
+        query.select(builder.construct(EstimateSummary.class,
+                estimate.get("id"),
+                estimate.get("estimateNumber"),
+                estimate.get("revision"),
+                estimate.get("unitNumber"),
+                estimate.get("condition"),
+                estimate.get("estimateTime"),
+                depotParty.get("companyId"),
+                customerParty.get("companyId"),
+                estimate.get("currency"),
+                estimate.get("total")))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(builder.desc(estimate.get("id")));
+
+        List<EstimateSummary> estimates = entityManager.createQuery(query)
+            .setMaxResults(PAGE_SIZE + 1)
+            .getResultList();
+
+        return SearchPage.of(estimates, PAGE_SIZE, EstimateSummary::getId);
+    }
+}
@@ -0,0 +1,26 @@
+package depotlifecycle.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Getter
+@RequiredArgsConstructor
+public class EstimateTotals {
+    //sum of every line that could be priced
+    private final BigDecimal total;
+
+    //keyed by upper case party code
+    private final Map<String, BigDecimal> partyTotals;
+
+    //in line item order; null where a line is missing hours, material cost or labor rate
+    private final List<BigDecimal> lineTotals;
+
+    public BigDecimal getPartyTotal(String party) {
+        return partyTotals.getOrDefault(party.toUpperCase(Locale.ROOT), BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,261 @@
+package depotlifecycle.services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import depotlifecycle.ErrorResponse;
+import depotlifecycle.GateBulkResult;
+import depotlifecycle.GateResponse;
+import depotlifecycle.domain.GateCreateRequest;
+import depotlifecycle.repositories.GateCreateRequestRepository;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.transaction.TransactionOperations;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Singleton
+public class GateBulkImport {
+    private static final Logger LOG = LoggerFactory.getLogger(GateBulkImport.class);
+    private static final String NOT_A_LIST = "Bulk gates must be a JSON array or newline delimited JSON.";
+
+    private final EntityManager entityManager;
+    private final TransactionOperations<Connection> transactionOperations;
+    private final GateCreateRequestRepository gateCreateRequestRepository;
+    private final GateStatusIndex gateStatusIndex;
+    private final PartyResolver partyResolver;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader reader;
+    private final int batchSize;
+    private final int chunkSize;
+
+    public GateBulkImport(EntityManager entityManager, TransactionOperations<Connection> transactionOperations, GateCreateRequestRepository gateCreateRequestRepository,
+                          GateStatusIndex gateStatusIndex, PartyResolver partyResolver, Validator validator, ObjectMapper objectMapper,
+                          @Value("${jpa.default.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+                          @Value("${depotlifecycle.gate.bulk.chunk-size:1000}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.transactionOperations = transactionOperations;
+        this.gateCreateRequestRepository = gateCreateRequestRepository;
+        this.gateStatusIndex = gateStatusIndex;
+        this.partyResolver = partyResolver;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.reader = objectMapper.readerFor(GateCreateRequest.class);
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    //the body is parsed as it arrives, one gate at a time; every gate is validated before any is written, then valid gates are
+    //committed chunk by chunk so one bad chunk does not undo the rest
+    public List<GateBulkResult> importAll(InputStream body, boolean ndjson, boolean rejectExisting, String inspectionCriteria, Function<GateCreateRequest, GateResponse> responder) {
+        List<GateBulkResult> results = new ArrayList<>();
+        List<GateCreateRequest> gates = new ArrayList<>();
+        Map<String, Integer> seen = new HashMap<>();
+        read(body, ndjson, node -> {
+            GateBulkResult result = new GateBulkResult();
+            result.setIndex(results.size());
+            results.add(result);
+
+            GateCreateRequest gate = null;
+            if (node == null) {
+                rejected(result, "Gate is not valid JSON.");
+            }
+            else {
+                try {
+                    gate = reader.readValue(node);
+                }
+                catch (IOException e) {
+                    rejected(result, "Gate could not be read: " + e.getMessage());
+                }
+            }
+
+            if (gate != null) {
+                String problem = validate(gate);
+                if (problem == null) {
+                    //a repeated gate would be saved twice, as nothing in the table keys a gate
+                    Integer first = seen.putIfAbsent(String.join("\n", gate.getAdviceNumber(), gate.getUnitNumber(), gate.getType()), result.getIndex());
+                    if (first != null) {
+                        problem = "Gate repeats the gate at index " + first + " of this request.";
+                    }
+                }
+                if (problem != null) {
+                    rejected(result, problem);
+                    gate = null;
+                }
+            }
+            gates.add(gate);
+        });
+
+        partyResolver.resolveAll(gates.stream().filter(Objects::nonNull).map(GateCreateRequest::getDepot).collect(Collectors.toList()));
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < gates.size(); i++) {
+            GateCreateRequest gate = gates.get(i);
+            if (gate == null) {
+                continue;
+            }
+
+            if (rejectExisting && gateCreateRequestRepository.existsByAdviceNumberAndUnitNumberAndType(gate.getAdviceNumber(), gate.getUnitNumber(), gate.getType())) {
+                rejected(results.get(i), "Gate already exists; please update instead.");
+                continue;
+            }
+
+            gate.setDepot(partyResolver.resolve(gate.getDepot()));
+            accepted.add(i);
+        }
+
+        for (int start = 0; start < accepted.size(); start += chunkSize) {
+            List<Integer> chunk = accepted.subList(start, Math.min(start + chunkSize, accepted.size()));
+            try {
+                commit(chunk.stream().map(gates::get).collect(Collectors.toList()), inspectionCriteria);
+                for (Integer index : chunk) {
+                    saved(results.get(index), gates.get(index), responder);
+                }
+            }
+            catch (RuntimeException e) {
+                //the chunk rolled back as a whole; saving its gates one by one finds the ones that failed it
+                LOG.warn("Bulk gate chunk of {} failed; saving its gates one at a time", chunk.size(), e);
+                for (Integer index : chunk) {
+                    GateCreateRequest gate = gates.get(index);
+                    try {
+                        commit(List.of(gate), inspectionCriteria);
+                        saved(results.get(index), gate, responder);
+                    }
+                    catch (RuntimeException rowError) {
+                        rejected(results.get(index), "Gate could not be saved: " + rowError.getMessage());
+                    }
+                }
+            }
+        }
+
+        LOG.info("Bulk gate import saved {} of {} gates", results.stream().filter(result -> result.getStatus() == 200).count(), results.size());
+        return results;
+    }
+
+    //hands each gate to the consumer as a tree, or null for an ndjson line that is not json, so a gate that fails to bind only fails itself
+    private void read(InputStream body, boolean ndjson, Consumer<JsonNode> consumer) {
+        try {
+            if (ndjson) {
+                //a malformed line only fails that line; it is handed on as null so its index still lines up
+                BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+                for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+
+                    JsonNode node;
+                    try {
+                        node = objectMapper.readTree(line);
+                    }
+                    catch (JsonProcessingException e) {
+                        node = null;
+                    }
+                    consumer.accept(node);
+                }
+                return;
+            }
+
+            try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IllegalArgumentException(NOT_A_LIST);
+                }
+                for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                    if (token == null) {
+                        throw new IllegalArgumentException(NOT_A_LIST);
+                    }
+                    consumer.accept(objectMapper.readTree(parser));
+                }
+            }
+            catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(NOT_A_LIST);
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void commit(List<GateCreateRequest> gates, String inspectionCriteria) {
+        try {
+            transactionOperations.executeWrite(status -> {
+                save(gates, inspectionCriteria);
+                return null;
+            });
+        }
+        catch (RuntimeException e) {
+            //the rolled back inserts still assigned ids; clear them so the gates can be persisted again
+            for (GateCreateRequest gate : gates) {
+                gate.setId(null);
+                gate.getPhotos().forEach(photo -> photo.setId(null));
+            }
+            throw e;
+        }
+    }
+
+    private void save(List<GateCreateRequest> gates, String inspectionCriteria) {
+        //flushing every jdbc batch keeps the inserts in full batches and the persistence context from growing with the chunk
+        for (int i = 0; i < gates.size(); i++) {
+            entityManager.persist(gates.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        gateStatusIndex.gatesCreated(gates, inspectionCriteria);
+    }
+
+    //every constraint the gate breaks, in property order, so one row reports all of its problems at once
+    private String validate(GateCreateRequest gate) {
+        Set<ConstraintViolation<GateCreateRequest>> violations = validator.validate(gate);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    private static void saved(GateBulkResult result, GateCreateRequest gate, Function<GateCreateRequest, GateResponse> responder) {
+        result.setStatus(200);
+        result.setGate(responder.apply(gate));
+    }
+
+    private static void rejected(GateBulkResult result, String message) {
+        ErrorResponse error = new ErrorResponse();
+        error.setCode("ERR000");
+        error.setMessage(message);
+
+        result.setStatus(400);
+        result.setGate(null);
+        result.setError(error);
+    }
+}
@@ -0,0 +1,213 @@
+package depotlifecycle.services;
+
+import depotlifecycle.GateStatus;
+import depotlifecycle.domain.CurrentGateStatus;
+import depotlifecycle.domain.GateCreateRequest;
+import depotlifecycle.domain.GateUpdateRequest;
+import depotlifecycle.domain.Party;
+import depotlifecycle.events.GateStatusChange;
+import depotlifecycle.events.LifecycleEvent;
+import depotlifecycle.repositories.CurrentGateStatusRepository;
+import depotlifecycle.repositories.GateCreateRequestRepository;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.transaction.annotation.TransactionalEventListener;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Singleton
+@RequiredArgsConstructor
+public class GateStatusIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(GateStatusIndex.class);
+
+    private final CurrentGateStatusRepository currentGateStatusRepository;
+    private final GateCreateRequestRepository gateCreateRequestRepository;
+    private final ApplicationEventPublisher<GateStatusChange> eventPublisher;
+    private final ApplicationEventPublisher<LifecycleEvent> lifecycleEventPublisher;
+    private final Map<String, GateStatus> index = new ConcurrentHashMap<>();
+
+    //loaded before the http server starts, so from then on a miss means the unit has no gate record
+    @EventListener
+    void load(StartupEvent event) {
+        for (CurrentGateStatus current : currentGateStatusRepository.findAll()) {
+            index.put(current.getUnitNumber(), toGateStatus(current));
+        }
+        LOG.info("Loaded {} current gate statuses", index.size());
+    }
+
+    public Optional<GateStatus> find(String unitNumber) {
+        return Optional.ofNullable(index.get(unitNumber));
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void gateCreated(GateCreateRequest request, String inspectionCriteria) {
+        created(currentGateStatusRepository.findById(request.getUnitNumber()), request, inspectionCriteria);
+    }
+
+    //one lookup for the whole batch; when a unit gates more than once in it only its latest activity is applied
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void gatesCreated(List<GateCreateRequest> requests, String inspectionCriteria) {
+        Map<String, GateCreateRequest> latest = new LinkedHashMap<>();
+        for (GateCreateRequest request : requests) {
+            latest.merge(request.getUnitNumber(), request, (previous, next) -> previous.getActivityTime().isAfter(next.getActivityTime()) ? previous : next);
+        }
+
+        Map<String, CurrentGateStatus> existing = new HashMap<>();
+        for (CurrentGateStatus current : currentGateStatusRepository.findByUnitNumberIn(latest.keySet())) {
+            existing.put(current.getUnitNumber(), current);
+        }
+
+        for (GateCreateRequest request : latest.values()) {
+            created(Optional.ofNullable(existing.get(request.getUnitNumber())), request, inspectionCriteria);
+        }
+    }
+
+    private void created(Optional<CurrentGateStatus> existing, GateCreateRequest request, String inspectionCriteria) {
+        if (existing.isPresent() && existing.get().getActivityTime().isAfter(request.getActivityTime())) {
+            //a late arriving gate does not replace a more recent one
+            return;
+        }
+
+        CurrentGateStatus current = existing.orElseGet(CurrentGateStatus::new);
+        current.setUnitNumber(request.getUnitNumber());
+        current.setAdviceNumber(request.getAdviceNumber());
+        current.setDepot(request.getDepot());
+        current.setStatus(request.getStatus());
+        current.setActivityTime(request.getActivityTime());
+        current.setType(request.getType());
+        current.setCurrentInspectionCriteria(inspectionCriteria);
+
+        changed(GateStatusChange.Activity.CREATED, existing.isPresent() ? currentGateStatusRepository.update(current) : currentGateStatusRepository.save(current));
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void gateUpdated(String depot, String adviceNumber, String unitNumber, GateUpdateRequest request) {
+        Optional<CurrentGateStatus> existing = findCurrent(depot, adviceNumber, unitNumber)
+            .filter(current -> request.getType() == null || request.getType().equals(current.getType()));
+        if (existing.isEmpty()) {
+            return;
+        }
+
+        CurrentGateStatus current = existing.get();
+        if (request.getStatus() != null) {
+            current.setStatus(request.getStatus());
+        }
+        if (request.getActivityTime() != null) {
+            current.setActivityTime(request.getActivityTime());
+        }
+
+        changed(GateStatusChange.Activity.UPDATED, currentGateStatusRepository.update(current));
+    }
+
+    //the unit falls back to its latest gate that has not been deleted. updates made to that gate are not replayed, as a gate
+    //update does not record which gate it changed
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void gateDeleted(String depot, String adviceNumber, String unitNumber) {
+        findCurrent(depot, adviceNumber, unitNumber).ifPresent(current -> {
+            Optional<GateCreateRequest> remaining = gateCreateRequestRepository.findRemainingByUnitNumber(unitNumber, Pageable.from(0, 1)).stream().findFirst();
+            if (remaining.isEmpty()) {
+                currentGateStatusRepository.delete(current);
+                eventPublisher.publishEvent(new GateStatusChange(GateStatusChange.Activity.DELETED, unitNumber, depot, adviceNumber, null));
+                return;
+            }
+
+            //the inspection criteria belongs to the unit rather than the gate, so it is kept
+            GateCreateRequest gate = remaining.get();
+            current.setAdviceNumber(gate.getAdviceNumber());
+            current.setDepot(gate.getDepot());
+            current.setStatus(gate.getStatus());
+            current.setActivityTime(gate.getActivityTime());
+            current.setType(gate.getType());
+
+            eventPublisher.publishEvent(new GateStatusChange(GateStatusChange.Activity.DELETED, unitNumber, depot, adviceNumber, toGateStatus(currentGateStatusRepository.update(current))));
+        });
+    }
+
+    //the index only sees committed changes; a rolled back gate leaves it untouched
+    @TransactionalEventListener
+    void onGateStatusChange(GateStatusChange change) {
+        apply(change);
+    }
+
+    //for writers outside a hibernate transaction, called once their own transaction has committed.
+    //commits of the same unit can reach here in either order, so the index keeps to the rules the database path applied
+    public void apply(GateStatusChange change) {
+        if (change.getActivity() == GateStatusChange.Activity.DELETED) {
+            //only a delete of the gate the index still holds applies; the unit then falls back to its remaining gate, if any
+            index.computeIfPresent(change.getUnitNumber(), (unitNumber, current) -> current.getAdviceNumber().equals(change.getAdviceNumber()) ? change.getStatus() : current);
+        }
+        else {
+            index.merge(change.getUnitNumber(), change.getStatus(), (current, next) -> supersedes(current, change) ? current : next);
+        }
+
+        //every committed gate change passes through here, whichever pipeline wrote it
+        lifecycleEventPublisher.publishEvent(new LifecycleEvent(LifecycleEvent.gate(change.getActivity()), change.getDepot(), null, change));
+    }
+
+    //a late arriving gate does not replace a more recent one, though a correction to the current gate always applies
+    private static boolean supersedes(GateStatus current, GateStatusChange change) {
+        if (change.getActivity() == GateStatusChange.Activity.UPDATED && current.getAdviceNumber().equals(change.getAdviceNumber())) {
+            return false;
+        }
+        return current.getActivityTime().isAfter(change.getStatus().getActivityTime());
+    }
+
+    private Optional<CurrentGateStatus> findCurrent(String depot, String adviceNumber, String unitNumber) {
+        return currentGateStatusRepository.findById(unitNumber)
+            .filter(current -> current.getAdviceNumber().equals(adviceNumber) && current.getDepot().getCompanyId().equals(depot));
+    }
+
+    private void changed(GateStatusChange.Activity activity, CurrentGateStatus current) {
+        eventPublisher.publishEvent(new GateStatusChange(activity, current.getUnitNumber(), current.getDepot().getCompanyId(), current.getAdviceNumber(), toGateStatus(current)));
+    }
+
+    static GateStatus toGateStatus(CurrentGateStatus current) {
+        GateStatus status = new GateStatus();
+        status.setAdviceNumber(current.getAdviceNumber());
+        status.setDepot(copy(current.getDepot()));
+        status.setStatus(current.getStatus());
+        status.setActivityTime(current.getActivityTime());
+        status.setCurrentInspectionCriteria(current.getCurrentInspectionCriteria());
+        return status;
+    }
+
+    //the index is read by every thread and outlives the session the depot was loaded in, so it keeps a copy no session manages
+    private static Party copy(Party depot) {
+        Party copy = new Party();
+        copy.setId(depot.getId());
+        copy.setCompanyId(depot.getCompanyId());
+        copy.setUserCode(depot.getUserCode());
+        copy.setUserName(depot.getUserName());
+        copy.setFaxNumber(copy(depot.getFaxNumber()));
+        copy.setPhoneNumber(copy(depot.getPhoneNumber()));
+        copy.setEmailAddress(copy(depot.getEmailAddress()));
+        copy.setName(depot.getName());
+        copy.setCode(depot.getCode());
+        copy.setStreetAddress(copy(depot.getStreetAddress()));
+        copy.setCity(depot.getCity());
+        copy.setCountry(depot.getCountry());
+        copy.setPostalCode(depot.getPostalCode());
+        copy.setStateProvince(depot.getStateProvince());
+        copy.setLatitude(depot.getLatitude());
+        copy.setLongitude(depot.getLongitude());
+        return copy;
+    }
+
+    private static List<String> copy(List<String> values) {
+        return values == null ? null : Collections.unmodifiableList(new ArrayList<>(values));
+    }
+}
@@ -0,0 +1,23 @@
+package depotlifecycle.services;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties("depotlifecycle.idempotency")
+public class IdempotencyConfiguration {
+    boolean enabled = true;
+
+    //how long a stored response answers retries before the key can be reused
+    Duration retention = Duration.ofHours(24);
+
+    //a key whose first attempt has gone unanswered this long, for example because its server stopped, may be claimed again
+    Duration lockTimeout = Duration.ofMinutes(5);
+
+    //longer Idempotency-Key headers are rejected with a 400
+    int maximumKeyLength = 255;
+}
@@ -0,0 +1,147 @@
+package depotlifecycle.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import depotlifecycle.domain.IdempotentResponse;
+import depotlifecycle.repositories.IdempotentResponseRepository;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+//recent responses are answered from the bounded cache; the table covers evictions and restarts. a key is claimed by inserting its
+//row before the request runs, so its primary key stops two servers running the same key, and the row is completed with the response
+@Singleton
+public class IdempotencyStore {
+    public static final String NAME = "idempotency";
+    private static final Logger LOG = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final SyncCache<Cache<Object, Object>> cache;
+    private final IdempotentResponseRepository idempotentResponseRepository;
+    private final IdempotencyConfiguration configuration;
+    private final Map<String, Boolean> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(@Named(NAME) SyncCache<Cache<Object, Object>> cache, IdempotentResponseRepository idempotentResponseRepository, IdempotencyConfiguration configuration) {
+        this.cache = cache;
+        this.idempotentResponseRepository = idempotentResponseRepository;
+        this.configuration = configuration;
+    }
+
+    //keys are scoped to the caller and the resource, so two depots can use the same key without colliding
+    public static String id(String user, String method, String path, String key) {
+        return digest(String.join("\n", user, method, path, key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String digest(byte[] bytes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest(bytes));
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    //never reads the database, so it is safe to call from the event loop
+    public Optional<IdempotentResponse> getIfPresent(String id) {
+        return cache.get(id, IdempotentResponse.class).filter(this::isCurrent);
+    }
+
+    public Optional<IdempotentResponse> find(String id) {
+        Optional<IdempotentResponse> cached = getIfPresent(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        Optional<IdempotentResponse> stored = idempotentResponseRepository.findById(id).filter(this::isAnswered).filter(this::isCurrent);
+        stored.ifPresent(response -> cache.put(id, response));
+        return stored;
+    }
+
+    //false while another request with the same key is still running, here or on another server, or once the key has been answered
+    public boolean claim(String id) {
+        if (inFlight.putIfAbsent(id, Boolean.TRUE) != null) {
+            return false;
+        }
+
+        try {
+            //the request that held the key may have finished between the caller's lookup and this claim
+            if (find(id).isEmpty() && insertOrTakeOver(id)) {
+                return true;
+            }
+        }
+        catch (RuntimeException e) {
+            release(id);
+            throw e;
+        }
+
+        release(id);
+        return false;
+    }
+
+    private boolean insertOrTakeOver(String id) {
+        Instant now = Instant.now();
+        try {
+            idempotentResponseRepository.save(new IdempotentResponse(id, null, null, null, null, now));
+            return true;
+        }
+        catch (RuntimeException e) {
+            if (!DuplicateKey.is(e)) {
+                throw e;
+            }
+        }
+
+        //an expired response that has not been purged yet, or a claim whose server never answered, is claimed over
+        return idempotentResponseRepository.reclaim(id, now, now.minus(configuration.getRetention()), now.minus(configuration.getLockTimeout())) > 0;
+    }
+
+    public void release(String id) {
+        inFlight.remove(id);
+    }
+
+    //cached before the first caller is answered, so a retry racing the update is still replayed
+    public void remember(IdempotentResponse response) {
+        cache.put(response.getId(), response);
+    }
+
+    //completes the claimed row with the response
+    public void complete(IdempotentResponse response) {
+        idempotentResponseRepository.update(response);
+    }
+
+    //gives up a claimed key whose response is not kept, so a retry runs again
+    public void abandon(String id) {
+        try {
+            idempotentResponseRepository.deleteByIdAndStatusIsNull(id);
+        }
+        catch (RuntimeException e) {
+            LOG.warn("Unable to release idempotency key {}; it can be claimed again after {}", id, configuration.getLockTimeout(), e);
+        }
+    }
+
+    @Scheduled(fixedDelay = "15m", initialDelay = "15m")
+    void purge() {
+        int purged = idempotentResponseRepository.deleteByCreatedBefore(Instant.now().minus(configuration.getRetention()));
+        if (purged > 0) {
+            LOG.info("Purged {} expired idempotent responses", purged);
+        }
+    }
+
+    private boolean isAnswered(IdempotentResponse response) {
+        return response.getStatus() != null;
+    }
+
+    private boolean isCurrent(IdempotentResponse response) {
+        return response.getCreated().plus(configuration.getRetention()).isAfter(Instant.now());
+    }
+}
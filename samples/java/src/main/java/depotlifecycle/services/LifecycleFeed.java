@@ -0,0 +1,73 @@
+package depotlifecycle.services;
+
+import depotlifecycle.events.LifecycleEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.http.sse.Event;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+//fans committed lifecycle events out to every open event stream
+@Singleton
+public class LifecycleFeed {
+    public static final String LAGGING = "lagging";
+    public static final String HEARTBEAT = "heartbeat";
+
+    //best effort: a subscriber without demand misses events rather than holding up the others
+    private final Sinks.Many<Event<LifecycleEvent>> sink = Sinks.many().multicast().directBestEffort();
+    private final AtomicLong sequence = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+    private final int bufferSize;
+    private final Duration heartbeat;
+
+    public LifecycleFeed(MeterRegistry meterRegistry,
+                         @Value("${depotlifecycle.feed.buffer-size:4096}") int bufferSize,
+                         @Value("${depotlifecycle.feed.heartbeat:15s}") Duration heartbeat) {
+        this.meterRegistry = meterRegistry;
+        this.bufferSize = bufferSize;
+        this.heartbeat = heartbeat;
+        meterRegistry.gauge("depotlifecycle.feed.subscribers", sink, Sinks.Many::currentSubscriberCount);
+    }
+
+    @EventListener
+    void onLifecycleEvent(LifecycleEvent event) {
+        //built once and shared; every stream writes the same id and name
+        Event<LifecycleEvent> sse = Event.of(event).id(Long.toString(sequence.incrementAndGet())).name(event.getType());
+
+        //events are published from many request threads, but a sink only accepts one emitter at a time
+        synchronized (sink) {
+            sink.tryEmitNext(sse);
+        }
+    }
+
+    //each stream buffers up to bufferSize events for a slow reader; beyond that it is told it is lagging and closed
+    public Flux<Event<?>> follow(String depot, String owner, Set<String> types) {
+        Flux<Event<LifecycleEvent>> events = sink.asFlux()
+            .filter(sse -> matches(sse.getData(), depot, owner, types))
+            .onBackpressureBuffer(bufferSize, BufferOverflowStrategy.ERROR);
+
+        Flux<Event<String>> heartbeats = Flux.interval(heartbeat)
+            .onBackpressureDrop()
+            .map(tick -> Event.of("").name(HEARTBEAT));
+
+        return Flux.<Event<?>>merge(events, heartbeats)
+            .onErrorResume(Exceptions::isOverflow, e -> {
+                meterRegistry.counter("depotlifecycle.feed.lagging").increment();
+                return Flux.just(Event.of("more than " + bufferSize + " events behind; reconnect to resume").name(LAGGING));
+            });
+    }
+
+    private static boolean matches(LifecycleEvent event, String depot, String owner, Set<String> types) {
+        return (depot == null || depot.equals(event.getDepot()))
+            && (owner == null || owner.equals(event.getOwner()))
+            && (types.isEmpty() || types.contains(event.getType()));
+    }
+}
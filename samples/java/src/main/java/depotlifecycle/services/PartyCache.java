@@ -0,0 +1,136 @@
+package depotlifecycle.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import depotlifecycle.domain.Party;
+import depotlifecycle.repositories.PartyRepository;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.runtime.server.event.ServerStartupEvent;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+//finds parties by companyId. the hibernate second-level cache region "party" is the one copy of party state and is authoritative:
+//hibernate writes it through when a change commits and hands every session its own instance. this cache only maps a companyId to
+//its party's id, which never changes, so a lookup costs an index hit and a region hit, and no query
+@Singleton
+public class PartyCache implements PostCommitDeleteEventListener {
+    public static final String NAME = "parties";
+    public static final String REGION = "party";
+    private static final Logger LOG = LoggerFactory.getLogger(PartyCache.class);
+
+    private final SyncCache<Cache<Object, Object>> ids;
+    private final PartyRepository partyRepository;
+    private final SessionFactory sessionFactory;
+
+    public PartyCache(@Named(NAME) SyncCache<Cache<Object, Object>> ids, PartyRepository partyRepository, SessionFactory sessionFactory) {
+        this.ids = ids;
+        this.partyRepository = partyRepository;
+        this.sessionFactory = sessionFactory;
+    }
+
+    //updates need nothing here, as the region is written through; a deleted party's companyId could be reused by a new row
+    @EventListener
+    void register(StartupEvent event) {
+        EventListenerRegistry registry = sessionFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    //loading every party also puts it in the region
+    @EventListener
+    void warm(ServerStartupEvent event) {
+        int count = 0;
+        for (Party party : partyRepository.findAll()) {
+            put(party);
+            count++;
+        }
+        LOG.info("Warmed party cache with {} parties", count);
+    }
+
+    public Optional<Party> findByCompanyId(String companyId) {
+        Optional<Party> party = id(companyId).flatMap(partyRepository::findById);
+        if (party.isPresent()) {
+            return party;
+        }
+
+        party = partyRepository.findByCompanyId(companyId);
+        party.ifPresent(this::put);
+        return party;
+    }
+
+    public Map<String, Party> findByCompanyIdIn(Collection<String> companyIds) {
+        Map<String, Party> found = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String companyId : companyIds) {
+            Optional<Party> party = id(companyId).flatMap(partyRepository::findById);
+            if (party.isPresent()) {
+                found.put(companyId, party.get());
+            }
+            else {
+                missing.add(companyId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (Party party : partyRepository.findByCompanyIdIn(missing)) {
+                if (found.putIfAbsent(party.getCompanyId(), party) == null) {
+                    put(party);
+                }
+            }
+        }
+
+        return found;
+    }
+
+    public CacheStats getStats() {
+        return ids.getNativeCache().stats();
+    }
+
+    public long getSize() {
+        return ids.getNativeCache().estimatedSize();
+    }
+
+    public CacheRegionStatistics getRegionStats() {
+        return sessionFactory.getStatistics().getDomainDataRegionStatistics(REGION);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        ids.invalidate(((Party) event.getEntity()).getCompanyId());
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return Party.class.equals(persister.getMappedClass());
+    }
+
+    private Optional<Long> id(String companyId) {
+        return ids.get(companyId, Long.class);
+    }
+
+    private void put(Party party) {
+        ids.put(party.getCompanyId(), party.getId());
+    }
+}
@@ -0,0 +1,160 @@
+package depotlifecycle.services;
+
+import depotlifecycle.domain.Party;
+import depotlifecycle.repositories.PartyRepository;
+import io.micronaut.runtime.http.scope.RequestScope;
+import io.micronaut.transaction.TransactionDefinition;
+import io.micronaut.transaction.TransactionOperations;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+//a party is identified by its companyId alone: the first document to name one creates its row, and later documents naming it update
+//the details they send (name, contacts, address); a detail a document leaves out keeps its stored value.
+//new parties are committed before the document is saved, so a document that then fails validation or rolls back leaves its new
+//parties behind. that is accepted: a party is reference data keyed by companyId, and the next document naming it reuses the row
+@RequestScope
+@RequiredArgsConstructor
+public class PartyResolver {
+    private static final Logger LOG = LoggerFactory.getLogger(PartyResolver.class);
+    private static final int INSERT_ATTEMPTS = 3;
+    private static final List<Detail<?>> DETAILS = List.of(
+        new Detail<>(Party::getUserCode, Party::setUserCode), new Detail<>(Party::getUserName, Party::setUserName),
+        new Detail<>(Party::getName, Party::setName), new Detail<>(Party::getCode, Party::setCode),
+        new Detail<>(Party::getFaxNumber, Party::setFaxNumber), new Detail<>(Party::getPhoneNumber, Party::setPhoneNumber),
+        new Detail<>(Party::getEmailAddress, Party::setEmailAddress), new Detail<>(Party::getStreetAddress, Party::setStreetAddress),
+        new Detail<>(Party::getCity, Party::setCity), new Detail<>(Party::getCountry, Party::setCountry),
+        new Detail<>(Party::getPostalCode, Party::setPostalCode), new Detail<>(Party::getStateProvince, Party::setStateProvince),
+        new Detail<>(Party::getLatitude, Party::setLatitude), new Detail<>(Party::getLongitude, Party::setLongitude));
+
+    private final PartyRepository partyRepository;
+    private final PartyCache partyCache;
+    private final TransactionOperations<Connection> transactionOperations;
+    private final Map<String, Party> resolved = new HashMap<>();
+
+    //not @Transactional: reads and detail updates join the caller's transaction, and inserts run in their own
+    public void resolveAll(Collection<Party> parties) {
+        Map<String, Party> missing = new LinkedHashMap<>();
+        for (Party party : parties) {
+            if (party == null) {
+                continue;
+            }
+
+            if (Objects.isNull(party.getCompanyId())) {
+                throw new IllegalArgumentException("Party companyId is required.");
+            }
+
+            if (!resolved.containsKey(party.getCompanyId())) {
+                missing.putIfAbsent(party.getCompanyId(), party);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        found(missing, partyCache.findByCompanyIdIn(missing.keySet()).values());
+
+        for (int attempt = 1; !missing.isEmpty(); attempt++) {
+            try {
+                insert(missing);
+            }
+            catch (RuntimeException e) {
+                //another request inserted some of these companyIds first and ux_party_company_id refused ours; use its rows and retry the rest
+                int before = missing.size();
+                found(missing, partyRepository.findByCompanyIdIn(missing.keySet()));
+                if (missing.size() == before || attempt == INSERT_ATTEMPTS) {
+                    throw e;
+                }
+                LOG.debug("Parties were created concurrently; {} still to insert", missing.size());
+            }
+        }
+    }
+
+    public Party resolve(Party party) {
+        if (party == null) {
+            return null;
+        }
+
+        if (!resolved.containsKey(party.getCompanyId())) {
+            resolveAll(Collections.singletonList(party));
+        }
+
+        return resolved.get(party.getCompanyId());
+    }
+
+    //committed straight away, so a unique key clash only costs this insert and not the caller's whole transaction
+    private void insert(Map<String, Party> missing) {
+        List<Party> parties = List.copyOf(missing.values());
+        try {
+            Iterable<Party> created = transactionOperations.execute(TransactionDefinition.of(TransactionDefinition.Propagation.REQUIRES_NEW),
+                status -> partyRepository.saveAll(parties));
+            for (Party party : created) {
+                resolved.put(party.getCompanyId(), party);
+            }
+            missing.clear();
+        }
+        catch (RuntimeException e) {
+            //the rolled back insert still assigned ids; clear them so the parties can be persisted again
+            parties.forEach(party -> party.setId(null));
+            throw e;
+        }
+    }
+
+    private void found(Map<String, Party> missing, Iterable<Party> existing) {
+        List<Party> changed = new ArrayList<>();
+        for (Party party : existing) {
+            Party incoming = missing.remove(party.getCompanyId());
+            if (resolved.putIfAbsent(party.getCompanyId(), party) == null && incoming != null && merge(incoming, party)) {
+                changed.add(party);
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            LOG.debug("Updating the details of {} parties", changed.size());
+            for (Party party : partyRepository.updateAll(changed)) {
+                resolved.put(party.getCompanyId(), party);
+            }
+        }
+    }
+
+    //copies the details the document sent onto the stored party; a detail it leaves out is kept
+    private static boolean merge(Party incoming, Party stored) {
+        boolean changed = false;
+        for (Detail<?> detail : DETAILS) {
+            changed |= detail.merge(incoming, stored);
+        }
+        return changed;
+    }
+
+    private static final class Detail<T> {
+        private final Function<Party, T> getter;
+        private final BiConsumer<Party, T> setter;
+
+        private Detail(Function<Party, T> getter, BiConsumer<Party, T> setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        private boolean merge(Party incoming, Party stored) {
+            T value = getter.apply(incoming);
+            if (value == null || (value instanceof Collection && ((Collection<?>) value).isEmpty()) || value.equals(getter.apply(stored))) {
+                return false;
+            }
+            setter.accept(stored, value);
+            return true;
+        }
+    }
+}
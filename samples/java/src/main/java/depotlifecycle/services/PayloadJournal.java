@@ -0,0 +1,242 @@
+package depotlifecycle.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.codec.MediaTypeCodec;
+import io.micronaut.http.codec.MediaTypeCodecRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Singleton
+public class PayloadJournal {
+    private static final Logger LOG = LoggerFactory.getLogger(PayloadJournal.class);
+    private static final String RECORDED = "depotlifecycle.journal.recorded";
+
+    private final PayloadJournalConfiguration configuration;
+    private final ObjectMapper objectMapper;
+    private final MediaTypeCodecRegistry mediaTypeCodecRegistry;
+    private final MeterRegistry meterRegistry;
+    private final ObjectWriter writer;
+    private final BlockingQueue<Map<String, Object>> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running;
+    private Thread thread;
+
+    private OutputStream segment;
+    private long segmentBytes;
+    private int segmentSequence;
+
+    public PayloadJournal(PayloadJournalConfiguration configuration, ObjectMapper objectMapper, MediaTypeCodecRegistry mediaTypeCodecRegistry, MeterRegistry meterRegistry) {
+        this.configuration = configuration;
+        this.objectMapper = objectMapper;
+        this.mediaTypeCodecRegistry = mediaTypeCodecRegistry;
+        this.meterRegistry = meterRegistry;
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.queue = new ArrayBlockingQueue<>(configuration.getQueueSize());
+
+        FunctionCounter.builder("depotlifecycle.journal.dropped", dropped, AtomicLong::get)
+            .description("journal entries dropped because the queue was full")
+            .register(meterRegistry);
+        Gauge.builder("depotlifecycle.journal.queued", queue, BlockingQueue::size)
+            .description("journal entries waiting to be written")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!configuration.isEnabled()) {
+            return;
+        }
+
+        running = true;
+        thread = new Thread(this::drain, "payload-journal");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isSampled(String operationId) {
+        if (!running) {
+            return false;
+        }
+
+        double rate = configuration.getSampleRate(operationId);
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    public void record(String operationId, String method, String uri, String user, int status, byte[] request, MediaType requestType, boolean requestTruncated,
+                       byte[] response, MediaType responseType) {
+        //payloads are turned into the entry on the journal thread so the request thread only pays for encoding the response it sends anyway
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("time", Instant.now().toString());
+        entry.put("operationId", operationId);
+        entry.put("method", method);
+        entry.put("uri", uri);
+        entry.put("user", user);
+        entry.put("status", status);
+        entry.put("request", request == null || request.length == 0 ? null : new ReceivedBody(request, requestType));
+        if (requestTruncated) {
+            entry.put("requestTruncated", true);
+        }
+        entry.put("response", response == null || response.length == 0 ? null : new EncodedBody(response, responseType));
+
+        if (queue.offer(entry)) {
+            meterRegistry.counter(RECORDED, "operationId", operationId).increment();
+        }
+        else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Map<String, Object> entry = queue.poll(1, TimeUnit.SECONDS);
+                if (entry == null) {
+                    continue;
+                }
+
+                write(entry);
+                if (queue.isEmpty()) {
+                    segment.flush();
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            catch (IOException | RuntimeException e) {
+                LOG.warn("Unable to write payload journal entry", e);
+            }
+        }
+
+        closeSegment();
+    }
+
+    private void write(Map<String, Object> entry) throws IOException {
+        //responses arrive encoded as they were sent, possibly as smile or cbor; re-read them so the entry stays one line of json
+        Object response = entry.get("response");
+        if (response instanceof EncodedBody) {
+            entry.put("response", decode((EncodedBody) response));
+        }
+        //requests are kept exactly as received: text bodies as they were sent, anything else base64 encoded
+        Object request = entry.get("request");
+        if (request instanceof ReceivedBody) {
+            ReceivedBody body = (ReceivedBody) request;
+            if (isText(body.contentType)) {
+                entry.put("request", new String(body.bytes, StandardCharsets.UTF_8));
+            }
+            else {
+                entry.put("request", Base64.getEncoder().encodeToString(body.bytes));
+                entry.put("requestEncoding", "base64");
+            }
+            if (body.contentType != null) {
+                entry.put("requestContentType", body.contentType.toString());
+            }
+        }
+
+        byte[] line = writer.writeValueAsBytes(entry);
+        if (segment == null || segmentBytes + line.length + 1 > configuration.getSegmentSize()) {
+            rollSegment();
+        }
+
+        segment.write(line);
+        segment.write('\n');
+        segmentBytes += line.length + 1;
+    }
+
+    private void rollSegment() throws IOException {
+        closeSegment();
+
+        Path directory = Paths.get(configuration.getDirectory());
+        Files.createDirectories(directory);
+        Path file = directory.resolve(String.format("journal-%d-%04d.ndjson", System.currentTimeMillis(), segmentSequence++));
+        segment = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.APPEND), 64 * 1024);
+        segmentBytes = 0;
+    }
+
+    private void closeSegment() {
+        if (segment == null) {
+            return;
+        }
+
+        try {
+            segment.close();
+        }
+        catch (IOException e) {
+            LOG.warn("Unable to close payload journal segment", e);
+        }
+        segment = null;
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private JsonNode decode(EncodedBody body) throws IOException {
+        if (body.contentType == null || body.contentType.matches(MediaType.APPLICATION_JSON_TYPE)) {
+            return objectMapper.readTree(body.bytes);
+        }
+
+        Optional<MediaTypeCodec> codec = mediaTypeCodecRegistry.findCodec(body.contentType);
+        if (codec.isEmpty()) {
+            return objectMapper.readTree(body.bytes);
+        }
+        return codec.get().decode(JsonNode.class, body.bytes);
+    }
+
+    private static boolean isText(MediaType contentType) {
+        return contentType == null || contentType.isTextBased() || contentType.getName().equals(MediaType.APPLICATION_JSON) || contentType.getSubtype().endsWith("json");
+    }
+
+    private static final class ReceivedBody {
+        private final byte[] bytes;
+        private final MediaType contentType;
+
+        private ReceivedBody(byte[] bytes, MediaType contentType) {
+            this.bytes = bytes;
+            this.contentType = contentType;
+        }
+    }
+
+    private static final class EncodedBody {
+        private final byte[] bytes;
+        private final MediaType contentType;
+
+        private EncodedBody(byte[] bytes, MediaType contentType) {
+            this.bytes = bytes;
+            this.contentType = contentType;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package depotlifecycle.services;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.naming.NameUtils;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties("depotlifecycle.journal")
+public class PayloadJournalConfiguration {
+    boolean enabled = true;
+
+    //where the journal segments are written
+    String directory = "build/journal";
+
+    //roll to a new segment file once the current one reaches this many bytes
+    long segmentSize = 64L * 1024 * 1024;
+
+    //exchanges waiting to be written; anything beyond this is dropped instead of blocking a request
+    int queueSize = 10000;
+
+    //most bytes of a request body kept; a longer body is journaled up to here and marked requestTruncated
+    int maxRequestSize = 1024 * 1024;
+
+    //fraction of exchanges to record when an operation has no specific rate
+    double sampleRate = 1.0;
+
+    //per operationId sample rate overrides; 0 disables journaling for that operation
+    Map<String, Double> operations = new HashMap<>();
+
+    //micronaut hands map keys over in kebab case, so indexRelease is configured as index-release whichever way it is written
+    public double getSampleRate(String operationId) {
+        return operations.getOrDefault(NameUtils.hyphenate(operationId), operations.getOrDefault(operationId, sampleRate));
+    }
+}
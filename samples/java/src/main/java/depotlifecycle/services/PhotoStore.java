@@ -0,0 +1,168 @@
+package depotlifecycle.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.http.multipart.PartData;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+
+//photos are written to disk chunk by chunk as they arrive, then filed under the SHA-256 of their content
+@Singleton
+public class PhotoStore {
+    public static final String METRIC = "depotlifecycle.photo.uploads";
+    private static final Logger LOG = LoggerFactory.getLogger(PhotoStore.class);
+    private static final int PREFETCH = 4;
+
+    private final PhotoStoreConfiguration configuration;
+    private final MeterRegistry meterRegistry;
+    private final Path directory;
+    private final Path incoming;
+
+    public PhotoStore(PhotoStoreConfiguration configuration, MeterRegistry meterRegistry) {
+        this.configuration = configuration;
+        this.meterRegistry = meterRegistry;
+        this.directory = Paths.get(configuration.getDirectory()).toAbsolutePath();
+        this.incoming = directory.resolve("incoming");
+    }
+
+    //anything left in incoming is an upload that never finished
+    @PostConstruct
+    void start() throws IOException {
+        Files.createDirectories(incoming);
+        try (DirectoryStream<Path> abandoned = Files.newDirectoryStream(incoming)) {
+            for (Path file : abandoned) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    //a chunk's buffer is released once it has been delivered, so its bytes are copied on the event loop; the digest and file
+    //writes then run on a worker, with only a few chunks queued between the two so a slow disk still holds back the client
+    public Mono<StoredPhoto> store(Publisher<PartData> content) {
+        return Mono.using(Upload::new,
+                upload -> Flux.from(content)
+                    .map(PhotoStore::bytes)
+                    .publishOn(Schedulers.boundedElastic(), PREFETCH)
+                    .doOnNext(upload::write)
+                    .then(Mono.fromCallable(upload::complete)),
+                Upload::discard)
+            .doOnNext(photo -> meterRegistry.counter(METRIC, "outcome", photo.isExisting() ? "existing" : "stored").increment());
+    }
+
+    public Optional<File> find(String sha256, PhotoType type) {
+        File file = pathOf(sha256, type).toFile();
+        return file.isFile() ? Optional.of(file) : Optional.empty();
+    }
+
+    private static byte[] bytes(PartData part) {
+        try {
+            return part.getBytes();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //two characters of the hash as a directory keeps any one directory from growing too large
+    Path pathOf(String sha256, PhotoType type) {
+        return directory.resolve(sha256.substring(0, 2)).resolve(sha256 + "." + type.getExtension());
+    }
+
+    private final class Upload {
+        private final Path temporary;
+        private final FileChannel channel;
+        private final MessageDigest digest;
+        private final byte[] header = new byte[PhotoType.HEADER_LENGTH];
+        private long size;
+
+        private Upload() throws IOException {
+            this.temporary = Files.createTempFile(incoming, "upload", ".part");
+            this.channel = FileChannel.open(temporary, StandardOpenOption.WRITE);
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            }
+            catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void write(byte[] bytes) {
+            try {
+                if (size + bytes.length > configuration.getMaximumSize()) {
+                    throw new IllegalArgumentException("Photos may not be larger than " + configuration.getMaximumSize() + " bytes.");
+                }
+
+                if (size < header.length) {
+                    System.arraycopy(bytes, 0, header, (int) size, (int) Math.min(bytes.length, header.length - size));
+                }
+                size += bytes.length;
+                digest.update(bytes);
+
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private StoredPhoto complete() throws IOException {
+            channel.close();
+
+            PhotoType type = PhotoType.detect(header, (int) Math.min(size, header.length));
+            if (type == null) {
+                throw new IllegalArgumentException("Photos must be JPEG, PNG, GIF, WebP or HEIC images.");
+            }
+
+            String sha256 = String.format("%064x", new BigInteger(1, digest.digest()));
+            Path target = pathOf(sha256, type);
+            if (Files.exists(target)) {
+                return new StoredPhoto(sha256, type, size, true);
+            }
+
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (FileAlreadyExistsException e) {
+                return new StoredPhoto(sha256, type, size, true);
+            }
+            return new StoredPhoto(sha256, type, size, false);
+        }
+
+        //runs however the upload ends; once moved there is nothing left to delete
+        private void discard() {
+            try {
+                channel.close();
+                Files.deleteIfExists(temporary);
+            }
+            catch (IOException e) {
+                LOG.warn("Unable to remove incomplete photo upload {}", temporary, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package depotlifecycle.services;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("depotlifecycle.photo")
+public class PhotoStoreConfiguration {
+    //where uploaded photos are kept, one file per distinct content
+    String directory = "build/photos";
+
+    //uploads larger than this many bytes are rejected part way through
+    long maximumSize = 10L * 1024 * 1024;
+}
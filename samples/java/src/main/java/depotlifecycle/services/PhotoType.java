@@ -0,0 +1,62 @@
+package depotlifecycle.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+//recognised from the leading bytes of a photo rather than trusting what the client declared
+@Getter
+@RequiredArgsConstructor
+public enum PhotoType {
+    JPEG("image/jpeg", "jpg"),
+    PNG("image/png", "png"),
+    GIF("image/gif", "gif"),
+    WEBP("image/webp", "webp"),
+    HEIC("image/heic", "heic");
+
+    //enough to see every signature below
+    public static final int HEADER_LENGTH = 12;
+
+    private final String contentType;
+    private final String extension;
+
+    public static PhotoType detect(byte[] header, int length) {
+        if (length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return JPEG;
+        }
+        if (length >= 8 && (header[0] & 0xFF) == 0x89 && ascii(header, 1, "PNG") && header[4] == 0x0D && header[5] == 0x0A && header[6] == 0x1A && header[7] == 0x0A) {
+            return PNG;
+        }
+        if (length >= 6 && (ascii(header, 0, "GIF87a") || ascii(header, 0, "GIF89a"))) {
+            return GIF;
+        }
+        if (length >= 12 && ascii(header, 0, "RIFF") && ascii(header, 8, "WEBP")) {
+            return WEBP;
+        }
+        if (length >= 12 && ascii(header, 4, "ftyp") && (ascii(header, 8, "heic") || ascii(header, 8, "heix") || ascii(header, 8, "mif1"))) {
+            return HEIC;
+        }
+        return null;
+    }
+
+    public static Optional<PhotoType> forExtension(String extension) {
+        for (PhotoType type : values()) {
+            if (type.extension.equals(extension)) {
+                return Optional.of(type);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static boolean ascii(byte[] header, int offset, String expected) {
+        byte[] bytes = expected.getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < bytes.length; i++) {
+            if (header[offset + i] != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,333 @@
+package depotlifecycle.services;
+
+import depotlifecycle.GateStatus;
+import depotlifecycle.domain.CurrentGateStatus;
+import depotlifecycle.domain.GateCreatePhoto;
+import depotlifecycle.domain.GateCreateRequest;
+import depotlifecycle.domain.GateUpdatePhoto;
+import depotlifecycle.domain.GateUpdateRequest;
+import depotlifecycle.domain.Party;
+import depotlifecycle.domain.StringListConverter;
+import depotlifecycle.domain.reactive.CurrentGateStatusRow;
+import depotlifecycle.domain.reactive.GateCreatePhotoRow;
+import depotlifecycle.domain.reactive.GateCreateRow;
+import depotlifecycle.domain.reactive.GateDeleteRow;
+import depotlifecycle.domain.reactive.GateUpdatePhotoRow;
+import depotlifecycle.domain.reactive.GateUpdateRow;
+import depotlifecycle.domain.reactive.PartyRow;
+import depotlifecycle.events.GateStatusChange;
+import depotlifecycle.repositories.reactive.CurrentGateStatusRowRepository;
+import depotlifecycle.repositories.reactive.GateCreatePhotoRowRepository;
+import depotlifecycle.repositories.reactive.GateCreateRowRepository;
+import depotlifecycle.repositories.reactive.GateDeleteRowRepository;
+import depotlifecycle.repositories.reactive.GateUpdatePhotoRowRepository;
+import depotlifecycle.repositories.reactive.GateUpdateRowRepository;
+import depotlifecycle.repositories.reactive.PartyRowRepository;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.data.r2dbc.operations.R2dbcOperations;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.Optional;
+
+//the gate writes of GateController over r2dbc; each request is one r2dbc transaction and the status index is updated once it commits
+@Singleton
+@Requires(property = "depotlifecycle.gate.reactive", value = "true")
+@RequiredArgsConstructor
+public class ReactiveGatePipeline {
+    private static final int CREATE_ATTEMPTS = 3;
+    private static final StringListConverter LISTS = new StringListConverter();
+
+    private final R2dbcOperations r2dbcOperations;
+    private final GateCreateRowRepository gateCreateRows;
+    private final GateCreatePhotoRowRepository gateCreatePhotoRows;
+    private final GateUpdateRowRepository gateUpdateRows;
+    private final GateUpdatePhotoRowRepository gateUpdatePhotoRows;
+    private final GateDeleteRowRepository gateDeleteRows;
+    private final CurrentGateStatusRowRepository currentGateStatusRows;
+    private final PartyRowRepository partyRows;
+    private final GateStatusIndex gateStatusIndex;
+
+    public Mono<GateCreateRequest> create(GateCreateRequest request, boolean rejectExisting, String inspectionCriteria) {
+        Mono<Boolean> exists = rejectExisting ? gateCreateRows.existsByAdviceNumberAndUnitNumberAndType(request.getAdviceNumber(), request.getUnitNumber(), request.getType()) : Mono.just(false);
+
+        return exists
+            .flatMap(found -> found ? Mono.error(new IllegalArgumentException("Gate already exists; please update instead.")) : resolveDepot(request.getDepot()))
+            .flatMap(depot -> {
+                request.setDepot(depot);
+                //two first gates of a unit both insert its current_gate_status row; the one that loses runs again, and then updates that row
+                return Mono.from(r2dbcOperations.withTransaction(status -> insert(request, depot, inspectionCriteria)))
+                    .retryWhen(Retry.max(CREATE_ATTEMPTS - 1).filter(DuplicateKey::is));
+            })
+            .doOnNext(gateStatusIndex::apply)
+            .then(Mono.just(request));
+    }
+
+    public Mono<GateUpdateRequest> update(String depot, String adviceNumber, String unitNumber, GateUpdateRequest request, boolean rejectMissing) {
+        Mono<Boolean> missing = rejectMissing ? gateCreateRows.existsByAdviceNumberAndUnitNumberAndType(adviceNumber, unitNumber, request.getType()).map(found -> !found) : Mono.just(false);
+
+        return missing
+            .flatMap(notFound -> notFound ? Mono.error(new IllegalArgumentException("Gate does not exist.")) : findDepot(depot).map(Optional::of).defaultIfEmpty(Optional.empty()))
+            .flatMap(depotParty -> Mono.from(r2dbcOperations.withTransaction(status -> insert(request, depotParty, adviceNumber, unitNumber))))
+            .doOnNext(gateStatusIndex::apply)
+            .then(Mono.just(request));
+    }
+
+    //empty when the validation user deletes a gate that does not exist
+    public Mono<Boolean> delete(String depot, String adviceNumber, String unitNumber, boolean rejectMissing) {
+        Mono<Party> depotParty;
+        if (rejectMissing) {
+            depotParty = findDepot(depot).filterWhen(party -> Flux.concat(
+                    gateCreateRows.existsByAdviceNumberAndUnitNumberAndType(adviceNumber, unitNumber, "IN"),
+                    gateCreateRows.existsByAdviceNumberAndUnitNumberAndType(adviceNumber, unitNumber, "OUT"),
+                    gateDeleteRows.existsByDepotIdAndAdviceNumberAndUnitNumber(party.getId(), adviceNumber, unitNumber))
+                .all(found -> found));
+        }
+        else {
+            Party requested = new Party();
+            requested.setCompanyId(depot);
+            depotParty = resolveDepot(requested);
+        }
+
+        return depotParty
+            .flatMap(party -> Mono.from(r2dbcOperations.withTransaction(status -> delete(party, adviceNumber, unitNumber))))
+            .doOnNext(change -> change.ifPresent(gateStatusIndex::apply))
+            .map(change -> true);
+    }
+
+    private Mono<GateStatusChange> insert(GateCreateRequest request, Party depot, String inspectionCriteria) {
+        GateCreateRow row = new GateCreateRow();
+        row.setAdviceNumber(request.getAdviceNumber());
+        row.setDepotId(depot.getId());
+        row.setUnitNumber(request.getUnitNumber());
+        row.setStatus(request.getStatus());
+        row.setActivityTime(toLocal(request.getActivityTime()));
+        row.setType(request.getType());
+
+        return gateCreateRows.nextId()
+            .flatMap(id -> {
+                row.setId(id);
+                request.setId(id);
+                return gateCreateRows.save(row);
+            })
+            .thenMany(Flux.fromIterable(Optional.ofNullable(request.getPhotos()).orElse(Collections.emptyList())))
+            .concatMap(photo -> insert(photo).flatMap(photoId -> gateCreateRows.insertPhoto(row.getId(), photoId)))
+            .then(gateCreated(row, depot, inspectionCriteria));
+    }
+
+    private Mono<Long> insert(GateCreatePhoto photo) {
+        GateCreatePhotoRow row = new GateCreatePhotoRow();
+        row.setUrl(photo.getUrl());
+
+        return gateCreatePhotoRows.nextId().flatMap(id -> {
+            row.setId(id);
+            photo.setId(id);
+            return gateCreatePhotoRows.save(row).thenReturn(id);
+        });
+    }
+
+    private Mono<GateStatusChange> insert(GateUpdateRequest request, Optional<Party> depot, String adviceNumber, String unitNumber) {
+        GateUpdateRow row = new GateUpdateRow();
+        row.setStatus(request.getStatus());
+        row.setActivityTime(request.getActivityTime() == null ? null : toLocal(request.getActivityTime()));
+        row.setType(request.getType());
+
+        return gateUpdateRows.nextId()
+            .flatMap(id -> {
+                row.setId(id);
+                request.setId(id);
+                return gateUpdateRows.save(row);
+            })
+            .thenMany(Flux.fromIterable(Optional.ofNullable(request.getPhotos()).orElse(Collections.emptyList())))
+            .concatMap(photo -> insert(photo).flatMap(photoId -> gateUpdateRows.insertPhoto(row.getId(), photoId)))
+            .then(Mono.justOrEmpty(depot))
+            .flatMap(party -> gateUpdated(party, adviceNumber, unitNumber, request));
+    }
+
+    private Mono<Long> insert(GateUpdatePhoto photo) {
+        GateUpdatePhotoRow row = new GateUpdatePhotoRow();
+        row.setUrl(photo.getUrl());
+
+        return gateUpdatePhotoRows.nextId().flatMap(id -> {
+            row.setId(id);
+            photo.setId(id);
+            return gateUpdatePhotoRows.save(row).thenReturn(id);
+        });
+    }
+
+    private Mono<Optional<GateStatusChange>> delete(Party depot, String adviceNumber, String unitNumber) {
+        GateDeleteRow row = new GateDeleteRow();
+        row.setAdviceNumber(adviceNumber);
+        row.setDepotId(depot.getId());
+        row.setUnitNumber(unitNumber);
+
+        return gateDeleteRows.nextId()
+            .flatMap(id -> {
+                row.setId(id);
+                return gateDeleteRows.save(row);
+            })
+            .then(findCurrent(depot, adviceNumber, unitNumber))
+            .flatMap(current -> gateDeleted(current, depot, adviceNumber, unitNumber).map(Optional::of))
+            .defaultIfEmpty(Optional.empty());
+    }
+
+    //same rules as GateStatusIndex.gateDeleted
+    private Mono<GateStatusChange> gateDeleted(CurrentGateStatusRow current, Party depot, String adviceNumber, String unitNumber) {
+        return gateCreateRows.findLatestRemaining(unitNumber)
+            .flatMap(gate -> {
+                current.setAdviceNumber(gate.getAdviceNumber());
+                current.setDepotId(gate.getDepotId());
+                current.setStatus(gate.getStatus());
+                current.setActivityTime(gate.getActivityTime());
+                current.setType(gate.getType());
+
+                return currentGateStatusRows.update(current)
+                    .zipWith(findDepot(gate.getDepotId()))
+                    .map(saved -> new GateStatusChange(GateStatusChange.Activity.DELETED, unitNumber, depot.getCompanyId(), adviceNumber, toGateStatus(saved.getT1(), saved.getT2())));
+            })
+            .switchIfEmpty(Mono.defer(() -> currentGateStatusRows.delete(current).thenReturn(new GateStatusChange(GateStatusChange.Activity.DELETED, unitNumber, depot.getCompanyId(), adviceNumber, null))));
+    }
+
+    //same rules as GateStatusIndex.gateCreated
+    private Mono<GateStatusChange> gateCreated(GateCreateRow row, Party depot, String inspectionCriteria) {
+        return currentGateStatusRows.findById(row.getUnitNumber())
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .flatMap(existing -> {
+                if (existing.isPresent() && existing.get().getActivityTime().isAfter(row.getActivityTime())) {
+                    return Mono.empty();
+                }
+
+                CurrentGateStatusRow current = existing.orElseGet(CurrentGateStatusRow::new);
+                current.setUnitNumber(row.getUnitNumber());
+                current.setAdviceNumber(row.getAdviceNumber());
+                current.setDepotId(depot.getId());
+                current.setStatus(row.getStatus());
+                current.setActivityTime(row.getActivityTime());
+                current.setType(row.getType());
+                current.setCurrentInspectionCriteria(inspectionCriteria);
+
+                return (existing.isPresent() ? currentGateStatusRows.update(current) : currentGateStatusRows.save(current))
+                    .map(saved -> changed(GateStatusChange.Activity.CREATED, saved, depot));
+            });
+    }
+
+    //same rules as GateStatusIndex.gateUpdated
+    private Mono<GateStatusChange> gateUpdated(Party depot, String adviceNumber, String unitNumber, GateUpdateRequest request) {
+        return findCurrent(depot, adviceNumber, unitNumber)
+            .filter(current -> request.getType() == null || request.getType().equals(current.getType()))
+            .flatMap(current -> {
+                if (request.getStatus() != null) {
+                    current.setStatus(request.getStatus());
+                }
+                if (request.getActivityTime() != null) {
+                    current.setActivityTime(toLocal(request.getActivityTime()));
+                }
+
+                return currentGateStatusRows.update(current).map(saved -> changed(GateStatusChange.Activity.UPDATED, saved, depot));
+            });
+    }
+
+    private Mono<CurrentGateStatusRow> findCurrent(Party depot, String adviceNumber, String unitNumber) {
+        return currentGateStatusRows.findById(unitNumber)
+            .filter(current -> current.getAdviceNumber().equals(adviceNumber) && current.getDepotId().equals(depot.getId()));
+    }
+
+    //parties are read and written over r2dbc too; hibernate sees a depot created here as any other row written outside it
+    private Mono<Party> findDepot(String companyId) {
+        return partyRows.findByCompanyId(companyId).map(ReactiveGatePipeline::toParty);
+    }
+
+    //the depot of a gate already written, which is always in the party table
+    private Mono<Party> findDepot(Long id) {
+        return partyRows.findById(id).map(ReactiveGatePipeline::toParty);
+    }
+
+    private Mono<Party> resolveDepot(Party requested) {
+        if (requested == null || requested.getCompanyId() == null) {
+            return Mono.error(new IllegalArgumentException("Party companyId is required."));
+        }
+
+        return findDepot(requested.getCompanyId())
+            .switchIfEmpty(Mono.defer(() -> insert(requested))
+                //another request created the depot first; use its row
+                .onErrorResume(DuplicateKey::is, e -> findDepot(requested.getCompanyId()).switchIfEmpty(Mono.error(e))));
+    }
+
+    //committed on its own, as PartyResolver does, so a gate that then fails can leave the depot behind for the next one to reuse
+    private Mono<Party> insert(Party party) {
+        PartyRow row = new PartyRow();
+        row.setCompanyId(party.getCompanyId());
+        row.setUserCode(party.getUserCode());
+        row.setUserName(party.getUserName());
+        row.setFaxNumber(LISTS.convertToDatabaseColumn(party.getFaxNumber()));
+        row.setPhoneNumber(LISTS.convertToDatabaseColumn(party.getPhoneNumber()));
+        row.setEmailAddress(LISTS.convertToDatabaseColumn(party.getEmailAddress()));
+        row.setName(party.getName());
+        row.setCode(party.getCode());
+        row.setStreetAddress(LISTS.convertToDatabaseColumn(party.getStreetAddress()));
+        row.setCity(party.getCity());
+        row.setCountry(party.getCountry());
+        row.setPostalCode(party.getPostalCode());
+        row.setStateProvince(party.getStateProvince());
+        row.setLatitude(party.getLatitude());
+        row.setLongitude(party.getLongitude());
+
+        return partyRows.nextId()
+            .flatMap(id -> {
+                row.setId(id);
+                return partyRows.save(row);
+            })
+            .map(ReactiveGatePipeline::toParty);
+    }
+
+    private static Party toParty(PartyRow row) {
+        Party party = new Party();
+        party.setId(row.getId());
+        party.setCompanyId(row.getCompanyId());
+        party.setUserCode(row.getUserCode());
+        party.setUserName(row.getUserName());
+        party.setFaxNumber(LISTS.convertToEntityAttribute(row.getFaxNumber()));
+        party.setPhoneNumber(LISTS.convertToEntityAttribute(row.getPhoneNumber()));
+        party.setEmailAddress(LISTS.convertToEntityAttribute(row.getEmailAddress()));
+        party.setName(row.getName());
+        party.setCode(row.getCode());
+        party.setStreetAddress(LISTS.convertToEntityAttribute(row.getStreetAddress()));
+        party.setCity(row.getCity());
+        party.setCountry(row.getCountry());
+        party.setPostalCode(row.getPostalCode());
+        party.setStateProvince(row.getStateProvince());
+        party.setLatitude(row.getLatitude());
+        party.setLongitude(row.getLongitude());
+        return party;
+    }
+
+    private static GateStatusChange changed(GateStatusChange.Activity activity, CurrentGateStatusRow row, Party depot) {
+        return new GateStatusChange(activity, row.getUnitNumber(), depot.getCompanyId(), row.getAdviceNumber(), toGateStatus(row, depot));
+    }
+
+    private static GateStatus toGateStatus(CurrentGateStatusRow row, Party depot) {
+        CurrentGateStatus current = new CurrentGateStatus();
+        current.setUnitNumber(row.getUnitNumber());
+        current.setAdviceNumber(row.getAdviceNumber());
+        current.setDepot(depot);
+        current.setStatus(row.getStatus());
+        current.setActivityTime(row.getActivityTime().atZone(ZoneId.systemDefault()));
+        current.setType(row.getType());
+        current.setCurrentInspectionCriteria(row.getCurrentInspectionCriteria());
+
+        return GateStatusIndex.toGateStatus(current);
+    }
+
+    //hibernate stores zoned times as timestamps in the jvm zone; rows written here must read back the same way
+    private static LocalDateTime toLocal(ZonedDateTime time) {
+        return time.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+}
@@ -0,0 +1,62 @@
+package depotlifecycle.services;
+
+import depotlifecycle.domain.Redelivery;
+import depotlifecycle.domain.RedeliveryDetail;
+import depotlifecycle.domain.RedeliveryUnit;
+import depotlifecycle.repositories.RedeliveryRepository;
+import io.micronaut.transaction.annotation.ReadOnly;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.graph.GraphSemantic;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+@Singleton
+@RequiredArgsConstructor
+public class RedeliverySearch {
+    private final EntityManager entityManager;
+    private final RedeliveryRepository redeliveryRepository;
+
+    @ReadOnly
+    public Optional<Redelivery> findByRedeliveryNumber(String redeliveryNumber) {
+        Optional<Redelivery> redelivery = redeliveryRepository.findFirstByRedeliveryNumberOrderByIdDesc(redeliveryNumber);
+        redelivery.ifPresent(found -> initializeUnits(Collections.singletonList(found)));
+        return redelivery;
+    }
+
+    //selected from Redelivery itself rather than through the advice, so the document graph applies to it
+    @ReadOnly
+    public List<Redelivery> findByUnitNumber(String unitNumber) {
+        List<Redelivery> redeliveries = entityManager.createQuery("select distinct r from Redelivery r where r.id in (select a.redelivery.id from RedeliveryUnitAdvice a where a.unitNumber = :unitNumber) order by r.id desc", Redelivery.class)
+            .setParameter("unitNumber", unitNumber)
+            .setHint(GraphSemantic.FETCH.getJpaHintName(), entityManager.getEntityGraph(Redelivery.DOCUMENT))
+            .setHint(QueryHints.PASS_DISTINCT_THROUGH, false)
+            .getResultList();
+        initializeUnits(redeliveries);
+        return redeliveries;
+    }
+
+    //units and their parties are part of the response; each level is one batched query across every detail found
+    private static void initializeUnits(List<Redelivery> redeliveries) {
+        for (Redelivery redelivery : redeliveries) {
+            for (RedeliveryDetail detail : redelivery.getDetails()) {
+                Hibernate.initialize(detail.getUnits());
+            }
+        }
+
+        for (Redelivery redelivery : redeliveries) {
+            for (RedeliveryDetail detail : redelivery.getDetails()) {
+                for (RedeliveryUnit unit : detail.getUnits()) {
+                    Hibernate.initialize(unit.getLastOnHireLocation());
+                    Hibernate.initialize(unit.getBillingParty());
+                    Hibernate.initialize(unit.getMachineryInfo());
+                }
+            }
+        }
+    }
+}
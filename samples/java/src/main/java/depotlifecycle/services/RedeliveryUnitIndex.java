@@ -0,0 +1,44 @@
+package depotlifecycle.services;
+
+import depotlifecycle.domain.Redelivery;
+import depotlifecycle.domain.RedeliveryDetail;
+import depotlifecycle.domain.RedeliveryUnit;
+import depotlifecycle.domain.RedeliveryUnitAdvice;
+import depotlifecycle.repositories.RedeliveryUnitAdviceRepository;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Singleton
+@RequiredArgsConstructor
+public class RedeliveryUnitIndex {
+    private final RedeliveryUnitAdviceRepository redeliveryUnitAdviceRepository;
+
+    //an update stores the redelivery as a new row, so the units of any earlier revision are dropped first
+    @Transactional
+    public void index(Redelivery redelivery) {
+        redeliveryUnitAdviceRepository.deleteByRedeliveryNumber(redelivery.getRedeliveryNumber());
+
+        Set<String> unitNumbers = new LinkedHashSet<>();
+        for (RedeliveryDetail detail : redelivery.getDetails()) {
+            for (RedeliveryUnit unit : detail.getUnits()) {
+                unitNumbers.add(unit.getUnitNumber());
+            }
+        }
+
+        List<RedeliveryUnitAdvice> advices = new ArrayList<>(unitNumbers.size());
+        for (String unitNumber : unitNumbers) {
+            RedeliveryUnitAdvice advice = new RedeliveryUnitAdvice();
+            advice.setUnitNumber(unitNumber);
+            advice.setRedeliveryNumber(redelivery.getRedeliveryNumber());
+            advice.setRedelivery(redelivery);
+            advices.add(advice);
+        }
+        redeliveryUnitAdviceRepository.saveAll(advices);
+    }
+}
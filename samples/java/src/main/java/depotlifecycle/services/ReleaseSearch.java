@@ -0,0 +1,111 @@
+package depotlifecycle.services;
+
+import depotlifecycle.domain.Party;
+import depotlifecycle.domain.Release;
+import depotlifecycle.domain.ReleaseDetail;
+import depotlifecycle.repositories.ReleaseRepository;
+import io.micronaut.transaction.annotation.ReadOnly;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.graph.GraphSemantic;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+@Singleton
+@RequiredArgsConstructor
+public class ReleaseSearch {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final EntityManager entityManager;
+    private final PartyCache partyCache;
+    private final ReleaseRepository releaseRepository;
+
+    @ReadOnly
+    public Optional<Release> findByReleaseNumber(String releaseNumber) {
+        Optional<Release> release = releaseRepository.findFirstByReleaseNumberOrderByIdDesc(releaseNumber);
+        release.ifPresent(found -> initializeDetails(Collections.singletonList(found)));
+        return release;
+    }
+
+    @ReadOnly
+    public SearchPage<Release> search(String depot, String status, String type, ZonedDateTime expiresAfter, ZonedDateTime expiresBefore, Integer limit, Long cursor) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Release> release = query.from(Release.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (depot != null) {
+            Optional<Party> party = partyCache.findByCompanyId(depot);
+            if (party.isEmpty()) {
+                return SearchPage.empty();
+            }
+            predicates.add(builder.equal(release.get("depot"), party.get()));
+        }
+        if (status != null) {
+            predicates.add(builder.equal(release.get("status"), status));
+        }
+        if (type != null) {
+            predicates.add(builder.equal(release.get("type"), type));
+        }
+        if (expiresAfter != null) {
+            predicates.add(builder.greaterThanOrEqualTo(release.get("expirationDate"), expiresAfter));
+        }
+        if (expiresBefore != null) {
+            predicates.add(builder.lessThan(release.get("expirationDate"), expiresBefore));
+        }
+        if (cursor != null) {
+            predicates.add(builder.lessThan(release.get("id"), cursor));
+        }
+
+        //only the page's ids are selected here; the releases and their children are loaded for those ids alone.
+        //the ids are kept in the query cache until a release is next written
+        query.select(release.get("id"))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(builder.desc(release.get("id")));
+
+        SearchPage<Long> ids = SearchPage.of(entityManager.createQuery(query)
+            .setMaxResults(pageSize + 1)
+            .setHint(QueryHints.CACHEABLE, true)
+            .getResultList(), pageSize, id -> id);
+        if (ids.getItems().isEmpty()) {
+            return SearchPage.empty();
+        }
+
+        //the document graph joins each release's parties and details; the collections below the details follow in batches
+        List<Release> releases = entityManager.createQuery("select distinct r from Release r where r.id in :ids order by r.id desc", Release.class)
+            .setParameter("ids", ids.getItems())
+            .setHint(GraphSemantic.FETCH.getJpaHintName(), entityManager.getEntityGraph(Release.DOCUMENT))
+            .setHint(QueryHints.PASS_DISTINCT_THROUGH, false)
+            .getResultList();
+        initializeDetails(releases);
+
+        return new SearchPage<>(releases, ids.getNextCursor());
+    }
+
+    //units and criteria are lazy but part of the response, so load them before the session closes; batch fetching covers the whole page in one query each
+    private static void initializeDetails(List<Release> releases) {
+        for (Release release : releases) {
+            for (ReleaseDetail detail : release.getDetails()) {
+                Hibernate.initialize(detail.getUnits());
+                Hibernate.initialize(detail.getCriteria());
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package depotlifecycle.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@RequiredArgsConstructor
+public class SearchPage<T> {
+    private final List<T> items;
+
+    //the id to continue the search after, or null when this is the last page
+    private final Long nextCursor;
+
+    public static <T> SearchPage<T> empty() {
+        return new SearchPage<>(Collections.emptyList(), null);
+    }
+
+    //callers fetch one row more than the page size; its presence is what tells another page exists
+    public static <T> SearchPage<T> of(List<T> rows, int pageSize, Function<T, Long> id) {
+        if (rows.size() <= pageSize) {
+            return new SearchPage<>(rows, null);
+        }
+
+        List<T> page = rows.subList(0, pageSize);
+        return new SearchPage<>(page, id.apply(page.get(pageSize - 1)));
+    }
+}
@@ -0,0 +1,69 @@
+package depotlifecycle.services;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micronaut.configuration.hibernate.jpa.JpaConfiguration;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+
+//builds the jcache regions hibernate keeps its second-level cache in, and hands them to the session factory.
+//not a CacheManager bean: micronaut would then create it with the event listeners, before durations can be read from configuration
+@Singleton
+public class SecondLevelCacheBinder implements BeanCreatedEventListener<JpaConfiguration> {
+    private static final Logger LOG = LoggerFactory.getLogger(SecondLevelCacheBinder.class);
+
+    private final BeanProvider<CacheRegionConfiguration> regions;
+    private final BeanProvider<MeterRegistry> meterRegistry;
+    private CacheManager cacheManager;
+
+    public SecondLevelCacheBinder(BeanProvider<CacheRegionConfiguration> regions, BeanProvider<MeterRegistry> meterRegistry) {
+        this.regions = regions;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public JpaConfiguration onCreated(BeanCreatedEvent<JpaConfiguration> event) {
+        cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        regions.stream().forEach(this::create);
+
+        JpaConfiguration jpaConfiguration = event.getBean();
+        jpaConfiguration.getProperties().put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        return jpaConfiguration;
+    }
+
+    @PreDestroy
+    void close() {
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
+    }
+
+    private void create(CacheRegionConfiguration region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+        if (region.getExpireAfterWrite() != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getExpireAfterWrite().toNanos()));
+        }
+        //hibernate only caches immutable disassembled state, so copying each entry in and out buys nothing
+        configuration.setStoreByValue(false);
+        configuration.setNativeStatisticsEnabled(true);
+
+        Cache<Object, Object> cache = cacheManager.createCache(region.getName(), configuration);
+        //published like the micronaut caches: cache.gets, cache.puts, cache.evictions and cache.size, tagged with the region
+        CaffeineCacheMetrics.monitor(meterRegistry.get(), cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class), region.getName());
+        LOG.info("Created second-level cache region {} holding up to {} entries", region.getName(), region.getMaximumSize());
+    }
+}
@@ -0,0 +1,19 @@
+package depotlifecycle.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class StoredPhoto {
+    private final String sha256;
+    private final PhotoType type;
+    private final long size;
+
+    //true when the same content had already been stored
+    private final boolean existing;
+
+    public String getName() {
+        return sha256 + "." + type.getExtension();
+    }
+}
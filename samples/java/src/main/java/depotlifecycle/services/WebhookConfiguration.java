@@ -0,0 +1,37 @@
+package depotlifecycle.services;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties("depotlifecycle.webhook")
+public class WebhookConfiguration {
+    boolean enabled = true;
+
+    //events waiting per subscription; once full, new events for it go straight to the dead-letter store
+    int queueSize = 1000;
+
+    //most events posted to a subscriber in one request
+    int batchSize = 50;
+
+    //requests in flight to one subscription at a time
+    int concurrency = 2;
+
+    //attempts per batch, including the first, before its events are dead-lettered
+    int maxAttempts = 6;
+
+    //the delay before the first retry; it doubles, with jitter, up to maxBackoff
+    Duration initialBackoff = Duration.ofSeconds(1);
+
+    Duration maxBackoff = Duration.ofMinutes(5);
+
+    //a subscriber that takes longer than this to answer counts as a failed attempt
+    Duration timeout = Duration.ofSeconds(10);
+
+    //lets subscriptions post to loopback, link-local and private addresses; only for local testing
+    boolean allowPrivateTargets = false;
+}
@@ -0,0 +1,318 @@
+package depotlifecycle.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import depotlifecycle.domain.WebhookDeadLetter;
+import depotlifecycle.domain.WebhookSubscription;
+import depotlifecycle.events.LifecycleEvent;
+import depotlifecycle.repositories.WebhookDeadLetterRepository;
+import depotlifecycle.repositories.WebhookSubscriptionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpRequest;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientException;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.reactor.http.client.ReactorHttpClient;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//events are queued per subscription and posted from there, so a slow or failing subscriber only delays itself
+@Singleton
+public class WebhookDispatcher {
+    public static final String SIGNATURE_HEADER = "X-Webhook-Signature";
+    public static final String METRIC = "depotlifecycle.webhook.events";
+    private static final Logger LOG = LoggerFactory.getLogger(WebhookDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final WebhookConfiguration configuration;
+    private final WebhookSubscriptionRepository webhookSubscriptionRepository;
+    private final WebhookDeadLetterRepository webhookDeadLetterRepository;
+    private final ReactorHttpClient client;
+    private final MeterRegistry meterRegistry;
+    private final ObjectWriter writer;
+
+    //by company id; read on whichever thread published the event
+    private final Map<String, List<Destination>> destinations = new ConcurrentHashMap<>();
+
+    public WebhookDispatcher(WebhookConfiguration configuration, WebhookSubscriptionRepository webhookSubscriptionRepository, WebhookDeadLetterRepository webhookDeadLetterRepository,
+                             @Client(id = "webhook") ReactorHttpClient client, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.configuration = configuration;
+        this.webhookSubscriptionRepository = webhookSubscriptionRepository;
+        this.webhookDeadLetterRepository = webhookDeadLetterRepository;
+        this.client = client;
+        this.meterRegistry = meterRegistry;
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @EventListener
+    void load(StartupEvent event) {
+        int count = 0;
+        for (WebhookSubscription subscription : webhookSubscriptionRepository.findAll()) {
+            add(subscription);
+            count++;
+        }
+        LOG.info("Loaded {} webhook subscriptions", count);
+    }
+
+    public WebhookSubscription subscribe(WebhookSubscription subscription) {
+        subscription.setCreated(Instant.now());
+        WebhookSubscription saved = webhookSubscriptionRepository.save(subscription);
+        add(saved);
+        return saved;
+    }
+
+    //a subscriber must be reachable from outside; otherwise a subscription could have this service post to itself or its own network.
+    //the host is resolved here and again before every attempt, as its address can change after it was checked
+    public void checkTarget(URI url) {
+        if (configuration.isAllowPrivateTargets()) {
+            return;
+        }
+
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(url.getHost());
+        }
+        catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Webhook url host " + url.getHost() + " could not be resolved.");
+        }
+
+        for (InetAddress address : addresses) {
+            if (isPrivate(address)) {
+                throw new IllegalArgumentException("Webhook url must not be a loopback, link-local or private address.");
+            }
+        }
+    }
+
+    private static boolean isPrivate(InetAddress address) {
+        return address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress() || address.isSiteLocalAddress() || address.isMulticastAddress()
+            //unique local ipv6 addresses, fc00::/7, are the ipv6 private ranges; java only knows the deprecated site-local fec0::/10
+            || (address instanceof Inet6Address && (address.getAddress()[0] & 0xFE) == 0xFC);
+    }
+
+    //a subscriber that is down, slow or failing may recover; one that refuses the request, with a 4xx, would refuse it again
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof HttpClientResponseException) {
+            return ((HttpClientResponseException) e).getStatus().getCode() >= 500;
+        }
+        return e instanceof TimeoutException || e instanceof HttpClientException || e instanceof IOException;
+    }
+
+    //anything still queued for the subscription is dropped with it
+    public void unsubscribe(WebhookSubscription subscription) {
+        webhookSubscriptionRepository.delete(subscription);
+        List<Destination> registered = destinations.getOrDefault(subscription.getCompanyId(), Collections.emptyList());
+        for (Destination destination : registered) {
+            if (destination.subscription.getId().equals(subscription.getId())) {
+                registered.remove(destination);
+                destination.close();
+            }
+        }
+    }
+
+    //must stay cheap: it runs on the request thread, or the event loop for reactive gates
+    @EventListener
+    void onLifecycleEvent(LifecycleEvent event) {
+        if (!configuration.isEnabled()) {
+            return;
+        }
+
+        for (String party : event.getParties()) {
+            for (Destination destination : destinations.getOrDefault(party, Collections.emptyList())) {
+                if (destination.subscription.accepts(event.getType())) {
+                    destination.offer(event);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        destinations.values().forEach(registered -> registered.forEach(Destination::close));
+        destinations.clear();
+    }
+
+    private void add(WebhookSubscription subscription) {
+        URI url;
+        try {
+            url = URI.create(subscription.getUrl());
+        }
+        catch (IllegalArgumentException e) {
+            LOG.warn("Ignoring webhook subscription {} with an invalid url", subscription.getId(), e);
+            return;
+        }
+        if (!url.isAbsolute()) {
+            LOG.warn("Ignoring webhook subscription {} with a relative url", subscription.getId());
+            return;
+        }
+
+        destinations.computeIfAbsent(subscription.getCompanyId(), companyId -> new CopyOnWriteArrayList<>()).add(new Destination(subscription, url));
+    }
+
+    private byte[] encode(List<LifecycleEvent> batch) throws JsonProcessingException {
+        return writer.writeValueAsBytes(batch);
+    }
+
+    private static String sign(String secret, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return "sha256=" + Base64.getEncoder().encodeToString(mac.doFinal(body));
+        }
+        catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    //the retry gives up with its own exception; the subscriber's last failure is its cause
+    private static String reason(Throwable e) {
+        Throwable failure = Exceptions.isRetryExhausted(e) && e.getCause() != null ? e.getCause() : e;
+        return failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName();
+    }
+
+    private void deadLetter(WebhookSubscription subscription, List<LifecycleEvent> events, int attempts, String error) {
+        meterRegistry.counter(METRIC, "outcome", "dead_lettered").increment(events.size());
+        String reason = error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+        LOG.warn("Dead-lettering {} events for webhook subscription {}: {}", events.size(), subscription.getId(), reason);
+
+        Mono.fromRunnable(() -> {
+            List<WebhookDeadLetter> deadLetters = new ArrayList<>(events.size());
+            for (LifecycleEvent event : events) {
+                WebhookDeadLetter deadLetter = new WebhookDeadLetter();
+                deadLetter.setSubscriptionId(subscription.getId());
+                deadLetter.setUrl(subscription.getUrl());
+                deadLetter.setEventType(event.getType());
+                try {
+                    deadLetter.setPayload(writer.writeValueAsString(event));
+                }
+                catch (JsonProcessingException e) {
+                    deadLetter.setPayload("{}");
+                }
+                deadLetter.setAttempts(attempts);
+                deadLetter.setError(reason);
+                deadLetter.setCreated(Instant.now());
+                deadLetters.add(deadLetter);
+            }
+            webhookDeadLetterRepository.saveAll(deadLetters);
+        })
+            .subscribeOn(Schedulers.boundedElastic())
+            .subscribe(null, e -> LOG.error("Unable to store dead-lettered events for webhook subscription {}", subscription.getId(), e));
+    }
+
+    private final class Destination {
+        private final WebhookSubscription subscription;
+        private final URI url;
+        private final BlockingQueue<LifecycleEvent> queue;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile boolean closed;
+
+        private Destination(WebhookSubscription subscription, URI url) {
+            this.subscription = subscription;
+            this.url = url;
+            this.queue = new ArrayBlockingQueue<>(configuration.getQueueSize());
+        }
+
+        private void offer(LifecycleEvent event) {
+            if (!queue.offer(event)) {
+                deadLetter(subscription, Collections.singletonList(event), 0, "queue full");
+                return;
+            }
+            drain();
+        }
+
+        //both a new event and a finished batch call this, so no queued event is left without a sender
+        private void drain() {
+            while (!closed && !queue.isEmpty()) {
+                int current = inFlight.get();
+                if (current >= configuration.getConcurrency()) {
+                    return;
+                }
+                if (!inFlight.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+
+                List<LifecycleEvent> batch = new ArrayList<>(Math.min(queue.size(), configuration.getBatchSize()));
+                queue.drainTo(batch, configuration.getBatchSize());
+                if (batch.isEmpty()) {
+                    inFlight.decrementAndGet();
+                    continue;
+                }
+
+                send(batch);
+            }
+        }
+
+        private void send(List<LifecycleEvent> batch) {
+            AtomicInteger attempts = new AtomicInteger();
+            Mono.fromCallable(() -> encode(batch))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(body -> Mono.defer(() -> {
+                    attempts.incrementAndGet();
+                    return Mono.fromRunnable(() -> checkTarget(url))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .then(post(body));
+                }).retryWhen(Retry.backoff(configuration.getMaxAttempts() - 1L, configuration.getInitialBackoff())
+                    .maxBackoff(configuration.getMaxBackoff())
+                    .filter(e -> !closed && isRetryable(e))))
+                .doFinally(signal -> {
+                    inFlight.decrementAndGet();
+                    drain();
+                })
+                .subscribe(
+                    ignored -> meterRegistry.counter(METRIC, "outcome", "delivered").increment(batch.size()),
+                    e -> deadLetter(subscription, batch, attempts.get(), reason(e)));
+        }
+
+        private Mono<Boolean> post(byte[] body) {
+            //the client has no base url; the absolute url picks the subscriber
+            MutableHttpRequest<byte[]> request = HttpRequest.POST(url, body)
+                .contentType(MediaType.APPLICATION_JSON_TYPE);
+            if (subscription.getSecret() != null) {
+                request.header(SIGNATURE_HEADER, sign(subscription.getSecret(), body));
+            }
+
+            //redirects are not followed, as the target they name was never checked; a 3xx fails the attempt without a retry
+            return Mono.from(client.exchange(request))
+                .timeout(configuration.getTimeout())
+                .flatMap(response -> response.code() < 300 ? Mono.just(Boolean.TRUE) : Mono.error(new HttpClientResponseException("Webhook subscriber answered " + response.code(), response)));
+        }
+
+        //the client is shared, so only this destination's sending stops
+        private void close() {
+            closed = true;
+        }
+    }
+}
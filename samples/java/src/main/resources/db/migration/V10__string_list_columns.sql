@@ -0,0 +1,61 @@
+-- element collections of strings become a json array column on the owning row; see depotlifecycle.domain.StringListConverter
+
+alter table insurance_coverage add column exceptions clob;
+update insurance_coverage set exceptions = (select cast(json_arrayagg(e.exceptions order by e._rowid_) as varchar) from insurance_coverage_exceptions e where e.insurance_coverage_id = insurance_coverage.id);
+drop table insurance_coverage_exceptions;
+
+alter table insurance_coverage add column exclusions clob;
+update insurance_coverage set exclusions = (select cast(json_arrayagg(e.exclusions order by e._rowid_) as varchar) from insurance_coverage_exclusions e where e.insurance_coverage_id = insurance_coverage.id);
+drop table insurance_coverage_exclusions;
+
+alter table insurance_coverage add column inclusions clob;
+update insurance_coverage set inclusions = (select cast(json_arrayagg(e.inclusions order by e._rowid_) as varchar) from insurance_coverage_inclusions e where e.insurance_coverage_id = insurance_coverage.id);
+drop table insurance_coverage_inclusions;
+
+alter table party add column email_address clob;
+update party set email_address = (select cast(json_arrayagg(e.email_address order by e._rowid_) as varchar) from party_email_address e where e.party_id = party.id);
+drop table party_email_address;
+
+alter table party add column fax_number clob;
+update party set fax_number = (select cast(json_arrayagg(e.fax_number order by e._rowid_) as varchar) from party_fax_number e where e.party_id = party.id);
+drop table party_fax_number;
+
+alter table party add column phone_number clob;
+update party set phone_number = (select cast(json_arrayagg(e.phone_number order by e._rowid_) as varchar) from party_phone_number e where e.party_id = party.id);
+drop table party_phone_number;
+
+alter table party add column street_address clob;
+update party set street_address = (select cast(json_arrayagg(e.street_address order by e._rowid_) as varchar) from party_street_address e where e.party_id = party.id);
+drop table party_street_address;
+
+alter table redelivery add column comments clob;
+update redelivery set comments = (select cast(json_arrayagg(e.comments order by e._rowid_) as varchar) from redelivery_comments e where e.redelivery_id = redelivery.id);
+drop table redelivery_comments;
+
+alter table redelivery add column estimate_email_recipients clob;
+update redelivery set estimate_email_recipients = (select cast(json_arrayagg(e.estimate_email_recipients order by e._rowid_) as varchar) from redelivery_estimate_email_recipients e where e.redelivery_id = redelivery.id);
+drop table redelivery_estimate_email_recipients;
+
+alter table redelivery_detail add column comments clob;
+update redelivery_detail set comments = (select cast(json_arrayagg(e.comments order by e._rowid_) as varchar) from redelivery_detail_comments e where e.redelivery_detail_id = redelivery_detail.id);
+drop table redelivery_detail_comments;
+
+alter table redelivery_unit add column comments clob;
+update redelivery_unit set comments = (select cast(json_arrayagg(e.comments order by e._rowid_) as varchar) from redelivery_unit_comments e where e.redelivery_unit_id = redelivery_unit.id);
+drop table redelivery_unit_comments;
+
+alter table redelivery_unit add column technical_bulletins clob;
+update redelivery_unit set technical_bulletins = (select cast(json_arrayagg(e.technical_bulletins order by e._rowid_) as varchar) from redelivery_unit_technical_bulletins e where e.redelivery_unit_id = redelivery_unit.id);
+drop table redelivery_unit_technical_bulletins;
+
+alter table release add column comments clob;
+update release set comments = (select cast(json_arrayagg(e.comments order by e._rowid_) as varchar) from release_comments e where e.release_id = release.id);
+drop table release_comments;
+
+alter table release_detail add column comments clob;
+update release_detail set comments = (select cast(json_arrayagg(e.comments order by e._rowid_) as varchar) from release_detail_comments e where e.release_detail_id = release_detail.id);
+drop table release_detail_comments;
+
+alter table release_unit add column comments clob;
+update release_unit set comments = (select cast(json_arrayagg(e.comments order by e._rowid_) as varchar) from release_unit_comments e where e.release_unit_id = release_unit.id);
+drop table release_unit_comments;
@@ -0,0 +1,4 @@
+-- a key's row is inserted when a request claims it and completed with the response; see depotlifecycle.services.IdempotencyStore
+alter table idempotent_response alter column status set null;
+alter table idempotent_response alter column body set null;
+alter table idempotent_response add column request_hash varchar(64);
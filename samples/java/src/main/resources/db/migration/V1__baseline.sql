@@ -0,0 +1,136 @@
+-- schema as mapped by the domain entities at the point migrations were introduced
+create sequence hibernate_sequence start with 1 increment by 1;
+create table estimate (id bigint not null, comments varchar(500), condition varchar(1) not null, currency varchar(3) not null, estimate_number varchar(16) not null, estimate_time timestamp, exchange_rate decimal(19,2), revision integer, total decimal(19,2) not null, type varchar(2), unit_number varchar(11) not null, upgrade_type varchar(2), allocation_id bigint, customer_id bigint, customer_approval_id bigint, depot_id bigint not null, owner_id bigint, requester_id bigint, primary key (id));
+create table estimate_estimate_line_item (estimate_id bigint not null, line_items_id bigint not null);
+create table estimate_estimate_photo (estimate_id bigint not null, photos_id bigint not null);
+create table estimate_allocation (id bigint not null, comments varchar(500), ctl boolean not null, customer_total decimal(19,2) not null, estimate_number varchar(16) not null, insurance_total decimal(19,2) not null, owner_total decimal(19,2) not null, revision integer not null, total decimal(19,2) not null, depot_id bigint not null, preliminary_decision_id bigint, primary key (id));
+create table estimate_cancel_request (id bigint not null, estimate_number varchar(16) not null, depot_id bigint not null, primary key (id));
+create table estimate_customer_approval (id bigint not null, approval_date_time timestamp not null, approval_number varchar(128), amount_covered decimal(19,2) not null, approval_user varchar(64), primary key (id));
+create table estimate_line_item (id bigint not null, comments varchar(256), component varchar(3) not null, damage varchar(2) not null, height integer, hours decimal(19,2) not null, labor_rate decimal(19,2) not null, length integer, line integer not null, location varchar(4), material varchar(2) not null, material_cost decimal(19,2) not null, party varchar(1) not null, quantity integer, repair varchar(2) not null, tax_rule varchar(1), unit_of_measure varchar(3), width integer, primary key (id));
+create table estimate_line_item_estimate_line_item_part (estimate_line_item_id bigint not null, parts_id bigint not null);
+create table estimate_line_item_estimate_line_item_photo (estimate_line_item_id bigint not null, photos_id bigint not null);
+create table estimate_line_item_part (id bigint not null, description varchar(500), number varchar(64) not null, price decimal(19,2) not null, quantity integer not null, primary key (id));
+create table estimate_line_item_photo (id bigint not null, status varchar(8) not null, url varchar(2048) not null, primary key (id));
+create table estimate_photo (id bigint not null, status varchar(8) not null, url varchar(2048) not null, primary key (id));
+create table gate_create_photo (id bigint not null, url varchar(2048) not null, primary key (id));
+create table gate_create_request (id bigint not null, activity_time timestamp not null, advice_number varchar(16) not null, status varchar(1) not null, type varchar(3) not null, unit_number varchar(11) not null, depot_id bigint not null, primary key (id));
+create table gate_create_request_gate_create_photo (gate_create_request_id bigint not null, photos_id bigint not null);
+create table gate_delete_request (id bigint not null, advice_number varchar(16) not null, unit_number varchar(11) not null, depot_id bigint not null, primary key (id));
+create table gate_update_photo (id bigint not null, url varchar(2048) not null, primary key (id));
+create table gate_update_request (id bigint not null, activity_time timestamp, status varchar(1), type varchar(3), primary key (id));
+create table gate_update_request_gate_update_photo (gate_update_request_id bigint not null, photos_id bigint not null);
+create table insurance_coverage (id bigint not null, all_or_nothing boolean, amount_covered decimal(19,2), amount_currency varchar(3), applies_to_ctl boolean, primary key (id));
+create table insurance_coverage_exceptions (insurance_coverage_id bigint not null, exceptions clob);
+create table insurance_coverage_exclusions (insurance_coverage_id bigint not null, exclusions clob);
+create table insurance_coverage_inclusions (insurance_coverage_id bigint not null, inclusions clob);
+create table machinery_info (id bigint not null, manufacturer varchar(50), model_name varchar(50), model_number varchar(50), primary key (id));
+create table party (id bigint not null, city varchar(28), code varchar(10), company_id varchar(9) not null, country varchar(2), latitude decimal(19,2), longitude decimal(19,2), name varchar(150), postal_code varchar(20), state_province varchar(20), user_code varchar(16), user_name varchar(70), primary key (id));
+create table party_email_address (party_id bigint not null, email_address clob);
+create table party_fax_number (party_id bigint not null, fax_number clob);
+create table party_phone_number (party_id bigint not null, phone_number clob);
+create table party_street_address (party_id bigint not null, street_address clob);
+create table preliminary_decision (id bigint not null, difference decimal(19,2), reason varchar(255), recommendation varchar(11) not null, primary key (id));
+create table redelivery (id bigint not null, approval_date timestamp not null, expiration_date timestamp, quantity integer not null, redelivery_number varchar(16) not null, status varchar(9) not null, depot_id bigint not null, owner_id bigint not null, recipient_id bigint not null, primary key (id));
+create table redelivery_comments (redelivery_id bigint not null, comments clob);
+create table redelivery_estimate_email_recipients (redelivery_id bigint not null, estimate_email_recipients clob);
+create table redelivery_redelivery_detail (redelivery_id bigint not null, details_id bigint not null);
+create table redelivery_detail (id bigint not null, contract varchar(16) not null, equipment varchar(10) not null, grade varchar(10), quantity integer not null, upgrade_type varchar(2), customer_id bigint not null, insurance_coverage_id bigint, primary key (id));
+create table redelivery_detail_comments (redelivery_detail_id bigint not null, comments clob);
+create table redelivery_detail_redelivery_unit (redelivery_detail_id bigint not null, units_id bigint not null);
+create table redelivery_unit (id bigint not null, inspection_criteria varchar(10), last_cargo varchar(255), last_cargo_number varchar(7), last_on_hire_date date, manufacture_date date not null, status varchar(7) not null, tank_grade varchar(1), unit_number varchar(11) not null, billing_party_id bigint not null, last_on_hire_location_id bigint, machinery_info_id bigint, primary key (id));
+create table redelivery_unit_comments (redelivery_unit_id bigint not null, comments clob);
+create table redelivery_unit_technical_bulletins (redelivery_unit_id bigint not null, technical_bulletins clob);
+create table release (id bigint not null, approval_date timestamp not null, expiration_date timestamp, on_hire_survey_required boolean, quantity integer not null, release_number varchar(16) not null, status varchar(9) not null, type varchar(4) not null, depot_id bigint not null, owner_id bigint not null, recipient_id bigint not null, primary key (id));
+create table release_comments (release_id bigint not null, comments clob);
+create table release_release_detail (release_id bigint not null, details_id bigint not null);
+create table release_detail (id bigint not null, contract varchar(16) not null, desired_temperature integer, equipment varchar(10) not null, grade varchar(10) not null, pre_trip_inspection_required boolean, quantity integer not null, upgrade_type varchar(2), ventilation varchar(10), customer_id bigint not null, primary key (id));
+create table release_detail_comments (release_detail_id bigint not null, comments clob);
+create table release_detail_release_detail_criteria (release_detail_id bigint not null, criteria_id bigint not null);
+create table release_detail_release_unit (release_detail_id bigint not null, units_id bigint not null);
+create table release_detail_criteria (id bigint not null, field_description varchar(255) not null, field_id varchar(30) not null, field_name varchar(50) not null, field_value varchar(500) not null, release_detail_id bigint not null, primary key (id));
+create table release_unit (id bigint not null, carb_compliant boolean, manufacture_date date, status varchar(9) not null, unit_number varchar(11) not null, primary key (id));
+create table release_unit_comments (release_unit_id bigint not null, comments clob);
+create table repair_complete (id bigint not null, completion_date timestamp not null, unit_number varchar(11) not null, work_order_number varchar(16) not null, depot_id bigint not null, primary key (id));
+create table work_order (id bigint not null, approval_currency varchar(3), approval_date timestamp not null, approval_total decimal(19,2), comments varchar(500), expiration_date timestamp, type varchar(11) not null, work_order_number varchar(16) not null, billing_party_id bigint, depot_id bigint not null, owner_id bigint not null, primary key (id));
+create table work_order_work_order_unit (work_order_id bigint not null, line_items_id bigint not null);
+create table work_order_unit (id bigint not null, effective_inspection_criteria varchar(10) not null, estimate_number varchar(255), release_number varchar(16), remark varchar(11), status varchar(8) not null, unit_number varchar(11) not null, primary key (id));
+alter table estimate_estimate_line_item add constraint UK_derr8jg2ncd1rq49yjg6h8oa0 unique (line_items_id);
+alter table estimate_estimate_photo add constraint UK_slbt6sikkmxm71f6o0opomp05 unique (photos_id);
+alter table estimate_line_item_estimate_line_item_part add constraint UK_ql9s23qyjl0crtvmqukxl9y1u unique (parts_id);
+alter table estimate_line_item_estimate_line_item_photo add constraint UK_cxt7kpufxc6j2g6qxn4vk0oss unique (photos_id);
+alter table gate_create_request_gate_create_photo add constraint UK_9kphkngnmnjk3wwrkujkxw7oo unique (photos_id);
+alter table gate_update_request_gate_update_photo add constraint UK_rhage3efbybrpf8yl4c4y8fnk unique (photos_id);
+alter table redelivery_redelivery_detail add constraint UK_b3r4f0a7a9snbvr6laribhjd7 unique (details_id);
+alter table redelivery_detail_redelivery_unit add constraint UK_bis4t0ok6bg2g0fc9wadaqy4h unique (units_id);
+alter table release_release_detail add constraint UK_aaqk17pkebv00342tbnruy7g3 unique (details_id);
+alter table release_detail_release_detail_criteria add constraint UK_h8378xjebdjtr3hs4costsnyd unique (criteria_id);
+alter table release_detail_release_unit add constraint UK_b97ev2fyb8m7tnv8wjcj81390 unique (units_id);
+alter table release_detail_criteria add constraint UKmlusvtwysgmsqjtdu7mgctg6p unique (release_detail_id, field_id);
+alter table work_order_work_order_unit add constraint UK_bdg1u8576pr96koinmxrhqno3 unique (line_items_id);
+alter table estimate add constraint FKm4o8kwahtpp8ot41ngmiy4xj5 foreign key (allocation_id) references estimate_allocation;
+alter table estimate add constraint FKjgx4onh8wh2sgpieoveln84lo foreign key (customer_id) references party;
+alter table estimate add constraint FKo1hb9y2j4mgydasirnqiist4f foreign key (customer_approval_id) references estimate_customer_approval;
+alter table estimate add constraint FK4w418blwwlmdhgaj3jy3hw4b8 foreign key (depot_id) references party;
+alter table estimate add constraint FK42akju02clj4h7pkw4da9w8 foreign key (owner_id) references party;
+alter table estimate add constraint FK9bam2ijcbgt88v12ekt0nvdhj foreign key (requester_id) references party;
+alter table estimate_estimate_line_item add constraint FKnui2jbtmdutdl604e32dcn5dn foreign key (line_items_id) references estimate_line_item;
+alter table estimate_estimate_line_item add constraint FKomorcwcv9lmxjgg9cf6sxf78u foreign key (estimate_id) references estimate;
+alter table estimate_estimate_photo add constraint FKad5uh30nv53i6ioruiqfstbs3 foreign key (photos_id) references estimate_photo;
+alter table estimate_estimate_photo add constraint FKfvt6olo2pu9acl3tcw5518nan foreign key (estimate_id) references estimate;
+alter table estimate_allocation add constraint FKbyn3tlx0jxv1h2vofntuynl78 foreign key (depot_id) references party;
+alter table estimate_allocation add constraint FKqsaym92hy8kpdxvltccrwl4f foreign key (preliminary_decision_id) references preliminary_decision;
+alter table estimate_cancel_request add constraint FKpgsbncgre42es8vobnldthiwb foreign key (depot_id) references party;
+alter table estimate_line_item_estimate_line_item_part add constraint FK7v0eollht8b21kqh9trqai9ao foreign key (parts_id) references estimate_line_item_part;
+alter table estimate_line_item_estimate_line_item_part add constraint FKkyspkeja94vtscht2mdoofm97 foreign key (estimate_line_item_id) references estimate_line_item;
+alter table estimate_line_item_estimate_line_item_photo add constraint FKirxijmhq8gm1o79s4891hk1xx foreign key (photos_id) references estimate_line_item_photo;
+alter table estimate_line_item_estimate_line_item_photo add constraint FKot1kjepcl4u9ax2eowq2bpbyd foreign key (estimate_line_item_id) references estimate_line_item;
+alter table gate_create_request add constraint FKf8quoxubrh486g6g2i45t9o0i foreign key (depot_id) references party;
+alter table gate_create_request_gate_create_photo add constraint FK8csifjocoi3ntenmigbp8ypw1 foreign key (photos_id) references gate_create_photo;
+alter table gate_create_request_gate_create_photo add constraint FKatk0jtkkn60kqfr6xqa6s9qaa foreign key (gate_create_request_id) references gate_create_request;
+alter table gate_delete_request add constraint FK2rqjbpux8no4q53vrw1pe05bo foreign key (depot_id) references party;
+alter table gate_update_request_gate_update_photo add constraint FK67nn3hvt017yhxt0lfqwseuy3 foreign key (photos_id) references gate_update_photo;
+alter table gate_update_request_gate_update_photo add constraint FKklj15ida6iaaxky9y0cqqcat7 foreign key (gate_update_request_id) references gate_update_request;
+alter table insurance_coverage_exceptions add constraint FKenwg9yc8yk2xn6maqdndqj6pd foreign key (insurance_coverage_id) references insurance_coverage;
+alter table insurance_coverage_exclusions add constraint FK8garwqrg8q9ypfsylts2swn5 foreign key (insurance_coverage_id) references insurance_coverage;
+alter table insurance_coverage_inclusions add constraint FK5kma5vm0fc5jseqbfdpv51idd foreign key (insurance_coverage_id) references insurance_coverage;
+alter table party_email_address add constraint FK5i9twdpbicdtjp659gt5vphem foreign key (party_id) references party;
+alter table party_fax_number add constraint FKmagspeifwnxubqeleewwlw75m foreign key (party_id) references party;
+alter table party_phone_number add constraint FKog62pgb22p8h25sx3hp5hdi9o foreign key (party_id) references party;
+alter table party_street_address add constraint FK4ih9lw4btb8oxk31r0qdfx6ka foreign key (party_id) references party;
+alter table redelivery add constraint FKqahg7n7n2hf4skhu0e079ebao foreign key (depot_id) references party;
+alter table redelivery add constraint FKpq4q9w4tp1e6awu0iarwx91kj foreign key (owner_id) references party;
+alter table redelivery add constraint FKq22u0vjrmervkyk0mv4mwltvk foreign key (recipient_id) references party;
+alter table redelivery_comments add constraint FKgbfcj1hg0xxs8yu40stccuud9 foreign key (redelivery_id) references redelivery;
+alter table redelivery_estimate_email_recipients add constraint FKn6xel3ni46d13thesa6f6m5or foreign key (redelivery_id) references redelivery;
+alter table redelivery_redelivery_detail add constraint FKno6mh76wot76nn8bgyc83ecc8 foreign key (details_id) references redelivery_detail;
+alter table redelivery_redelivery_detail add constraint FKo8t8y3f2s5pty02pxe0ktr1xu foreign key (redelivery_id) references redelivery;
+alter table redelivery_detail add constraint FKca288kyg2429mi6l7isuehhjw foreign key (customer_id) references party;
+alter table redelivery_detail add constraint FK5yydr41uaal2pbtpy0pxt6dkq foreign key (insurance_coverage_id) references insurance_coverage;
+alter table redelivery_detail_comments add constraint FKcx2u712pmqvag32nx436g1wd2 foreign key (redelivery_detail_id) references redelivery_detail;
+alter table redelivery_detail_redelivery_unit add constraint FKouf0vlqm4nwhcbei9c0kk3gqo foreign key (units_id) references redelivery_unit;
+alter table redelivery_detail_redelivery_unit add constraint FKdry7w4r97rf0eg7ei8ft4m54d foreign key (redelivery_detail_id) references redelivery_detail;
+alter table redelivery_unit add constraint FK3bmhl0n324x49tsx8hi317wdm foreign key (billing_party_id) references party;
+alter table redelivery_unit add constraint FKelniw372yn1i0buss0o0arpq6 foreign key (last_on_hire_location_id) references party;
+alter table redelivery_unit add constraint FK9rmts3jio2cl0bwfq5ie2vsts foreign key (machinery_info_id) references machinery_info;
+alter table redelivery_unit_comments add constraint FKovynba2bt3a3kcavhus7vbsab foreign key (redelivery_unit_id) references redelivery_unit;
+alter table redelivery_unit_technical_bulletins add constraint FK8s3fs21c4b7kex0eihrdi4uh2 foreign key (redelivery_unit_id) references redelivery_unit;
+alter table release add constraint FK7lmbn5cmlcxg3ybj8mlh6wiwk foreign key (depot_id) references party;
+alter table release add constraint FK5otbnae3d2iwsixfjxkjl5sww foreign key (owner_id) references party;
+alter table release add constraint FKigli0jb63kymo65ofcxcrt8h3 foreign key (recipient_id) references party;
+alter table release_comments add constraint FK3hr2mx1y1fjph229jihfyyutj foreign key (release_id) references release;
+alter table release_release_detail add constraint FK60vlcj5eg5w8m8p51g9bph2n9 foreign key (details_id) references release_detail;
+alter table release_release_detail add constraint FK2rj95oidcl1oc6htlmrhkys96 foreign key (release_id) references release;
+alter table release_detail add constraint FKbbqrgucji3y4qqdr64k96evjn foreign key (customer_id) references party;
+alter table release_detail_comments add constraint FKbsj6o6hr5eybtficpmqw0m7i6 foreign key (release_detail_id) references release_detail;
+alter table release_detail_release_detail_criteria add constraint FKpwf7d8ul5icp0ajvxmm4wonaw foreign key (criteria_id) references release_detail_criteria;
+alter table release_detail_release_detail_criteria add constraint FK4ctjis0sg3ufdr6ic8vfupp4l foreign key (release_detail_id) references release_detail;
+alter table release_detail_release_unit add constraint FKtq8gc64cclg5p0mpn3ufvyxwn foreign key (units_id) references release_unit;
+alter table release_detail_release_unit add constraint FKh5g9caf6f6kivlwj4rrlkey1w foreign key (release_detail_id) references release_detail;
+alter table release_detail_criteria add constraint FKhugsvgkyf2cqe5dg24jqekjk9 foreign key (release_detail_id) references release_detail;
+alter table release_unit_comments add constraint FKoeynjh5axf31udtvlslegxp1e foreign key (release_unit_id) references release_unit;
+alter table repair_complete add constraint FKdenrgx6alpalongny0pb9lwd8 foreign key (depot_id) references party;
+alter table work_order add constraint FKcb1r1qcqsu83k82puptm5h37r foreign key (billing_party_id) references party;
+alter table work_order add constraint FK9tyrj2hpxjg20fnf544t1ngfi foreign key (depot_id) references party;
+alter table work_order add constraint FKtewu2v2bjui9f07m6kanaq37u foreign key (owner_id) references party;
+alter table work_order_work_order_unit add constraint FKt8q22mhhv7m9b3i1ojd8ui3x4 foreign key (line_items_id) references work_order_unit;
+alter table work_order_work_order_unit add constraint FKkc7pxhb955rnxpk1wbritgho4 foreign key (work_order_id) references work_order;
@@ -0,0 +1,19 @@
+-- indexes backing the existence checks and finders in depotlifecycle.repositories
+
+-- PartyRepository.findByCompanyId / findByCompanyIdIn; parties are resolved by companyId, never duplicated
+create unique index ux_party_company_id on party (company_id);
+
+-- GateCreateRequestRepository.existsByAdviceNumberAndUnitNumberAndType
+create index ix_gate_create_request_advice_unit_type on gate_create_request (advice_number, unit_number, type);
+
+-- GateDeleteRequestRepository.existsByDepotAndAdviceNumberAndUnitNumber
+create index ix_gate_delete_request_depot_advice_unit on gate_delete_request (depot_id, advice_number, unit_number);
+
+-- EstimateRepository / EstimateCancelRequestRepository.existsByEstimateNumberAndDepot
+create index ix_estimate_number_depot on estimate (estimate_number, depot_id);
+create index ix_estimate_cancel_request_number_depot on estimate_cancel_request (estimate_number, depot_id);
+
+-- existsBy/findBy on the advice numbers; not unique because an update stores a new revision of the document
+create index ix_release_number on release (release_number);
+create index ix_redelivery_number on redelivery (redelivery_number);
+create index ix_work_order_number on work_order (work_order_number);
@@ -0,0 +1,3 @@
+-- one row per unit holding its latest gate activity; see depotlifecycle.services.GateStatusIndex
+create table current_gate_status (unit_number varchar(11) not null, activity_time timestamp not null, advice_number varchar(16) not null, current_inspection_criteria varchar(10), status varchar(1) not null, type varchar(3) not null, depot_id bigint not null, primary key (unit_number));
+alter table current_gate_status add constraint fk_current_gate_status_depot foreign key (depot_id) references party;
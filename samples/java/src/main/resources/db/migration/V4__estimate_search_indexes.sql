@@ -0,0 +1,4 @@
+-- EstimateSearch filters on one of these columns and pages backwards on id
+create index ix_estimate_unit_number_id on estimate (unit_number, id);
+create index ix_estimate_depot_id on estimate (depot_id, id);
+create index ix_estimate_customer_id on estimate (customer_id, id);
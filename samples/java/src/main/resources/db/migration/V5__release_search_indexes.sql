@@ -0,0 +1,3 @@
+-- ReleaseSearch pages backwards on id, optionally within a depot or an expiration window
+create index ix_release_depot_id on release (depot_id, id);
+create index ix_release_expiration_date on release (expiration_date);
@@ -0,0 +1,14 @@
+-- unit number -> redelivery lookup; see depotlifecycle.services.RedeliveryUnitIndex
+create table redelivery_unit_advice (id bigint not null, redelivery_number varchar(16) not null, unit_number varchar(11) not null, redelivery_id bigint not null, primary key (id));
+alter table redelivery_unit_advice add constraint fk_redelivery_unit_advice_redelivery foreign key (redelivery_id) references redelivery;
+create index ix_redelivery_unit_advice_unit on redelivery_unit_advice (unit_number, redelivery_id);
+create index ix_redelivery_unit_advice_number on redelivery_unit_advice (redelivery_number);
+
+-- units of the latest revision of each redelivery already stored
+insert into redelivery_unit_advice (id, redelivery_number, unit_number, redelivery_id)
+select next value for hibernate_sequence, r.redelivery_number, u.unit_number, r.id
+from redelivery r
+join redelivery_redelivery_detail rd on rd.redelivery_id = r.id
+join redelivery_detail_redelivery_unit du on du.redelivery_detail_id = rd.details_id
+join redelivery_unit u on u.id = du.units_id
+where r.id = (select max(latest.id) from redelivery latest where latest.redelivery_number = r.redelivery_number);
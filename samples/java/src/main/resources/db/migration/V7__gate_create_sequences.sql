@@ -0,0 +1,5 @@
+-- gate create rows take ids from their own sequences in blocks of 50 (pooled-lo); each starts past the ids already issued
+create sequence gate_create_request_seq start with 1 increment by 50;
+alter sequence gate_create_request_seq restart with (select coalesce(max(id), 0) + 1 from gate_create_request);
+create sequence gate_create_photo_seq start with 1 increment by 50;
+alter sequence gate_create_photo_seq restart with (select coalesce(max(id), 0) + 1 from gate_create_photo);
@@ -0,0 +1,3 @@
+-- responses kept for requests sent with an Idempotency-Key; see depotlifecycle.services.IdempotencyStore
+create table idempotent_response (id varchar(64) not null, status integer not null, content_type varchar(100), body blob not null, created timestamp not null, primary key (id));
+create index ix_idempotent_response_created on idempotent_response (created);
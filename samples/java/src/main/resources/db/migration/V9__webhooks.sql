@@ -0,0 +1,6 @@
+-- push notification of lifecycle events; see depotlifecycle.services.WebhookDispatcher
+create table webhook_subscription (id bigint not null, company_id varchar(9) not null, url varchar(500) not null, events varchar(200), secret varchar(100), created timestamp not null, primary key (id));
+create index ix_webhook_subscription_company_id on webhook_subscription (company_id);
+-- events that could not be delivered after every retry, kept for inspection and replay
+create table webhook_dead_letter (id bigint not null, subscription_id bigint not null, url varchar(500) not null, event_type varchar(40) not null, payload clob not null, attempts integer not null, error varchar(500), created timestamp not null, primary key (id));
+create index ix_webhook_dead_letter_subscription_id on webhook_dead_letter (subscription_id);
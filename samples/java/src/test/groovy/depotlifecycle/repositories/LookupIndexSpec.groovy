@@ -0,0 +1,138 @@
+package depotlifecycle.repositories
+
+import depotlifecycle.domain.Party
+import io.micronaut.context.annotation.Property
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import jakarta.inject.Inject
+import spock.lang.Specification
+
+import javax.sql.DataSource
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.ResultSet
+
+//each finder's own sql is explained by h2, so a change to the finder or the V2__lookup_indexes migration that leaves it scanning
+//a table, or reading through some other index, fails here
+@MicronautTest
+@Property(name = "micronaut.server.port", value = "-1")
+@Property(name = "jpa.default.properties.hibernate.session_factory.statement_inspector", value = "depotlifecycle.repositories.StatementRecorder")
+class LookupIndexSpec extends Specification {
+    @Inject
+    DataSource dataSource
+
+    @Inject
+    PartyRepository partyRepository
+
+    @Inject
+    GateCreateRequestRepository gateCreateRequestRepository
+
+    @Inject
+    ReleaseRepository releaseRepository
+
+    @Inject
+    RedeliveryRepository redeliveryRepository
+
+    @Inject
+    GateDeleteRequestRepository gateDeleteRequestRepository
+
+    @Inject
+    EstimateRepository estimateRepository
+
+    @Inject
+    EstimateCancelRequestRepository estimateCancelRequestRepository
+
+    @Inject
+    WorkOrderRepository workOrderRepository
+
+    void "PartyRepository.findByCompanyId uses ux_party_company_id"() {
+        expect:
+        plan { partyRepository.findByCompanyId("DEHAMCMRA") }.contains("UX_PARTY_COMPANY_ID")
+    }
+
+    void "PartyRepository.findByCompanyIdIn uses ux_party_company_id"() {
+        expect:
+        plan { partyRepository.findByCompanyIdIn(["DEHAMCMRA", "USSFOEXAM"]) }.contains("UX_PARTY_COMPANY_ID")
+    }
+
+    void "GateCreateRequestRepository.existsByAdviceNumberAndUnitNumberAndType uses ix_gate_create_request_advice_unit_type"() {
+        expect:
+        plan { gateCreateRequestRepository.existsByAdviceNumberAndUnitNumberAndType("AHAMG33141", "CONU1234561", "IN") }.contains("IX_GATE_CREATE_REQUEST_ADVICE_UNIT_TYPE")
+    }
+
+    void "ReleaseRepository.#finder uses ix_release_number"() {
+        expect:
+        plan { releaseRepository."$finder"("AHAMG33141") }.contains("IX_RELEASE_NUMBER")
+
+        where:
+        finder << ["existsByReleaseNumber", "findFirstByReleaseNumberOrderByIdDesc"]
+    }
+
+    void "RedeliveryRepository.#finder uses ix_redelivery_number"() {
+        expect:
+        plan { redeliveryRepository."$finder"("AHAMG33141") }.contains("IX_REDELIVERY_NUMBER")
+
+        where:
+        finder << ["existsByRedeliveryNumber", "findByRedeliveryNumber", "findFirstByRedeliveryNumberOrderByIdDesc"]
+    }
+
+    void "GateDeleteRequestRepository.existsByDepotAndAdviceNumberAndUnitNumber uses ix_gate_delete_request_depot_advice_unit"() {
+        given:
+        Party depot = depot()
+
+        expect:
+        plan { gateDeleteRequestRepository.existsByDepotAndAdviceNumberAndUnitNumber(depot, "AHAMG33141", "CONU1234561") }.contains("IX_GATE_DELETE_REQUEST_DEPOT_ADVICE_UNIT")
+    }
+
+    void "EstimateRepository.existsByEstimateNumberAndDepot uses ix_estimate_number_depot"() {
+        given:
+        Party depot = depot()
+
+        expect:
+        plan { estimateRepository.existsByEstimateNumberAndDepot("DEHAMCMRA123456", depot) }.contains("IX_ESTIMATE_NUMBER_DEPOT")
+    }
+
+    void "EstimateCancelRequestRepository.existsByEstimateNumberAndDepot uses ix_estimate_cancel_request_number_depot"() {
+        given:
+        Party depot = depot()
+
+        expect:
+        plan { estimateCancelRequestRepository.existsByEstimateNumberAndDepot("DEHAMCMRA123456", depot) }.contains("IX_ESTIMATE_CANCEL_REQUEST_NUMBER_DEPOT")
+    }
+
+    void "WorkOrderRepository.existsByWorkOrderNumber uses ix_work_order_number"() {
+        expect:
+        plan { workOrderRepository.existsByWorkOrderNumber("WHAMG000001") }.contains("IX_WORK_ORDER_NUMBER")
+    }
+
+    private Party depot() {
+        partyRepository.findByCompanyId("DEHAMCMRA").orElseThrow()
+    }
+
+    //runs the finder, then has h2 explain the first statement it sent with the same number of parameters bound. fails on a scan
+    //of any table in the plan
+    private String plan(Closure<?> finder) {
+        StatementRecorder.STATEMENTS.clear()
+        finder()
+        assert !StatementRecorder.STATEMENTS.isEmpty()
+        String sql = StatementRecorder.STATEMENTS.first()
+
+        Connection connection = dataSource.connection
+        try {
+            PreparedStatement statement = connection.prepareStatement("explain " + sql)
+            try {
+                sql.count("?").times { int index -> statement.setString(index + 1, "1") }
+                ResultSet plan = statement.executeQuery()
+                plan.next()
+                String explained = plan.getString(1).toUpperCase(Locale.ROOT)
+                assert !explained.contains("TABLESCAN")
+                return explained
+            }
+            finally {
+                statement.close()
+            }
+        }
+        finally {
+            connection.close()
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package depotlifecycle.repositories
+
+import org.hibernate.resource.jdbc.spi.StatementInspector
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+//registered as hibernate's statement inspector so a spec can see the sql a repository method ran
+class StatementRecorder implements StatementInspector {
+    static final List<String> STATEMENTS = new CopyOnWriteArrayList<>()
+
+    @Override
+    String inspect(String sql) {
+        STATEMENTS.add(sql)
+        return sql
+    }
+}
@@ -0,0 +1,65 @@
+package depotlifecycle.services
+
+import depotlifecycle.domain.Estimate
+import depotlifecycle.domain.EstimateLineItem
+import spock.lang.Specification
+
+import java.math.RoundingMode
+
+//the calculator prices a line without calling EstimateLineItem.getTotal, so it is held to the same totals here
+class EstimateAllocationCalculatorSpec extends Specification {
+    private static final List<String> PARTIES = ["O", "U", "I", "o"]
+
+    void "party totals of a 300 line estimate match Estimate.getPartyTotal"() {
+        given: "lines whose hours, rates and material costs sit on half-even rounding boundaries, and one that cannot be priced"
+        Estimate estimate = estimate(300)
+        estimate.lineItems.add(new EstimateLineItem(line: 301, hours: 1.0, laborRate: 10.0))
+
+        when:
+        EstimateTotals totals = new EstimateAllocationCalculator(BigDecimal.ZERO).calculate(estimate)
+
+        then:
+        ["O", "U", "I"].each { String party ->
+            assert totals.getPartyTotal(party) == estimate.getPartyTotal(party)
+        }
+        totals.total == ["O", "U", "I"].sum { String party -> estimate.getPartyTotal(party) }
+        totals.lineTotals.size() == 301
+        totals.lineTotals.take(300) == estimate.lineItems.take(300)*.total
+        totals.lineTotals.last() == null
+    }
+
+    void "tax rule #rule adds tax on #taxed"() {
+        given:
+        EstimateLineItem lineItem = new EstimateLineItem(line: 1, hours: 1.255, laborRate: 41.005, materialCost: 38.415, party: "O", taxRule: rule)
+        Estimate estimate = new Estimate()
+        estimate.lineItems.add(lineItem)
+
+        when:
+        EstimateTotals totals = new EstimateAllocationCalculator(0.19).calculate(estimate)
+
+        then:
+        BigDecimal taxable = taxed == "labor" ? lineItem.laborCost : taxed == "material" ? lineItem.total - lineItem.laborCost : taxed == "the total" ? lineItem.total : 0
+        totals.getPartyTotal("O") == lineItem.total + (taxable * 0.19).setScale(EstimateLineItem.CURRENCY_PRECISION, RoundingMode.HALF_EVEN)
+
+        where:
+        rule | taxed
+        "B"  | "the total"
+        "L"  | "labor"
+        "M"  | "material"
+        "X"  | "nothing"
+    }
+
+    private static Estimate estimate(int lines) {
+        Estimate estimate = new Estimate()
+        lines.times { int i ->
+            estimate.lineItems.add(new EstimateLineItem(
+                line: i + 1,
+                hours: 1.0 + 0.005 * (i % 11),
+                laborRate: 42.5 + 0.005 * (i % 7),
+                materialCost: 38.415 + 0.01 * i,
+                party: PARTIES[i % PARTIES.size()],
+                taxRule: "B"))
+        }
+        estimate
+    }
+}
@@ -0,0 +1,198 @@
+package depotlifecycle.services
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+import depotlifecycle.domain.WebhookSubscription
+import depotlifecycle.events.LifecycleEvent
+import depotlifecycle.repositories.WebhookDeadLetterRepository
+import io.micronaut.context.annotation.Property
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import jakarta.inject.Inject
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+//posts to a stub subscriber on 127.0.0.1, which the dispatcher only allows with allow-private-targets. not transactional, as
+//subscriptions and dead letters are written outside the feature's thread
+@MicronautTest(transactional = false)
+@Property(name = "micronaut.server.port", value = "-1")
+@Property(name = "depotlifecycle.webhook.allow-private-targets", value = "true")
+@Property(name = "depotlifecycle.webhook.concurrency", value = "1")
+@Property(name = "depotlifecycle.webhook.max-attempts", value = "3")
+@Property(name = "depotlifecycle.webhook.initial-backoff", value = "10ms")
+@Property(name = "depotlifecycle.webhook.max-backoff", value = "50ms")
+@Property(name = "depotlifecycle.webhook.timeout", value = "2s")
+class WebhookDispatcherSpec extends Specification {
+    private static final String DEPOT = "DEHAMCMRA"
+
+    @Inject
+    WebhookDispatcher webhookDispatcher
+
+    @Inject
+    WebhookDeadLetterRepository webhookDeadLetterRepository
+
+    @Inject
+    ObjectMapper objectMapper
+
+    PollingConditions conditions = new PollingConditions(timeout: 10)
+
+    HttpServer server
+    WebhookSubscription subscription
+
+    //the number of events in each batch the stub was posted, in order
+    Queue<Integer> batches = new ConcurrentLinkedQueue<>()
+
+    //answers each post with the status the feature gives it, by attempt number starting at 1
+    Closure<Integer> status = { int attempt -> 200 }
+    AtomicInteger attempts = new AtomicInteger()
+
+    //posts that reached the target of a redirect
+    AtomicInteger redirected = new AtomicInteger()
+
+    def setup() {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0)
+        server.executor = Executors.newCachedThreadPool()
+        server.createContext("/hook") { HttpExchange exchange ->
+            batches.add(objectMapper.readTree(exchange.requestBody).size())
+            int code = status(attempts.incrementAndGet())
+            if (code >= 300 && code < 400) {
+                exchange.responseHeaders.add("Location", "/elsewhere")
+            }
+            exchange.sendResponseHeaders(code, -1)
+            exchange.close()
+        }
+        server.createContext("/elsewhere") { HttpExchange exchange ->
+            redirected.incrementAndGet()
+            exchange.sendResponseHeaders(200, -1)
+            exchange.close()
+        }
+        server.start()
+    }
+
+    def cleanup() {
+        if (subscription != null) {
+            webhookDispatcher.unsubscribe(subscription)
+        }
+        server.stop(0)
+        server.executor.shutdownNow()
+    }
+
+    void "queued events are posted in batches of at most batch-size"() {
+        given: "a subscriber that holds the first post until the rest are queued"
+        CountDownLatch queued = new CountDownLatch(1)
+        status = { int attempt ->
+            if (attempt == 1) {
+                queued.await(10, TimeUnit.SECONDS)
+            }
+            200
+        }
+        subscribe("test.batch")
+
+        when:
+        120.times { publish("test.batch") }
+        queued.countDown()
+
+        then: "the first event went alone and the rest waited for it, in full batches"
+        conditions.eventually {
+            assert batches.toList() == [1, 50, 50, 19]
+        }
+        webhookDeadLetterRepository.findBySubscriptionId(subscription.id).isEmpty()
+    }
+
+    void "a batch answered with a 5xx is retried until it is accepted"() {
+        given:
+        status = { int attempt -> attempt <= 2 ? 503 : 200 }
+        subscribe("test.retry")
+
+        when:
+        publish("test.retry")
+
+        then:
+        conditions.eventually {
+            assert attempts.get() == 3
+        }
+        batches.toList() == [1, 1, 1]
+        webhookDeadLetterRepository.findBySubscriptionId(subscription.id).isEmpty()
+    }
+
+    void "a batch answered with a 4xx is dead-lettered without a retry"() {
+        given:
+        status = { int attempt -> 400 }
+        subscribe("test.rejected")
+
+        when:
+        publish("test.rejected")
+
+        then:
+        conditions.eventually {
+            assert webhookDeadLetterRepository.findBySubscriptionId(subscription.id).size() == 1
+        }
+        attempts.get() == 1
+        with(webhookDeadLetterRepository.findBySubscriptionId(subscription.id).first()) {
+            attempts == 1
+            eventType == "test.rejected"
+            error == "Bad Request"
+        }
+    }
+
+    void "a batch still failing after max-attempts is dead-lettered"() {
+        given:
+        status = { int attempt -> 500 }
+        subscribe("test.failing")
+
+        when:
+        publish("test.failing")
+
+        then:
+        conditions.eventually {
+            assert webhookDeadLetterRepository.findBySubscriptionId(subscription.id).size() == 1
+        }
+        attempts.get() == 3
+        webhookDeadLetterRepository.findBySubscriptionId(subscription.id).first().attempts == 3
+    }
+
+    void "a redirect is not followed and fails the batch without a retry"() {
+        given:
+        status = { int attempt -> 302 }
+        subscribe("test.redirect")
+
+        when:
+        publish("test.redirect")
+
+        then:
+        conditions.eventually {
+            assert webhookDeadLetterRepository.findBySubscriptionId(subscription.id).size() == 1
+        }
+        attempts.get() == 1
+        redirected.get() == 0
+    }
+
+    void "a loopback, link-local or private target is refused"() {
+        given:
+        WebhookConfiguration configuration = new WebhookConfiguration()
+        WebhookDispatcher dispatcher = new WebhookDispatcher(configuration, null, null, null, null, objectMapper)
+
+        when:
+        dispatcher.checkTarget(URI.create(url))
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        url << ["http://127.0.0.1/hook", "http://localhost:8086/api", "http://169.254.169.254/latest", "http://10.0.0.1/", "http://192.168.1.1/", "http://[fd00::1]/"]
+    }
+
+    private void subscribe(String events) {
+        subscription = webhookDispatcher.subscribe(new WebhookSubscription(companyId: DEPOT, url: "http://127.0.0.1:${server.address.port}/hook", events: events))
+    }
+
+    private void publish(String type) {
+        webhookDispatcher.onLifecycleEvent(new LifecycleEvent(type, DEPOT, null, [unitNumber: "CONU1234561"]))
+    }
+}